@@ -0,0 +1,71 @@
+package carrental.benchmark;
+
+import Class.Project.CarRental.domain.Car;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput (ops/ms) and sampled latency of every CarRepository operation, for each repository type
+ * and size in CarRepositoryState, on a single thread.
+ * CarRepositoryContendedBenchmark runs the same methods with one thread per core.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(1)
+public class CarRepositoryBenchmark {
+
+    @Benchmark
+    public Car create(CarRepositoryState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Car created = state.repository.create(new Car(state.randomMake(), state.randomModel(), 20 + random.nextInt(200)));
+        state.createdIds.add(created.getId());
+        return created;
+    }
+
+    @Benchmark
+    public Optional<Car> findById(CarRepositoryState state) {
+        return state.repository.findById(state.randomId());
+    }
+
+    @Benchmark
+    public Optional<Car> findByIdMissing(CarRepositoryState state) {
+        return state.repository.findById(state.randomMissingId());
+    }
+
+    @Benchmark
+    public boolean existsById(CarRepositoryState state) {
+        return state.repository.existsById(state.randomId());
+    }
+
+    @Benchmark
+    public List<Car> findAll(CarRepositoryState state) {
+        return state.repository.findAll();
+    }
+
+    @Benchmark
+    public List<Car> findByManufacturer(CarRepositoryState state) {
+        return state.repository.findByManufacturer(state.randomMake());
+    }
+
+    @Benchmark
+    public List<Car> findByModel(CarRepositoryState state) {
+        return state.repository.findByModel(state.randomModel());
+    }
+
+    @Benchmark
+    public List<Car> findByRentalPriceBelow(CarRepositoryState state) {
+        return state.repository.findByRentalPriceBelow(CarRepositoryState.PRICE_LIMIT);
+    }
+
+    @Benchmark
+    public List<Car> findAllByFilter(CarRepositoryState state) {
+        return state.filteredRepository.findAllByFilter(state.randomFilter());
+    }
+}
@@ -0,0 +1,11 @@
+package carrental.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * The CarRepositoryBenchmark methods with one thread per core sharing the same repository,
+ * to show how each implementation's locking holds up when reads and creates run concurrently.
+ */
+@Threads(Threads.MAX)
+public class CarRepositoryContendedBenchmark extends CarRepositoryBenchmark {
+}
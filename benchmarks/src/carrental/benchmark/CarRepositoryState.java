@@ -0,0 +1,169 @@
+package carrental.benchmark;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.filter.AbstractFilter;
+import Class.Project.CarRental.filter.CarManufacturerFilter;
+import Class.Project.CarRental.filter.CarPriceRangeFilter;
+import Class.Project.CarRental.repository.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * One CarRepository of the given type, filled with entityCount cars before the trial starts.
+ * File-backed repositories and the SQLite database live in a temporary directory that is deleted afterwards.
+ *
+ * The data is deterministic: car i has make "Make(i % 50)", model "Model(i % 500)" and price 20 + (i / 50) % 200,
+ * so price does not depend on make and every query below selects the same fraction of the fleet at every size.
+ * Everything a benchmark looks up (IDs, makes, models, filters) is prepared here, so the measured
+ * allocation is the repository's own.
+ */
+@State(Scope.Benchmark)
+public class CarRepositoryState {
+
+    static final int MAKES = 50;
+    static final int MODELS = 500;
+    // findByRentalPriceBelow(PRICE_LIMIT) matches 6 of the 200 price points (the limit is inclusive), 3% of the fleet
+    static final double PRICE_LIMIT = 25;
+
+    @Param({"memory", "concurrent", "text", "binary", "mapped", "database"})
+    public String repositoryType;
+
+    @Param({"1000", "100000", "1000000"})
+    public int entityCount;
+
+    CarRepository repository;
+    FilteredRepository<Long, Car> filteredRepository;
+    Long[] ids;
+    Long[] missingIds;
+    String[] makes;
+    String[] models;
+    List<AbstractFilter<Car>> filters;
+    // Cars added by the create benchmark, removed again after each iteration so the size stays entityCount
+    final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    private Path directory;
+    private ConnectionPool connectionPool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("car-repository-benchmark");
+        AtomicLong idCounter = new AtomicLong(1L);
+        switch (repositoryType) {
+            case "memory":
+                repository = new InMemoryCarRepository(idCounter::getAndIncrement);
+                break;
+            case "concurrent":
+                repository = new ConcurrentInMemoryCarRepository(idCounter::getAndIncrement);
+                break;
+            case "text":
+                repository = new CarTextRepository(idCounter::getAndIncrement, directory.resolve("cars.csv").toString());
+                break;
+            case "binary":
+                repository = new BinaryCarRepository(idCounter::getAndIncrement, directory.resolve("cars.bin").toString());
+                break;
+            case "mapped":
+                repository = new MappedCarRepository(idCounter::getAndIncrement, directory.resolve("cars.dat").toString());
+                break;
+            case "database":
+                connectionPool = new ConnectionPool("jdbc:sqlite:" + directory.resolve("cars.sqlite"), "", "",
+                        Runtime.getRuntime().availableProcessors(), 300_000L, 30_000L, "SELECT 1", 32);
+                try (Connection connection = connectionPool.getConnection();
+                     Statement statement = connection.createStatement()) {
+                    // Same table as identifier.sqlite
+                    statement.executeUpdate("CREATE TABLE cars (id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                            + "make TEXT NOT NULL, model TEXT NOT NULL, rental_price REAL NOT NULL)");
+                }
+                repository = new CarDbRepository(connectionPool);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown repository type: " + repositoryType);
+        }
+        filteredRepository = new FilteredRepository<>(repository);
+
+        List<Car> cars = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            cars.add(newCar(i));
+        }
+        List<Car> created = repository.createAll(cars);
+        ids = created.stream().map(Car::getId).toArray(Long[]::new);
+        // Never stored, so findById and existsById take their not-found path
+        missingIds = new Long[1_000];
+        for (int i = 0; i < missingIds.length; i++) {
+            missingIds[i] = -1L - i;
+        }
+
+        makes = new String[MAKES];
+        filters = new ArrayList<>(MAKES);
+        for (int i = 0; i < MAKES; i++) {
+            makes[i] = "Make" + i;
+            // A tenth of one make's cars: an index can narrow it, a scan cannot
+            filters.add(new CarManufacturerFilter(makes[i]).and(new CarPriceRangeFilter(20, 39)));
+        }
+        models = new String[MODELS];
+        for (int i = 0; i < MODELS; i++) {
+            models[i] = "Model" + i;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeCreatedCars() throws NotFoundException {
+        List<Long> created = new ArrayList<>(createdIds);
+        createdIds.clear();
+        if (!created.isEmpty()) {
+            repository.deleteAllById(created);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository instanceof AutoCloseable) {
+            ((AutoCloseable) repository).close();
+        }
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    static Car newCar(int i) {
+        return new Car("Make" + (i % MAKES), "Model" + (i % MODELS), 20 + (i / MAKES) % 200);
+    }
+
+    Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    Long randomMissingId() {
+        return missingIds[ThreadLocalRandom.current().nextInt(missingIds.length)];
+    }
+
+    String randomMake() {
+        return makes[ThreadLocalRandom.current().nextInt(MAKES)];
+    }
+
+    String randomModel() {
+        return models[ThreadLocalRandom.current().nextInt(MODELS)];
+    }
+
+    AbstractFilter<Car> randomFilter() {
+        return filters.get(ThreadLocalRandom.current().nextInt(MAKES));
+    }
+}
@@ -0,0 +1,39 @@
+package carrental.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH repository benchmarks with the GC profiler, so every result also reports
+ * bytes allocated per operation (gc.alloc.rate.norm) next to throughput and latency.
+ * Results are written to jmh-result.json as well, for comparing runs in a JMH visualizer.
+ *
+ * Run: java carrental.benchmark.RepositoryBenchmarks [benchmark regex] [repository types] [entity counts]
+ *   e.g. RepositoryBenchmarks "CarRepositoryBenchmark.find.*" memory,mapped 1000,100000
+ * The full matrix (every type at 1k/100k/1M, single- and multi-threaded) takes hours.
+ *
+ * The benchmarks are not under Class.Project.CarRental: JMH's generated classes name the benchmark
+ * class by its fully qualified name, and there a leading "Class" resolves to java.lang.Class.
+ */
+public class RepositoryBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "carrental\\.benchmark\\.CarRepository.*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .shouldFailOnError(true);
+        if (args.length > 1) {
+            options.param("repositoryType", args[1].split(","));
+        }
+        if (args.length > 2) {
+            options.param("entityCount", args[2].split(","));
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package carrental.benchmark;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.repository.CarRepository;
+import Class.Project.CarRental.repository.ConcurrentInMemoryCarRepository;
+import Class.Project.CarRental.repository.InMemoryCarRepository;
+import Class.Project.CarRental.repository.NotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read throughput of the "memory" repository (synchronized) against the "concurrent" one (lock-free reads)
+ * while one writer updates random cars the whole time.
+ * Three reader threads by default. To see how reads scale with cores, repeat with more readers
+ * through the JMH option -tg, e.g. -tg 1,1 then -tg 7,1 (readers, writer).
+ * Run: java carrental.benchmark.RepositoryBenchmarks RepositoryContentionBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Group)
+public class RepositoryContentionBenchmark {
+
+    @Param({"memory", "concurrent"})
+    public String repositoryType;
+
+    @Param({"100000"})
+    public int entityCount;
+
+    private CarRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AtomicLong idCounter = new AtomicLong(1L);
+        repository = "concurrent".equals(repositoryType)
+                ? new ConcurrentInMemoryCarRepository(idCounter::getAndIncrement)
+                : new InMemoryCarRepository(idCounter::getAndIncrement);
+        List<Car> cars = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            cars.add(CarRepositoryState.newCar(i));
+        }
+        repository.createAll(cars);
+    }
+
+    private long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(entityCount);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public Optional<Car> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public Car update() throws NotFoundException {
+        // Every ID in range exists; nothing is deleted during the run
+        return repository.update(new Car(randomId(), "Updated", "Model", ThreadLocalRandom.current().nextInt(300)));
+    }
+}
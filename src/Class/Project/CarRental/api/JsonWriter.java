@@ -0,0 +1,332 @@
+package Class.Project.CarRental.api;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON encoder writing UTF-8 straight into one growable byte array.
+ * Nothing is built as an intermediate String: names and text are encoded character by character,
+ * whole numbers digit by digit and dates field by field, so encoding a page of entities allocates
+ * little beyond the buffer itself. A writer can be reset() and reused for the next response.
+ * Commas are inserted automatically; nesting is limited to 64 levels.
+ */
+public final class JsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] TRUE = "true".getBytes();
+    private static final byte[] FALSE = "false".getBytes();
+    private static final byte[] NULL = "null".getBytes();
+
+    private byte[] buffer;
+    private int size;
+    private int depth;
+    // Bit n is set while the container at depth n already holds a value, so the next one needs a comma
+    private long hasValue;
+    // Set between name() and its value, which must not get a comma of its own
+    private boolean afterName;
+
+    public JsonWriter() {
+        this(1024);
+    }
+
+    public JsonWriter(int initialCapacity) {
+        buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public JsonWriter reset() {
+        size = 0;
+        depth = 0;
+        hasValue = 0;
+        afterName = false;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(buffer, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    // Structure
+
+    public JsonWriter beginObject() {
+        return open((byte) '{');
+    }
+
+    public JsonWriter endObject() {
+        return close((byte) '}');
+    }
+
+    public JsonWriter beginArray() {
+        return open((byte) '[');
+    }
+
+    public JsonWriter endArray() {
+        return close((byte) ']');
+    }
+
+    public JsonWriter name(String name) {
+        separate();
+        writeQuoted(name);
+        put((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    // Values
+
+    public JsonWriter value(String text) {
+        if (text == null) {
+            return nullValue();
+        }
+        separate();
+        writeQuoted(text);
+        return this;
+    }
+
+    public JsonWriter value(long number) {
+        separate();
+        writeLong(number);
+        return this;
+    }
+
+    public JsonWriter value(Long number) {
+        return number == null ? nullValue() : value(number.longValue());
+    }
+
+    public JsonWriter value(double number) {
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            // JSON has no NaN or infinity
+            return nullValue();
+        }
+        if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+            separate();
+            writeLong((long) number);
+            put((byte) '.');
+            put((byte) '0');
+            return this;
+        }
+        separate();
+        String text = Double.toString(number);
+        ensureCapacity(text.length());
+        for (int index = 0; index < text.length(); index++) {
+            buffer[size++] = (byte) text.charAt(index);
+        }
+        return this;
+    }
+
+    public JsonWriter value(boolean flag) {
+        separate();
+        putAll(flag ? TRUE : FALSE);
+        return this;
+    }
+
+    // ISO-8601 (YYYY-MM-DD) as a JSON string, written without LocalDate.toString()
+    public JsonWriter value(LocalDate date) {
+        if (date == null) {
+            return nullValue();
+        }
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return value(date.toString());
+        }
+        separate();
+        ensureCapacity(12);
+        buffer[size++] = '"';
+        putDigits(year, 4);
+        buffer[size++] = '-';
+        putDigits(date.getMonthValue(), 2);
+        buffer[size++] = '-';
+        putDigits(date.getDayOfMonth(), 2);
+        buffer[size++] = '"';
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        separate();
+        putAll(NULL);
+        return this;
+    }
+
+    // Domain objects
+
+    public JsonWriter value(Car car) {
+        if (car == null) {
+            return nullValue();
+        }
+        return beginObject()
+                .name("id").value(car.getId())
+                .name("make").value(car.getMake())
+                .name("model").value(car.getModel())
+                .name("rentalPrice").value(car.getRentalPrice())
+                .endObject();
+    }
+
+    public JsonWriter value(Reservation reservation) {
+        if (reservation == null) {
+            return nullValue();
+        }
+        return beginObject()
+                .name("id").value(reservation.getId())
+                .name("carId").value(reservation.getCarId())
+                .name("customerName").value(reservation.getCustomerName())
+                .name("startDate").value(reservation.getStartDate())
+                .name("endDate").value(reservation.getEndDate())
+                .endObject();
+    }
+
+    // Internals
+
+    private JsonWriter open(byte bracket) {
+        if (depth == 63) {
+            throw new IllegalStateException("JSON nested too deeply");
+        }
+        separate();
+        put(bracket);
+        depth++;
+        hasValue &= ~(1L << depth);
+        return this;
+    }
+
+    private JsonWriter close(byte bracket) {
+        if (depth == 0) {
+            throw new IllegalStateException("No open JSON container to close");
+        }
+        depth--;
+        put(bracket);
+        return this;
+    }
+
+    // Writes the comma before a value or name when the enclosing container already has one
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        long bit = 1L << depth;
+        if ((hasValue & bit) != 0) {
+            put((byte) ',');
+        } else {
+            hasValue |= bit;
+        }
+    }
+
+    private void writeQuoted(String text) {
+        // Worst case is 6 bytes per char (\\u00XX); ASCII text needs exactly length + 2
+        ensureCapacity(text.length() + 2);
+        buffer[size++] = '"';
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character >= 0x20 && character < 0x80 && character != '"' && character != '\\') {
+                ensureCapacity(1);
+                buffer[size++] = (byte) character;
+            } else {
+                writeEscapedOrEncoded(text, index, character);
+                if (Character.isHighSurrogate(character) && index + 1 < text.length()
+                        && Character.isLowSurrogate(text.charAt(index + 1))) {
+                    index++;
+                }
+            }
+        }
+        ensureCapacity(1);
+        buffer[size++] = '"';
+    }
+
+    private void writeEscapedOrEncoded(String text, int index, char character) {
+        ensureCapacity(6);
+        switch (character) {
+            case '"': buffer[size++] = '\\'; buffer[size++] = '"'; return;
+            case '\\': buffer[size++] = '\\'; buffer[size++] = '\\'; return;
+            case '\n': buffer[size++] = '\\'; buffer[size++] = 'n'; return;
+            case '\r': buffer[size++] = '\\'; buffer[size++] = 'r'; return;
+            case '\t': buffer[size++] = '\\'; buffer[size++] = 't'; return;
+            default: break;
+        }
+        if (character < 0x20) {
+            buffer[size++] = '\\';
+            buffer[size++] = 'u';
+            buffer[size++] = '0';
+            buffer[size++] = '0';
+            buffer[size++] = HEX[character >> 4];
+            buffer[size++] = HEX[character & 0xF];
+        } else if (character < 0x800) {
+            buffer[size++] = (byte) (0xC0 | (character >> 6));
+            buffer[size++] = (byte) (0x80 | (character & 0x3F));
+        } else if (Character.isHighSurrogate(character) && index + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(character, text.charAt(index + 1));
+            buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate(character)) {
+            // An unpaired surrogate cannot be encoded; write the replacement character instead
+            buffer[size++] = (byte) 0xEF;
+            buffer[size++] = (byte) 0xBF;
+            buffer[size++] = (byte) 0xBD;
+        } else {
+            buffer[size++] = (byte) (0xE0 | (character >> 12));
+            buffer[size++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (character & 0x3F));
+        }
+    }
+
+    private void writeLong(long number) {
+        ensureCapacity(20);
+        if (number == Long.MIN_VALUE) {
+            putAll(Long.toString(number).getBytes());
+            return;
+        }
+        if (number < 0) {
+            buffer[size++] = '-';
+            number = -number;
+        }
+        int digits = 1;
+        for (long rest = number / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int position = size + digits - 1; position >= size; position--) {
+            buffer[position] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        size += digits;
+    }
+
+    // Zero-padded to width digits
+    private void putDigits(int number, int width) {
+        for (int position = size + width - 1; position >= size; position--) {
+            buffer[position] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        size += width;
+    }
+
+    private void put(byte value) {
+        ensureCapacity(1);
+        buffer[size++] = value;
+    }
+
+    private void putAll(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package Class.Project.CarRental.api;
+
+import Class.Project.CarRental.config.RentalServices;
+import Class.Project.CarRental.config.Settings;
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.exception.ValidationException;
+import Class.Project.CarRental.filter.AbstractFilter;
+import Class.Project.CarRental.filter.CarManufacturerFilter;
+import Class.Project.CarRental.filter.CarPriceRangeFilter;
+import Class.Project.CarRental.filter.ReservationCustomerFilter;
+import Class.Project.CarRental.filter.ReservationDateRangeFilter;
+import Class.Project.CarRental.repository.*;
+import Class.Project.CarRental.service.AvailabilityService;
+import Class.Project.CarRental.service.CarService;
+import Class.Project.CarRental.service.ReservationService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP front end over the same services the console and JavaFX UIs use, so other systems
+ * and local load generators can drive the application.
+ *
+ * Every exchange runs on its own virtual thread, so a request blocked on the database parks cheaply.
+ * Responses always carry a Content-Length and request bodies are read to the end, so the JDK server
+ * keeps HTTP/1.1 connections alive between requests instead of closing them after each response.
+ *
+ * Responses are JSON (see JsonWriter). POST and PUT take application/x-www-form-urlencoded bodies.
+ *
+ *   GET    /cars?make=&minPrice=&maxPrice=      filtered cars, or a page: /cars?afterId=&limit=
+ *   POST   /cars                                make, model, rentalPrice
+ *   GET    /cars/{id}   PUT /cars/{id}   DELETE /cars/{id}
+ *   GET    /reservations?customer=&from=&to=&carId=   filtered, or a page: ?afterId=&limit=
+ *   POST   /reservations                        carId, customerName, startDate, endDate
+ *   GET    /reservations/{id}   PUT /reservations/{id}   DELETE /reservations/{id}
+ *   GET    /availability?start=&end=&make=&maxPrice=
+ *   GET    /reports/income?carId=   /reports/popular   /reports/customer?name=
+ *   GET    /reports/revenue-by-start-date   /reports/daily-revenue?from=&to=
+ *
+ * Errors are {"error": "..."}: 400 for invalid input, 404 for unknown IDs or paths,
+ * 405 for unsupported methods, 413 for oversized bodies (the connection is then closed), 500 for anything else.
+ */
+public final class RentalHttpServer {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    // Form bodies are a handful of fields; anything larger is refused rather than buffered
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    @FunctionalInterface
+    private interface Endpoint {
+        /**
+         * @param path the request path below the endpoint's context, e.g. "" or "/42"
+         */
+        void serve(HttpExchange exchange, String path, Map<String, String> query) throws Exception;
+    }
+
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private final CarService carService;
+    private final ReservationService reservationService;
+    private final ReportQueries reportQueries;
+    private final AvailabilityService availabilityService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public RentalHttpServer(int port, CarService carService, ReservationService reservationService,
+                            ReportQueries reportQueries) throws IOException {
+        this.carService = carService;
+        this.reservationService = reservationService;
+        this.reportQueries = reportQueries;
+        this.availabilityService = new AvailabilityService(carService, reservationService);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/cars", exchange -> dispatch(exchange, "/cars", this::cars));
+        server.createContext("/reservations", exchange -> dispatch(exchange, "/reservations", this::reservations));
+        server.createContext("/availability", exchange -> dispatch(exchange, "/availability", this::availability));
+        server.createContext("/reports", exchange -> dispatch(exchange, "/reports", this::reports));
+        server.createContext("/", exchange -> dispatch(exchange, "/", (ex, path, query) -> {
+            throw new HttpError(404, "Unknown path: " + ex.getRequestURI().getPath());
+        }));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting connections, gives open exchanges up to delaySeconds to finish, then stops the executor.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Cars
+
+    private void cars(HttpExchange exchange, String path, Map<String, String> query) throws Exception {
+        String method = exchange.getRequestMethod();
+        if (path.isEmpty() || path.equals("/")) {
+            switch (method) {
+                case "GET": {
+                    List<Car> cars;
+                    if (query.containsKey("make") || query.containsKey("minPrice") || query.containsKey("maxPrice")) {
+                        cars = new ArrayList<>(carService.findByFilter(carFilter(query)));
+                        cars.sort(Comparator.comparing(Car::getId));
+                    } else {
+                        cars = carService.listPage(optionalLong(query, "afterId"), pageSize(query));
+                    }
+                    JsonWriter json = new JsonWriter().beginArray();
+                    for (Car car : cars) {
+                        json.value(car);
+                    }
+                    sendJson(exchange, 200, json.endArray());
+                    return;
+                }
+                case "POST": {
+                    Map<String, String> form = readForm(exchange);
+                    Car created = carService.createCar(required(form, "make"), required(form, "model"),
+                            price(form, "rentalPrice"));
+                    exchange.getResponseHeaders().set("Location", "/cars/" + created.getId());
+                    sendJson(exchange, 201, new JsonWriter().value(created));
+                    return;
+                }
+                default:
+                    throw methodNotAllowed(exchange, "GET, POST");
+            }
+        }
+
+        Long id = pathId(path);
+        switch (method) {
+            case "GET":
+                Car car = carService.getById(id).orElseThrow(() -> new HttpError(404, "Car not found: " + id));
+                sendJson(exchange, 200, new JsonWriter().value(car));
+                return;
+            case "PUT":
+                Map<String, String> form = readForm(exchange);
+                Car updated = carService.updateCar(id, required(form, "make"), required(form, "model"),
+                        price(form, "rentalPrice"));
+                sendJson(exchange, 200, new JsonWriter().value(updated));
+                return;
+            case "DELETE":
+                carService.deleteCar(id);
+                sendEmpty(exchange);
+                return;
+            default:
+                throw methodNotAllowed(exchange, "GET, PUT, DELETE");
+        }
+    }
+
+    private static AbstractFilter<Car> carFilter(Map<String, String> query) {
+        AbstractFilter<Car> filter = car -> true;
+        String make = query.get("make");
+        if (make != null) {
+            filter = filter.and(new CarManufacturerFilter(make));
+        }
+        if (query.containsKey("minPrice") || query.containsKey("maxPrice")) {
+            double minimum = query.containsKey("minPrice") ? Double.parseDouble(query.get("minPrice")) : 0;
+            double maximum = query.containsKey("maxPrice") ? Double.parseDouble(query.get("maxPrice")) : Double.MAX_VALUE;
+            filter = filter.and(new CarPriceRangeFilter(minimum, maximum));
+        }
+        return filter;
+    }
+
+    // Reservations
+
+    private void reservations(HttpExchange exchange, String path, Map<String, String> query) throws Exception {
+        String method = exchange.getRequestMethod();
+        if (path.isEmpty() || path.equals("/")) {
+            switch (method) {
+                case "GET": {
+                    List<Reservation> reservations;
+                    AbstractFilter<Reservation> filter = reservationFilter(query);
+                    if (filter != null) {
+                        reservations = new ArrayList<>(reservationService.findByFilter(filter));
+                        reservations.sort(Comparator.comparing(Reservation::getId));
+                    } else {
+                        reservations = reservationService.listReservationPage(optionalLong(query, "afterId"), pageSize(query));
+                    }
+                    JsonWriter json = new JsonWriter().beginArray();
+                    for (Reservation reservation : reservations) {
+                        json.value(reservation);
+                    }
+                    sendJson(exchange, 200, json.endArray());
+                    return;
+                }
+                case "POST": {
+                    Map<String, String> form = readForm(exchange);
+                    Reservation created = reservationService.createReservation(requiredLong(form, "carId"),
+                            required(form, "customerName"), requiredDate(form, "startDate"), requiredDate(form, "endDate"));
+                    exchange.getResponseHeaders().set("Location", "/reservations/" + created.getId());
+                    sendJson(exchange, 201, new JsonWriter().value(created));
+                    return;
+                }
+                default:
+                    throw methodNotAllowed(exchange, "GET, POST");
+            }
+        }
+
+        Long id = pathId(path);
+        switch (method) {
+            case "GET":
+                Reservation reservation = reservationService.getById(id)
+                        .orElseThrow(() -> new HttpError(404, "Reservation not found: " + id));
+                sendJson(exchange, 200, new JsonWriter().value(reservation));
+                return;
+            case "PUT":
+                Map<String, String> form = readForm(exchange);
+                Reservation updated = reservationService.updateReservation(id, requiredLong(form, "carId"),
+                        required(form, "customerName"), requiredDate(form, "startDate"), requiredDate(form, "endDate"));
+                sendJson(exchange, 200, new JsonWriter().value(updated));
+                return;
+            case "DELETE":
+                reservationService.deleteReservation(id);
+                sendEmpty(exchange);
+                return;
+            default:
+                throw methodNotAllowed(exchange, "GET, PUT, DELETE");
+        }
+    }
+
+    // Null when the query has no filter parameters, which means a page is wanted instead
+    private static AbstractFilter<Reservation> reservationFilter(Map<String, String> query) {
+        AbstractFilter<Reservation> filter = null;
+        String customer = query.get("customer");
+        if (customer != null) {
+            filter = new ReservationCustomerFilter(customer);
+        }
+        if (query.containsKey("from") || query.containsKey("to")) {
+            AbstractFilter<Reservation> dates = new ReservationDateRangeFilter(
+                    requiredDate(query, "from"), requiredDate(query, "to"));
+            filter = filter == null ? dates : filter.and(dates);
+        }
+        if (query.containsKey("carId")) {
+            Long carId = requiredLong(query, "carId");
+            AbstractFilter<Reservation> byCar = reservation -> carId.equals(reservation.getCarId());
+            filter = filter == null ? byCar : filter.and(byCar);
+        }
+        return filter;
+    }
+
+    // Availability
+
+    private void availability(HttpExchange exchange, String path, Map<String, String> query) throws Exception {
+        requireGet(exchange, path);
+        String maxPrice = query.get("maxPrice");
+        List<Car> cars = availabilityService.findAvailableCars(requiredDate(query, "start"), requiredDate(query, "end"),
+                query.get("make"), maxPrice == null ? null : Double.valueOf(maxPrice));
+        JsonWriter json = new JsonWriter().beginArray();
+        for (Car car : cars) {
+            json.value(car);
+        }
+        sendJson(exchange, 200, json.endArray());
+    }
+
+    // Reports
+
+    private void reports(HttpExchange exchange, String path, Map<String, String> query) throws Exception {
+        switch (path) {
+            case "/income": {
+                requireGet(exchange, "");
+                Long carId = requiredLong(query, "carId");
+                Car car = carService.getById(carId).orElseThrow(() -> new HttpError(404, "Car not found: " + carId));
+                sendJson(exchange, 200, new JsonWriter().beginObject()
+                        .name("car").value(car)
+                        .name("reservations").value(reportQueries.reservationCount(carId))
+                        .name("income").value(reportQueries.totalIncomeForCar(car))
+                        .endObject());
+                return;
+            }
+            case "/popular": {
+                requireGet(exchange, "");
+                JsonWriter json = new JsonWriter();
+                Optional<Map.Entry<Long, Long>> popular = reportQueries.mostPopularCar();
+                if (popular.isPresent()) {
+                    json.beginObject()
+                            .name("car").value(carService.getById(popular.get().getKey()).orElse(null))
+                            .name("reservations").value(popular.get().getValue())
+                            .endObject();
+                } else {
+                    json.nullValue();
+                }
+                sendJson(exchange, 200, json);
+                return;
+            }
+            case "/customer": {
+                requireGet(exchange, "");
+                JsonWriter json = new JsonWriter().beginArray();
+                for (Car car : reportQueries.carsRentedBy(required(query, "name"))) {
+                    json.value(car);
+                }
+                sendJson(exchange, 200, json.endArray());
+                return;
+            }
+            case "/revenue-by-start-date":
+                requireGet(exchange, "");
+                sendJson(exchange, 200, revenueObject(reportQueries.revenueByStartDate()));
+                return;
+            case "/daily-revenue":
+                requireGet(exchange, "");
+                sendJson(exchange, 200, revenueObject(
+                        reportQueries.dailyRevenue(requiredDate(query, "from"), requiredDate(query, "to"))));
+                return;
+            default:
+                throw new HttpError(404, "Unknown report: " + path);
+        }
+    }
+
+    // Date -> revenue as one object, keys in date order
+    private static JsonWriter revenueObject(SortedMap<LocalDate, Double> revenue) {
+        JsonWriter json = new JsonWriter().beginObject();
+        for (Map.Entry<LocalDate, Double> entry : revenue.entrySet()) {
+            json.name(entry.getKey().toString()).value(entry.getValue().doubleValue());
+        }
+        return json.endObject();
+    }
+
+    // Exchange handling
+
+    private void dispatch(HttpExchange exchange, String context, Endpoint endpoint) throws IOException {
+        try {
+            String fullPath = exchange.getRequestURI().getPath();
+            String path = context.equals("/") ? fullPath : fullPath.substring(context.length());
+            if (!path.isEmpty() && !path.startsWith("/")) {
+                // e.g. /carsXYZ, which only shares the context prefix
+                throw new HttpError(404, "Unknown path: " + fullPath);
+            }
+            endpoint.serve(exchange, path, parseParameters(exchange.getRequestURI().getRawQuery()));
+        } catch (HttpError e) {
+            if (e.status == 413) {
+                // Draining an oversized body is what the limit is there to prevent: answer without reading
+                // the rest and give up the connection. On close the server reads at most a small, fixed amount.
+                exchange.getResponseHeaders().set("Connection", "close");
+                writeJson(exchange, e.status, errorJson(e.getMessage()));
+            } else {
+                sendError(exchange, e.status, e.getMessage());
+            }
+        } catch (ValidationException | IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException
+            sendError(exchange, 400, e.getMessage());
+        } catch (NotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+        } catch (Exception e) {
+            sendError(exchange, 500, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, JsonWriter json) throws IOException {
+        drainRequestBody(exchange);
+        writeJson(exchange, status, json);
+    }
+
+    private static void writeJson(HttpExchange exchange, int status, JsonWriter json) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        // A fixed length (never 0, which would mean chunked) lets the connection be reused
+        exchange.sendResponseHeaders(status, json.size());
+        try (OutputStream body = exchange.getResponseBody()) {
+            json.writeTo(body);
+        }
+    }
+
+    private static void sendEmpty(HttpExchange exchange) throws IOException {
+        drainRequestBody(exchange);
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, errorJson(message));
+    }
+
+    private static JsonWriter errorJson(String message) {
+        return new JsonWriter().beginObject().name("error").value(message).endObject();
+    }
+
+    // The connection can only be reused once the request body has been read to the end.
+    // Read here rather than on close, where the server gives up and drops the connection after a few KB.
+    // Not closed: an error response after a successful one must still be able to drain.
+    private static void drainRequestBody(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+    }
+
+    private static HttpError methodNotAllowed(HttpExchange exchange, String allowed) {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        return new HttpError(405, "Method " + exchange.getRequestMethod() + " not allowed; use " + allowed);
+    }
+
+    private static void requireGet(HttpExchange exchange, String path) {
+        if (!path.isEmpty() && !path.equals("/")) {
+            throw new HttpError(404, "Unknown path: " + exchange.getRequestURI().getPath());
+        }
+        if (!exchange.getRequestMethod().equals("GET")) {
+            throw methodNotAllowed(exchange, "GET");
+        }
+    }
+
+    // Parameters
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new HttpError(413, "Request body larger than " + MAX_BODY_BYTES + " bytes");
+        }
+        return parseParameters(new String(body, StandardCharsets.UTF_8));
+    }
+
+    // Parses a query string or form body; blank values count as absent
+    private static Map<String, String> parseParameters(String encoded) {
+        Map<String, String> parameters = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+            String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            if (!name.isEmpty() && !value.isBlank()) {
+                parameters.put(name, value.trim());
+            }
+        }
+        return parameters;
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null) {
+            throw new ValidationException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static Long requiredLong(Map<String, String> parameters, String name) {
+        return Long.valueOf(required(parameters, name));
+    }
+
+    private static LocalDate requiredDate(Map<String, String> parameters, String name) {
+        return LocalDate.parse(required(parameters, name));
+    }
+
+    private static Long optionalLong(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static double price(Map<String, String> parameters, String name) {
+        double price = Double.parseDouble(required(parameters, name));
+        if (price < 0 || Double.isNaN(price) || Double.isInfinite(price)) {
+            throw new ValidationException("Rental price must be a non-negative number.");
+        }
+        return price;
+    }
+
+    private static int pageSize(Map<String, String> parameters) {
+        String value = parameters.get("limit");
+        int limit = value == null ? DEFAULT_PAGE_SIZE : Integer.parseInt(value);
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return limit;
+    }
+
+    private static Long pathId(String path) {
+        String id = path.substring(1);
+        if (id.endsWith("/")) {
+            id = id.substring(0, id.length() - 1);
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new HttpError(404, "Not a valid id: " + id);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Settings settings = Settings.getInstance();
+        RentalServices services = RentalServices.fromSettings(settings);
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : settings.getHttpPort();
+        RentalHttpServer httpServer = new RentalHttpServer(port, services.getCarService(),
+                services.getReservationService(), services.createReportQueries());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> httpServer.stop(1)));
+        httpServer.start();
+        System.out.println("Car rental API listening on port " + httpServer.getPort()
+                + " using repository type: " + services.getRepositoryType());
+    }
+}
@@ -0,0 +1,130 @@
+package Class.Project.CarRental.config;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.repository.*;
+import Class.Project.CarRental.service.CarService;
+import Class.Project.CarRental.service.ReportService;
+import Class.Project.CarRental.service.ReservationService;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * The repositories and services described by settings.properties, wired the same way for
+ * the console UI, the JavaFX UI and the HTTP API.
+ */
+public class RentalServices {
+
+    private final String repositoryType;
+    private final CarRepository carRepository;
+    private final ReservationRepository reservationRepository;
+    private final CarService carService;
+    private final ReservationService reservationService;
+
+    private RentalServices(String repositoryType, CarRepository carRepository,
+                           ReservationRepository reservationRepository) {
+        this.repositoryType = repositoryType;
+        this.carRepository = carRepository;
+        this.reservationRepository = reservationRepository;
+        this.carService = new CarService(carRepository);
+        // carExistenceChecker uses carService.exists(Long)
+        LongPredicate carExistenceChecker = carService::exists;
+        this.reservationService = new ReservationService(reservationRepository, carExistenceChecker);
+    }
+
+    public static RentalServices fromSettings(Settings settings) {
+        // AtomicLong allows us to move the counters past the stored IDs once the data is loaded
+        AtomicLong carIdCounter = new AtomicLong(1L);
+        AtomicLong reservationIdCounter = new AtomicLong(1L);
+        Supplier<Long> carIdSupplier = carIdCounter::getAndIncrement;
+        Supplier<Long> reservationIdSupplier = reservationIdCounter::getAndIncrement;
+
+        String repositoryType = settings.getRepositoryType() == null ? "memory" : settings.getRepositoryType().toLowerCase();
+        CarRepository carRepository;
+        ReservationRepository reservationRepository;
+
+        switch (repositoryType) {
+            case "database":
+                // Database repos handle their own IDs via AUTOINCREMENT, so no supplier needed
+                carRepository = new CarDbRepository();
+                reservationRepository = new ReservationDbRepository();
+                break;
+            case "binary":
+                carRepository = new BinaryCarRepository(carIdSupplier, settings.getCarFile());
+                reservationRepository = new BinaryReservationRepository(reservationIdSupplier, settings.getReservationFile());
+                break;
+            case "mapped":
+                carRepository = new MappedCarRepository(carIdSupplier, settings.getCarFile());
+                reservationRepository = new MappedReservationRepository(reservationIdSupplier, settings.getReservationFile());
+                break;
+            case "text":
+                long compactionInterval = settings.getJournalCompactionIntervalMillis();
+                carRepository = new CarTextRepository(carIdSupplier, settings.getCarFile(), compactionInterval);
+                reservationRepository = new ReservationTextRepository(reservationIdSupplier,
+                        settings.getReservationFile(), compactionInterval);
+                break;
+            case "concurrent":
+                // In memory too, but reads take no lock, for many concurrent callers such as the HTTP API
+                carRepository = new ConcurrentInMemoryCarRepository(carIdSupplier);
+                reservationRepository = new ConcurrentInMemoryReservationRepository(reservationIdSupplier);
+                break;
+            case "memory":
+            default:
+                repositoryType = "memory";
+                carRepository = new InMemoryCarRepository(carIdSupplier);
+                reservationRepository = new InMemoryReservationRepository(reservationIdSupplier);
+                break;
+        }
+
+        // Optional read-through cache for the by-ID lookups (validation, reports)
+        int entityCacheSize = settings.getEntityCacheSize();
+        if (entityCacheSize > 0) {
+            carRepository = new CachingCarRepository(carRepository, entityCacheSize, settings.getEntityCacheTtlMillis());
+            reservationRepository = new CachingReservationRepository(reservationRepository, entityCacheSize,
+                    settings.getEntityCacheTtlMillis());
+        }
+
+        // Continue numbering after the stored data, or new records would reuse existing IDs
+        carIdCounter.set(carRepository.stream().mapToLong(Car::getId).max().orElse(0L) + 1);
+        reservationIdCounter.set(reservationRepository.stream().mapToLong(Reservation::getId).max().orElse(0L) + 1);
+
+        return new RentalServices(repositoryType, carRepository, reservationRepository);
+    }
+
+    /**
+     * @return the repository type in use: "memory", "concurrent", "text", "binary", "mapped"
+     * or "database"
+     */
+    public String getRepositoryType() {
+        return repositoryType;
+    }
+
+    public CarRepository getCarRepository() {
+        return carRepository;
+    }
+
+    public ReservationRepository getReservationRepository() {
+        return reservationRepository;
+    }
+
+    public CarService getCarService() {
+        return carService;
+    }
+
+    public ReservationService getReservationService() {
+        return reservationService;
+    }
+
+    /**
+     * The database aggregates in SQL; every other repository keeps the aggregates in memory.
+     * Built on request because the in-memory reports follow every reservation change from then on.
+     */
+    public ReportQueries createReportQueries() {
+        Repository<Long, Car> carStore = CachingRepository.unwrap(carRepository);
+        return carStore instanceof CarDbRepository
+                ? new SqlReportQueries((CarDbRepository) carStore)
+                : ReportService.create(carService, reservationService);
+    }
+}
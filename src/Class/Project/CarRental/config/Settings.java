@@ -38,7 +38,41 @@ public class Settings {
         return properties.getProperty("Password", ""); // Default to empty string
     }
 
+    // Connection pool settings used by the database repositories
+    public int getPoolSize() { return getInt("PoolSize", 4); }
+
+    public long getPoolIdleTimeoutMillis() { return getLong("PoolIdleTimeoutMillis", 300_000L); }
+
+    public long getPoolAcquireTimeoutMillis() { return getLong("PoolAcquireTimeoutMillis", 5_000L); }
+
+    public String getPoolValidationQuery() { return properties.getProperty("PoolValidationQuery", "SELECT 1"); }
+
+    // Prepared statements kept per pooled connection (0 disables the cache)
+    public int getStatementCacheSize() { return getInt("StatementCacheSize", 32); }
+
+    // Read-through entity cache in front of the repositories (0 disables it)
+    public int getEntityCacheSize() { return getInt("EntityCacheSize", 0); }
+
+    // How long a cached entity is served before it is reloaded (0 keeps it until evicted or written)
+    public long getEntityCacheTtlMillis() { return getLong("EntityCacheTtlMillis", 60_000L); }
+
+    // How often the text repositories fold their change journal into the CSV snapshot
+    public long getJournalCompactionIntervalMillis() { return getLong("JournalCompactionIntervalMillis", 30_000L); }
+
+    // Port the embedded HTTP API (RentalHttpServer) listens on
+    public int getHttpPort() { return getInt("HttpPort", 8080); }
+
     // Keep these for backward compatibility if you still want to switch to files
     public String getCarFile() { return properties.getProperty("Cars"); }
     public String getReservationFile() { return properties.getProperty("Reservations"); }
+
+    private int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private long getLong(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
 }
\ No newline at end of file
@@ -6,4 +6,18 @@ public interface AbstractFilter<Entity> {
 
     //Returns true if the entity matches the filter criteria.
     boolean matches(Entity entity);
+
+    // Combinators; the resulting AndFilter/OrFilter/NotFilter stay inspectable for query planning
+
+    default AbstractFilter<Entity> and(AbstractFilter<Entity> other) {
+        return new AndFilter<>(this, other);
+    }
+
+    default AbstractFilter<Entity> or(AbstractFilter<Entity> other) {
+        return new OrFilter<>(this, other);
+    }
+
+    default AbstractFilter<Entity> negate() {
+        return new NotFilter<>(this);
+    }
 }
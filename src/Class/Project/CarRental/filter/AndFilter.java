@@ -0,0 +1,45 @@
+package Class.Project.CarRental.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Matches entities accepted by every one of the given filters (an empty AndFilter matches everything).
+ */
+public class AndFilter<Entity> implements AbstractFilter<Entity> {
+
+    private final List<AbstractFilter<Entity>> filters;
+
+    // List.of only reads the elements into its own copy, so the array never escapes
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public AndFilter(AbstractFilter<Entity>... filters) {
+        this.filters = List.of(filters);
+    }
+
+    public AndFilter(List<AbstractFilter<Entity>> filters) {
+        this.filters = List.copyOf(filters);
+    }
+
+    public List<AbstractFilter<Entity>> getFilters() {
+        return filters;
+    }
+
+    // Flattens nested conjunctions so a.and(b).and(c) plans like one three-way AND
+    @Override
+    public AbstractFilter<Entity> and(AbstractFilter<Entity> other) {
+        List<AbstractFilter<Entity>> combined = new ArrayList<>(filters);
+        combined.add(other);
+        return new AndFilter<>(combined);
+    }
+
+    @Override
+    public boolean matches(Entity entity) {
+        for (AbstractFilter<Entity> filter : filters) {
+            if (!filter.matches(entity)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
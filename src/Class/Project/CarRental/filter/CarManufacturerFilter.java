@@ -19,6 +19,10 @@ public class CarManufacturerFilter implements AbstractFilter<Car> {
         this.manufacturerToMatch = manufacturerToMatch == null ? "" : manufacturerToMatch.trim();
     }
 
+    public String getManufacturerToMatch() {
+        return manufacturerToMatch;
+    }
+
     @Override
     public boolean matches(Car car) {
         if (car == null) return false;
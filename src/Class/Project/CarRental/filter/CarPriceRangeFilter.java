@@ -25,6 +25,14 @@ public class CarPriceRangeFilter implements AbstractFilter<Car> {
         this.maximumInclusive = maximumInclusive;
     }
 
+    public double getMinimumInclusive() {
+        return minimumInclusive;
+    }
+
+    public double getMaximumInclusive() {
+        return maximumInclusive;
+    }
+
     @Override
     public boolean matches(Car car) {
         if (car == null) return false;
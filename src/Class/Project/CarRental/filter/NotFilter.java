@@ -0,0 +1,24 @@
+package Class.Project.CarRental.filter;
+
+import java.util.Objects;
+
+/**
+ * Matches entities the wrapped filter rejects.
+ */
+public class NotFilter<Entity> implements AbstractFilter<Entity> {
+
+    private final AbstractFilter<Entity> filter;
+
+    public NotFilter(AbstractFilter<Entity> filter) {
+        this.filter = Objects.requireNonNull(filter, "filter must not be null");
+    }
+
+    public AbstractFilter<Entity> getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean matches(Entity entity) {
+        return !filter.matches(entity);
+    }
+}
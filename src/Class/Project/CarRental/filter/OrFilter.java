@@ -0,0 +1,44 @@
+package Class.Project.CarRental.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Matches entities accepted by at least one of the given filters (an empty OrFilter matches nothing).
+ */
+public class OrFilter<Entity> implements AbstractFilter<Entity> {
+
+    private final List<AbstractFilter<Entity>> filters;
+
+    // List.of only reads the elements into its own copy, so the array never escapes
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public OrFilter(AbstractFilter<Entity>... filters) {
+        this.filters = List.of(filters);
+    }
+
+    public OrFilter(List<AbstractFilter<Entity>> filters) {
+        this.filters = List.copyOf(filters);
+    }
+
+    public List<AbstractFilter<Entity>> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public AbstractFilter<Entity> or(AbstractFilter<Entity> other) {
+        List<AbstractFilter<Entity>> combined = new ArrayList<>(filters);
+        combined.add(other);
+        return new OrFilter<>(combined);
+    }
+
+    @Override
+    public boolean matches(Entity entity) {
+        for (AbstractFilter<Entity> filter : filters) {
+            if (filter.matches(entity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -12,6 +12,10 @@ public class ReservationCustomerFilter implements AbstractFilter<Reservation> {
         this.customerNameToMatch = customerNameToMatch == null ? "" : customerNameToMatch.trim();
     }
 
+    public String getCustomerNameToMatch() {
+        return customerNameToMatch;
+    }
+
     @Override
     public boolean matches(Reservation reservation) {
         if (reservation == null) return false;
@@ -22,6 +22,14 @@ public class ReservationDateRangeFilter implements AbstractFilter<Reservation> {
         this.toDateInclusive = toDateInclusive;
     }
 
+    public LocalDate getFromDateInclusive() {
+        return fromDateInclusive;
+    }
+
+    public LocalDate getToDateInclusive() {
+        return toDateInclusive;
+    }
+
     @Override
     public boolean matches(Reservation reservation) {
         if (reservation == null) return false;
@@ -0,0 +1,17 @@
+package Class.Project.CarRental.repository;
+
+/**
+ * Reports a failure on a background thread (event delivery, compaction), where there is no caller to throw to.
+ * The failure is wrapped in a RuntimeException like every other repository error and handed to the
+ * thread's uncaught-exception handler, so an application that installs a default handler sees it there.
+ */
+final class BackgroundFailures {
+
+    private BackgroundFailures() {
+    }
+
+    static void report(String message, Throwable cause) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, new RuntimeException(message, cause));
+    }
+}
@@ -4,37 +4,26 @@ import Class.Project.CarRental.domain.Car;
 
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 
  //Binary implementation for the Car Repository.
 
-public class BinaryCarRepository extends BinaryFileRepository<Long, Car> implements CarRepository {
+public class BinaryCarRepository extends BinaryFileRepository<Long, Car> implements IndexedCarRepository {
 
-    public BinaryCarRepository(Supplier<Long> idSupplier, String fileName) {
-        super(idSupplier, fileName);
-    }
+    private final CarSecondaryIndex carIndex;
 
-    @Override
-    public List<Car> findByManufacturer(String manufacturer) {
-        String normalized = manufacturer == null ? "" : manufacturer.trim();
-        return findAll().stream()
-                .filter(car -> car.getMake() != null && car.getMake().trim().equalsIgnoreCase(normalized))
-                .collect(Collectors.toList());
+    public BinaryCarRepository(Supplier<Long> idSupplier, String fileName) {
+        this(idSupplier, fileName, new CarSecondaryIndex());
     }
 
-    @Override
-    public List<Car> findByModel(String model) {
-        String normalized = model == null ? "" : model.trim();
-        return findAll().stream()
-                .filter(car -> car.getModel() != null && car.getModel().trim().equalsIgnoreCase(normalized))
-                .collect(Collectors.toList());
+    private BinaryCarRepository(Supplier<Long> idSupplier, String fileName, CarSecondaryIndex carIndex) {
+        super(idSupplier, fileName, new CarRecordCodec(), List.of(carIndex));
+        this.carIndex = carIndex;
     }
 
+    // The car queries are answered from this index by IndexedCarRepository
     @Override
-    public List<Car> findByRentalPriceBelow(double maximumPrice) {
-        return findAll().stream()
-                .filter(car -> car.getRentalPrice() <= maximumPrice)
-                .collect(Collectors.toList());
+    public CarSecondaryIndex carIndex() {
+        return carIndex;
     }
-}
\ No newline at end of file
+}
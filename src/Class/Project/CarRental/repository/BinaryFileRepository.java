@@ -3,68 +3,153 @@ package Class.Project.CarRental.repository;
 import Class.Project.CarRental.domain.Identifiable;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.function.Supplier;
 
- //A generic repository that saves data to a binary file using Java Serialization.
+ //A generic repository that saves data to append-only binary segment files (see SegmentStore).
+ //Each mutation appends one compact record instead of re-serializing the whole map.
  //Extends InMemoryRepository to reuse the Map storage mechanism.
 public class BinaryFileRepository<ID, Entity extends Identifiable<ID> & Serializable>
-        extends InMemoryRepository<ID, Entity> {
+        extends InMemoryRepository<ID, Entity> implements Closeable {
 
     private final String fileName;
+    private final SegmentStore<ID, Entity> segmentStore;
 
-    public BinaryFileRepository(Supplier<ID> idSupplier, String fileName) {
-        super(idSupplier);
-        this.fileName = fileName;
-        loadFromFile();
+    public BinaryFileRepository(Supplier<ID> idSupplier, String fileName, RecordCodec<ID, Entity> codec) {
+        this(idSupplier, fileName, codec, List.of());
     }
 
-    private void loadFromFile() {
-        File file = new File(fileName);
-        // If the file does not exist, we start with an empty repository.
-        if (!file.exists()) {
-            return;
-        }
+    // The indexes are filled from the stored records
+    protected BinaryFileRepository(Supplier<ID> idSupplier, String fileName, RecordCodec<ID, Entity> codec,
+                                   List<? extends EntityIndex<ID, Entity>> indexes) {
+        this(idSupplier, fileName, new SegmentStore<>(fileName, codec), indexes);
+    }
+
+    private BinaryFileRepository(Supplier<ID> idSupplier, String fileName, SegmentStore<ID, Entity> segmentStore,
+                                 List<? extends EntityIndex<ID, Entity>> indexes) {
+        super(idSupplier, loadFromFile(fileName, segmentStore), indexes);
+        this.fileName = fileName;
+        this.segmentStore = segmentStore;
+    }
 
-        try (ObjectInputStream objectInputStream = new ObjectInputStream(new FileInputStream(file))) {
-            // Read the entire map from the file
-            Map<ID, Entity> dataFromFile = (Map<ID, Entity>) objectInputStream.readObject();
-            // Clear current storage and add all loaded data
-            storage.clear();
-            storage.putAll(dataFromFile);
+    // Runs before the repository exists, so it is static and is handed everything it needs
+    private static <ID, Entity extends Identifiable<ID> & Serializable> Collection<Entity> loadFromFile(
+            String fileName, SegmentStore<ID, Entity> segmentStore) {
+        try {
+            // Replay into a scratch map (it sees puts and tombstones), so only the survivors are stored
+            Map<ID, Entity> loaded = new HashMap<>();
+            segmentStore.load(loaded);
+            migrateSerializedFile(fileName, segmentStore, loaded);
+            return loaded.values();
         } catch (IOException | ClassNotFoundException e) {
             throw new RuntimeException("Failed to load data from binary file: " + fileName, e);
         }
     }
 
-    private void saveToFile() {
-        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(new FileOutputStream(fileName))) {
-            // Write the entire storage map to the file
-            objectOutputStream.writeObject(storage);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save data to binary file: " + fileName, e);
+    // A file written by the old ObjectOutputStream format is imported once, then kept as "<file>.legacy"
+    private static <ID, Entity extends Identifiable<ID> & Serializable> void migrateSerializedFile(
+            String fileName, SegmentStore<ID, Entity> segmentStore, Map<ID, Entity> loaded)
+            throws IOException, ClassNotFoundException {
+        Path legacyFile = Paths.get(fileName);
+        if (!Files.isRegularFile(legacyFile) || !isJavaSerialized(legacyFile)) {
+            return;
+        }
+        if (loaded.isEmpty()) {
+            try (ObjectInputStream objectInputStream = new ObjectInputStream(new FileInputStream(legacyFile.toFile()))) {
+                Map<ID, Entity> dataFromFile = (Map<ID, Entity>) objectInputStream.readObject();
+                segmentStore.putAll(dataFromFile.values());
+                loaded.putAll(dataFromFile);
+            }
         }
+        Files.move(legacyFile, Paths.get(fileName + ".legacy"), StandardCopyOption.REPLACE_EXISTING);
     }
 
-    // Override modify methods to save changes to file immediately
+    private static boolean isJavaSerialized(Path file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new FileInputStream(file.toFile()))) {
+            return input.readShort() == ObjectStreamConstants.STREAM_MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    private RuntimeException saveFailure(IOException e) {
+        return new RuntimeException("Failed to save data to binary file: " + fileName, e);
+    }
+
+    // Override modify methods to append changes to the segment file immediately
 
     @Override
-    public Entity create(Entity entity) {
+    public synchronized Entity create(Entity entity) {
         Entity createdEntity = super.create(entity);
-        saveToFile();
+        try {
+            segmentStore.put(createdEntity);
+        } catch (IOException e) {
+            throw saveFailure(e);
+        }
         return createdEntity;
     }
 
     @Override
-    public Entity update(Entity entity) throws NotFoundException {
+    public synchronized Entity update(Entity entity) throws NotFoundException {
         Entity updatedEntity = super.update(entity);
-        saveToFile();
+        try {
+            segmentStore.put(updatedEntity);
+        } catch (IOException e) {
+            throw saveFailure(e);
+        }
         return updatedEntity;
     }
 
     @Override
-    public void deleteById(ID id) throws NotFoundException {
+    public synchronized void deleteById(ID id) throws NotFoundException {
         super.deleteById(id);
-        saveToFile();
+        try {
+            segmentStore.delete(id);
+        } catch (IOException e) {
+            throw saveFailure(e);
+        }
+    }
+
+    // Batch operations append all records with a single write
+
+    @Override
+    public synchronized List<Entity> createAll(Collection<Entity> entities) {
+        List<Entity> createdEntities = super.createAll(entities);
+        try {
+            segmentStore.putAll(createdEntities);
+        } catch (IOException e) {
+            throw saveFailure(e);
+        }
+        return createdEntities;
+    }
+
+    @Override
+    public synchronized List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException {
+        List<Entity> updatedEntities = super.updateAll(entities);
+        try {
+            segmentStore.putAll(updatedEntities);
+        } catch (IOException e) {
+            throw saveFailure(e);
+        }
+        return updatedEntities;
+    }
+
+    @Override
+    public synchronized void deleteAllById(Collection<ID> ids) throws NotFoundException {
+        super.deleteAllById(ids);
+        try {
+            segmentStore.deleteAll(ids);
+        } catch (IOException e) {
+            throw saveFailure(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        segmentStore.close();
     }
-}
\ No newline at end of file
+}
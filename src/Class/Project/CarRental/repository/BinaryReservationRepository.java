@@ -1,15 +1,45 @@
 package Class.Project.CarRental.repository;
 
 import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.filter.AbstractFilter;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.function.Supplier;
 
   //Binary implementation for the Reservation Repository.
 
 public class BinaryReservationRepository extends BinaryFileRepository<Long, Reservation>
-        implements ReservationRepository {
+        implements ReservationRepository, IndexedLookup<Reservation> {
+
+    private final ReservationIntervalIndex intervalIndex;
 
     public BinaryReservationRepository(Supplier<Long> idSupplier, String fileName) {
-        super(idSupplier, fileName);
+        this(idSupplier, fileName, new ReservationIntervalIndex());
+    }
+
+    private BinaryReservationRepository(Supplier<Long> idSupplier, String fileName, ReservationIntervalIndex intervalIndex) {
+        super(idSupplier, fileName, new ReservationRecordCodec(), List.of(intervalIndex));
+        this.intervalIndex = intervalIndex;
+    }
+
+    @Override
+    public synchronized List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return intervalIndex.findOverlapping(from, to);
+    }
+
+    @Override
+    public synchronized List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        return intervalIndex.findByCarOverlapping(carId, from, to);
+    }
+
+    @Override
+    public synchronized long estimateMatches(AbstractFilter<Reservation> filter) {
+        return intervalIndex.estimateMatches(filter);
+    }
+
+    @Override
+    public synchronized List<Reservation> findByIndex(AbstractFilter<Reservation> filter) {
+        return intervalIndex.findByIndex(filter);
     }
-}
\ No newline at end of file
+}
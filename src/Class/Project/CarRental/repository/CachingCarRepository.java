@@ -0,0 +1,27 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+
+import java.util.List;
+
+/**
+ * CachingRepository for cars. The car-specific queries are not cached and go straight to the wrapped repository.
+ */
+public class CachingCarRepository extends CachingRepository<Long, Car> implements CarRepository {
+
+    private final CarRepository carRepository;
+
+    public CachingCarRepository(CarRepository carRepository, int capacity, long timeToLiveMillis) {
+        super(carRepository, capacity, timeToLiveMillis);
+        this.carRepository = carRepository;
+    }
+
+    @Override
+    public List<Car> findByManufacturer(String manufacturer) { return carRepository.findByManufacturer(manufacturer); }
+
+    @Override
+    public List<Car> findByModel(String model) { return carRepository.findByModel(model); }
+
+    @Override
+    public List<Car> findByRentalPriceBelow(double maximumPrice) { return carRepository.findByRentalPriceBelow(maximumPrice); }
+}
@@ -0,0 +1,293 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Identifiable;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of any Repository, for the by-ID lookups that dominate validation and reports
+ * (findById, existsById, findAllById). Scans, pages and streams always go to the wrapped repository.
+ *
+ * The cache holds at most capacity entities and evicts the least recently used one when full.
+ * An entry older than the time-to-live counts as a miss and is reloaded.
+ * Every write goes to the wrapped repository first and then drops the IDs it touched, so the next read
+ * sees the stored state. A load that raced with a write is not cached (see writeCount).
+ *
+ * @param <ID>      identifier type
+ * @param <Entity>  entity type
+ */
+public class CachingRepository<ID, Entity extends Identifiable<ID>> implements Repository<ID, Entity> {
+
+    private static final class CacheEntry<Entity> {
+        private final Entity entity;
+        private final long loadedAtNanos;
+
+        private CacheEntry(Entity entity, long loadedAtNanos) {
+            this.entity = entity;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    private final Repository<ID, Entity> delegateRepository;
+    private final int capacity;
+    private final long timeToLiveNanos;
+
+    // All guarded by this
+    private final LinkedHashMap<ID, CacheEntry<Entity>> entries;
+    // Bumped by every write; a load only fills the cache if no write happened while it ran
+    private long writeCount;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * @param capacity          maximum number of cached entities
+     * @param timeToLiveMillis  how long an entity may be served from the cache; 0 or less means forever
+     */
+    public CachingRepository(Repository<ID, Entity> delegateRepository, int capacity, long timeToLiveMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.delegateRepository = Objects.requireNonNull(delegateRepository, "delegateRepository must not be null");
+        this.capacity = capacity;
+        this.timeToLiveNanos = timeToLiveMillis <= 0 ? Long.MAX_VALUE : timeToLiveMillis * 1_000_000L;
+        // Access order makes iteration order least recently used first
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ID, CacheEntry<Entity>> eldest) {
+                if (size() <= CachingRepository.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public Repository<ID, Entity> getDelegate() {
+        return delegateRepository;
+    }
+
+    /**
+     * @return the repository underneath any number of caching layers
+     */
+    public static <ID, Entity extends Identifiable<ID>> Repository<ID, Entity> unwrap(Repository<ID, Entity> repository) {
+        while (repository instanceof CachingRepository) {
+            repository = ((CachingRepository<ID, Entity>) repository).getDelegate();
+        }
+        return repository;
+    }
+
+    // Cached entity for the ID, counting a hit or a miss
+    private synchronized Entity lookup(ID id) {
+        CacheEntry<Entity> entry = entries.get(id);
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos > timeToLiveNanos) {
+            entries.remove(id);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.entity;
+    }
+
+    private synchronized long currentWriteCount() {
+        return writeCount;
+    }
+
+    private synchronized void store(Collection<Entity> loaded, long writeCountBeforeLoad) {
+        if (writeCount != writeCountBeforeLoad) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Entity entity : loaded) {
+            entries.put(entity.getId(), new CacheEntry<>(entity, now));
+        }
+    }
+
+    private synchronized void invalidate(Collection<ID> ids) {
+        writeCount++;
+        for (ID id : ids) {
+            entries.remove(id);
+        }
+    }
+
+    private void invalidateEntities(Collection<Entity> entities) {
+        List<ID> ids = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            ids.add(entity.getId());
+        }
+        invalidate(ids);
+    }
+
+    public synchronized void clear() {
+        writeCount++;
+        entries.clear();
+    }
+
+    // Reads
+
+    @Override
+    public Optional<Entity> findById(ID id) {
+        Entity cached = lookup(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long writeCountBeforeLoad = currentWriteCount();
+        Optional<Entity> loaded = delegateRepository.findById(id);
+        loaded.ifPresent(entity -> store(List.of(entity), writeCountBeforeLoad));
+        return loaded;
+    }
+
+    // Loads the entity on a miss, so the next findById of a car that was just validated is a hit
+    @Override
+    public boolean existsById(ID id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Entity> findAllById(Collection<ID> ids) {
+        Map<ID, Entity> found = new HashMap<>();
+        List<ID> missing = new ArrayList<>();
+        Set<ID> distinctIds = new LinkedHashSet<>(ids);
+        for (ID id : distinctIds) {
+            Entity cached = lookup(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long writeCountBeforeLoad = currentWriteCount();
+            List<Entity> loaded = delegateRepository.findAllById(missing);
+            store(loaded, writeCountBeforeLoad);
+            for (Entity entity : loaded) {
+                found.put(entity.getId(), entity);
+            }
+        }
+
+        List<Entity> result = new ArrayList<>(found.size());
+        for (ID id : distinctIds) {
+            Entity entity = found.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Entity> findAll() { return delegateRepository.findAll(); }
+
+    @Override
+    public List<Entity> findPage(ID afterId, int limit) { return delegateRepository.findPage(afterId, limit); }
+
+    @Override
+    public Stream<Entity> stream() { return delegateRepository.stream(); }
+
+    // Writes: the wrapped repository first, then invalidation, even if the write failed halfway
+
+    @Override
+    public Entity create(Entity entity) {
+        Entity created = delegateRepository.create(entity);
+        invalidate(List.of(created.getId()));
+        return created;
+    }
+
+    @Override
+    public Entity update(Entity entity) throws NotFoundException {
+        try {
+            return delegateRepository.update(entity);
+        } finally {
+            invalidate(Collections.singletonList(entity.getId()));
+        }
+    }
+
+    @Override
+    public void deleteById(ID id) throws NotFoundException {
+        try {
+            delegateRepository.deleteById(id);
+        } finally {
+            invalidate(Collections.singletonList(id));
+        }
+    }
+
+    @Override
+    public List<Entity> createAll(Collection<Entity> entities) {
+        List<Entity> created = delegateRepository.createAll(entities);
+        invalidateEntities(created);
+        return created;
+    }
+
+    @Override
+    public List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException {
+        try {
+            return delegateRepository.updateAll(entities);
+        } finally {
+            invalidateEntities(entities);
+        }
+    }
+
+    @Override
+    public void deleteAllById(Collection<ID> ids) throws NotFoundException {
+        try {
+            delegateRepository.deleteAllById(ids);
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    // Changes are made and published by the wrapped repository
+    @Override
+    public void addChangeListener(RepositoryListener<ID, Entity> listener) { delegateRepository.addChangeListener(listener); }
+
+    @Override
+    public void removeChangeListener(RepositoryListener<ID, Entity> listener) { delegateRepository.removeChangeListener(listener); }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(capacity, entries.size(), hits, misses, evictions, expirations);
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    public static final class Statistics {
+        private final int capacity;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+
+        private Statistics(int capacity, int size, long hits, long misses, long evictions, long expirations) {
+            this.capacity = capacity;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+
+        public int getCapacity() { return capacity; }
+        public int getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getExpirations() { return expirations; }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cache{size=%d/%d, hits=%d, misses=%d, evictions=%d, expirations=%d, hitRate=%.1f%%}",
+                    size, capacity, hits, misses, evictions, expirations, getHitRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Reservation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * CachingRepository for reservations. Overlap queries are not cached and go straight to the wrapped repository.
+ */
+public class CachingReservationRepository extends CachingRepository<Long, Reservation> implements ReservationRepository {
+
+    private final ReservationRepository reservationRepository;
+
+    public CachingReservationRepository(ReservationRepository reservationRepository, int capacity, long timeToLiveMillis) {
+        super(reservationRepository, capacity, timeToLiveMillis);
+        this.reservationRepository = reservationRepository;
+    }
+
+    @Override
+    public List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return reservationRepository.findOverlapping(from, to);
+    }
+
+    @Override
+    public List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        return reservationRepository.findByCarOverlapping(carId, from, to);
+    }
+}
@@ -4,6 +4,8 @@ import Class.Project.CarRental.domain.Car;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,29 +15,37 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
         super("cars");
     }
 
+    // For a database other than the one in settings.properties (benchmarks, scratch copies)
+    public CarDbRepository(ConnectionPool connectionPool) {
+        super("cars", connectionPool);
+    }
+
     @Override
     public Car create(Car car) {
-        String sql = "INSERT INTO cars (make, model, rental_price) VALUES (?, ?, ?)";
+        synchronized (writeLock) {
+            String sql = "INSERT INTO cars (make, model, rental_price) VALUES (?, ?, ?)";
 
-        // We use RETURN_GENERATED_KEYS to get the ID back from the database
-        try (Connection connection = openConnection();
-             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            // We use RETURN_GENERATED_KEYS to get the ID back from the database
+            try (Connection connection = openConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-            statement.setString(1, car.getMake());
-            statement.setString(2, car.getModel());
-            statement.setDouble(3, car.getRentalPrice());
+                statement.setString(1, car.getMake());
+                statement.setString(2, car.getModel());
+                statement.setDouble(3, car.getRentalPrice());
 
-            statement.executeUpdate();
+                statement.executeUpdate();
 
-            // Retrieve the ID generated by the database
-            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    car.setId(generatedKeys.getLong(1));
+                // Retrieve the ID generated by the database
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        car.setId(generatedKeys.getLong(1));
+                    }
                 }
+                publishChange(RepositoryChange.Type.CREATED, car.getId(), car);
+                return car;
+            } catch (SQLException e) {
+                throw new RuntimeException("Database error during create car", e);
             }
-            return car;
-        } catch (SQLException e) {
-            throw new RuntimeException("Database error during create car", e);
         }
     }
 
@@ -49,7 +59,7 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
             ResultSet resultSet = statement.executeQuery();
 
             if (resultSet.next()) {
-                return Optional.of(extractCar(resultSet));
+                return Optional.of(mapRow(resultSet));
             }
             return Optional.empty();
         } catch (SQLException e) {
@@ -66,7 +76,7 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
              ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
-                cars.add(extractCar(resultSet));
+                cars.add(mapRow(resultSet));
             }
             return cars;
         } catch (SQLException e) {
@@ -76,38 +86,44 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
 
     @Override
     public Car update(Car car) throws NotFoundException {
-        String sql = "UPDATE cars SET make = ?, model = ?, rental_price = ? WHERE id = ?";
-        try (Connection connection = openConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        synchronized (writeLock) {
+            String sql = "UPDATE cars SET make = ?, model = ?, rental_price = ? WHERE id = ?";
+            try (Connection connection = openConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
 
-            statement.setString(1, car.getMake());
-            statement.setString(2, car.getModel());
-            statement.setDouble(3, car.getRentalPrice());
-            statement.setLong(4, car.getId());
+                statement.setString(1, car.getMake());
+                statement.setString(2, car.getModel());
+                statement.setDouble(3, car.getRentalPrice());
+                statement.setLong(4, car.getId());
 
-            int rowsUpdated = statement.executeUpdate();
-            if (rowsUpdated == 0) {
-                throw new NotFoundException("Car with id " + car.getId() + " not found in DB.");
+                int rowsUpdated = statement.executeUpdate();
+                if (rowsUpdated == 0) {
+                    throw new NotFoundException("Car with id " + car.getId() + " not found in DB.");
+                }
+                publishChange(RepositoryChange.Type.UPDATED, car.getId(), car);
+                return car;
+            } catch (SQLException e) {
+                throw new RuntimeException("Database error during update car", e);
             }
-            return car;
-        } catch (SQLException e) {
-            throw new RuntimeException("Database error during update car", e);
         }
     }
 
     @Override
     public void deleteById(Long id) throws NotFoundException {
-        String sql = "DELETE FROM cars WHERE id = ?";
-        try (Connection connection = openConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        synchronized (writeLock) {
+            String sql = "DELETE FROM cars WHERE id = ?";
+            try (Connection connection = openConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
 
-            statement.setLong(1, id);
-            int rowsDeleted = statement.executeUpdate();
-            if (rowsDeleted == 0) {
-                throw new NotFoundException("Car with id " + id + " not found in DB.");
+                statement.setLong(1, id);
+                int rowsDeleted = statement.executeUpdate();
+                if (rowsDeleted == 0) {
+                    throw new NotFoundException("Car with id " + id + " not found in DB.");
+                }
+                publishChange(RepositoryChange.Type.DELETED, id, null);
+            } catch (SQLException e) {
+                throw new RuntimeException("Database error during delete car", e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Database error during delete car", e);
         }
     }
 
@@ -125,8 +141,68 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
         }
     }
 
+    // --- Batch operations (one transaction, one JDBC batch) ---
+
+    @Override
+    public List<Car> createAll(Collection<Car> cars) {
+        synchronized (writeLock) {
+            String sql = "INSERT INTO cars (make, model, rental_price) VALUES (?, ?, ?)";
+            List<Long> generatedIds = executeInsertBatch(sql, cars, (statement, car) -> {
+                statement.setString(1, car.getMake());
+                statement.setString(2, car.getModel());
+                statement.setDouble(3, car.getRentalPrice());
+            });
+
+            List<Car> created = new ArrayList<>(cars.size());
+            int index = 0;
+            for (Car car : cars) {
+                car.setId(generatedIds.get(index++));
+                created.add(car);
+                publishChange(RepositoryChange.Type.CREATED, car.getId(), car);
+            }
+            return created;
+        }
+    }
+
+    @Override
+    public List<Car> updateAll(Collection<Car> cars) throws NotFoundException {
+        synchronized (writeLock) {
+            String sql = "UPDATE cars SET make = ?, model = ?, rental_price = ? WHERE id = ?";
+            List<Car> notFound = executeBatch(sql, cars, (statement, car) -> {
+                statement.setString(1, car.getMake());
+                statement.setString(2, car.getModel());
+                statement.setDouble(3, car.getRentalPrice());
+                statement.setLong(4, car.getId());
+            });
+            if (!notFound.isEmpty()) {
+                throw new NotFoundException("Car with id " + notFound.get(0).getId() + " not found in DB.");
+            }
+            for (Car car : cars) {
+                publishChange(RepositoryChange.Type.UPDATED, car.getId(), car);
+            }
+            return new ArrayList<>(cars);
+        }
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) throws NotFoundException {
+        synchronized (writeLock) {
+            String sql = "DELETE FROM cars WHERE id = ?";
+            Collection<Long> distinctIds = new LinkedHashSet<>(ids);
+            List<Long> notFound = executeBatch(sql, distinctIds,
+                    (statement, id) -> statement.setLong(1, id));
+            if (!notFound.isEmpty()) {
+                throw new NotFoundException("Car with id " + notFound.get(0) + " not found in DB.");
+            }
+            for (Long id : distinctIds) {
+                publishChange(RepositoryChange.Type.DELETED, id, null);
+            }
+        }
+    }
+
     // Helper method to convert SQL row to Java Object
-    private Car extractCar(ResultSet rs) throws SQLException {
+    @Override
+    protected Car mapRow(ResultSet rs) throws SQLException {
         long id = rs.getLong("id");
         String make = rs.getString("make");
         String model = rs.getString("model");
@@ -146,7 +222,7 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
             statement.setString(1, manufacturer);
             ResultSet rs = statement.executeQuery();
             while (rs.next()) {
-                results.add(extractCar(rs));
+                results.add(mapRow(rs));
             }
             return results;
         } catch (SQLException e) {
@@ -164,7 +240,7 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
             statement.setString(1, model);
             ResultSet rs = statement.executeQuery();
             while (rs.next()) {
-                results.add(extractCar(rs));
+                results.add(mapRow(rs));
             }
             return results;
         } catch (SQLException e) {
@@ -182,7 +258,7 @@ public class CarDbRepository extends DatabaseRepository<Long, Car> implements Ca
             statement.setDouble(1, maximumPrice);
             ResultSet rs = statement.executeQuery();
             while (rs.next()) {
-                results.add(extractCar(rs));
+                results.add(mapRow(rs));
             }
             return results;
         } catch (SQLException e) {
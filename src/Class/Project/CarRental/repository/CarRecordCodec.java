@@ -0,0 +1,38 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Binary record layout for Car: id, make, model, rentalPrice.
+public class CarRecordCodec implements RecordCodec<Long, Car> {
+
+    @Override
+    public void writeId(DataOutput output, Long id) throws IOException {
+        output.writeLong(id);
+    }
+
+    @Override
+    public Long readId(DataInput input) throws IOException {
+        return input.readLong();
+    }
+
+    @Override
+    public void write(DataOutput output, Car car) throws IOException {
+        output.writeLong(car.getId());
+        RecordCodec.writeNullableString(output, car.getMake());
+        RecordCodec.writeNullableString(output, car.getModel());
+        output.writeDouble(car.getRentalPrice());
+    }
+
+    @Override
+    public Car read(DataInput input) throws IOException {
+        long id = input.readLong();
+        String make = RecordCodec.readNullableString(input);
+        String model = RecordCodec.readNullableString(input);
+        double rentalPrice = input.readDouble();
+        return new Car(id, make, model, rentalPrice);
+    }
+}
@@ -0,0 +1,161 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.filter.AbstractFilter;
+import Class.Project.CarRental.filter.CarManufacturerFilter;
+import Class.Project.CarRental.filter.CarPriceRangeFilter;
+
+import java.util.*;
+
+/**
+ * Secondary indexes for the car queries of the in-memory, text and binary repositories:
+ * case-insensitive hash indexes on make and model, and a sorted index on rental price.
+ * Lookups cost O(1) for make/model and O(log n + k log k) for the price range instead of a full scan.
+ * Results are ordered by ID, like the scans they replace.
+ */
+public class CarSecondaryIndex implements EntityIndex<Long, Car>, IndexedLookup<Car> {
+
+    private final Map<String, NavigableMap<Long, Car>> byMake = new HashMap<>();
+    private final Map<String, NavigableMap<Long, Car>> byModel = new HashMap<>();
+    private final NavigableMap<Double, NavigableMap<Long, Car>> byPrice = new TreeMap<>();
+    // The keys each car was indexed under, so removal works even if the Car object was changed afterwards
+    private final Map<Long, IndexedKeys> keysById = new HashMap<>();
+
+    private static final class IndexedKeys {
+        private final String make;
+        private final String model;
+        private final double price;
+
+        private IndexedKeys(String make, String model, double price) {
+            this.make = make;
+            this.model = model;
+            this.price = price;
+        }
+    }
+
+    // Same matching rule the queries always used: trimmed, compared with equalsIgnoreCase, null never matches.
+    // equalsIgnoreCase treats two code points as equal when their upper case forms lower-case to the same
+    // code point, so folding every code point that way gives keys that are equal exactly when it would say so.
+    // toLowerCase alone would not: dotless i, the long s or a final sigma would stop matching their plain letters.
+    static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(text.length());
+        text.trim().codePoints().forEach(codePoint ->
+                key.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return key.toString();
+    }
+
+    @Override
+    public void add(Car car) {
+        Long id = car.getId();
+        remove(id);
+        IndexedKeys keys = new IndexedKeys(normalize(car.getMake()), normalize(car.getModel()), car.getRentalPrice());
+        if (keys.make != null) {
+            byMake.computeIfAbsent(keys.make, key -> new TreeMap<>()).put(id, car);
+        }
+        if (keys.model != null) {
+            byModel.computeIfAbsent(keys.model, key -> new TreeMap<>()).put(id, car);
+        }
+        byPrice.computeIfAbsent(keys.price, key -> new TreeMap<>()).put(id, car);
+        keysById.put(id, keys);
+    }
+
+    @Override
+    public void remove(Long id) {
+        IndexedKeys keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        if (keys.make != null) {
+            removeFromBucket(byMake, keys.make, id);
+        }
+        if (keys.model != null) {
+            removeFromBucket(byModel, keys.model, id);
+        }
+        removeFromBucket(byPrice, keys.price, id);
+    }
+
+    private static <K> void removeFromBucket(Map<K, NavigableMap<Long, Car>> index, K key, Long id) {
+        NavigableMap<Long, Car> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(id);
+            // Drop empty buckets so the price map never walks over dead keys
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        byMake.clear();
+        byModel.clear();
+        byPrice.clear();
+        keysById.clear();
+    }
+
+    public List<Car> findByManufacturer(String manufacturer) {
+        return bucketContents(byMake, manufacturer);
+    }
+
+    public List<Car> findByModel(String model) {
+        return bucketContents(byModel, model);
+    }
+
+    private static List<Car> bucketContents(Map<String, NavigableMap<Long, Car>> index, String text) {
+        NavigableMap<Long, Car> bucket = index.get(normalize(text == null ? "" : text));
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+    }
+
+    public List<Car> findByRentalPriceBelow(double maximumPrice) {
+        return collect(byPrice.headMap(maximumPrice, true));
+    }
+
+    public List<Car> findByRentalPriceBetween(double minimumPrice, double maximumPrice) {
+        return collect(byPrice.subMap(minimumPrice, true, maximumPrice, true));
+    }
+
+    private static List<Car> collect(NavigableMap<Double, NavigableMap<Long, Car>> priceRange) {
+        List<Car> cars = new ArrayList<>();
+        for (NavigableMap<Long, Car> bucket : priceRange.values()) {
+            cars.addAll(bucket.values());
+        }
+        // The tree walks the range in price order; callers get ID order like every other car query
+        cars.sort(Comparator.comparing(Car::getId));
+        return cars;
+    }
+
+    // Query planning: manufacturer is answered by the make hash, price ranges by the price tree
+
+    @Override
+    public long estimateMatches(AbstractFilter<Car> filter) {
+        if (filter instanceof CarManufacturerFilter) {
+            NavigableMap<Long, Car> bucket = byMake.get(normalize(((CarManufacturerFilter) filter).getManufacturerToMatch()));
+            return bucket == null ? 0 : bucket.size();
+        }
+        if (filter instanceof CarPriceRangeFilter) {
+            CarPriceRangeFilter priceFilter = (CarPriceRangeFilter) filter;
+            long count = 0;
+            for (NavigableMap<Long, Car> bucket : byPrice.subMap(priceFilter.getMinimumInclusive(), true,
+                    priceFilter.getMaximumInclusive(), true).values()) {
+                count += bucket.size();
+            }
+            return count;
+        }
+        return NOT_INDEXED;
+    }
+
+    @Override
+    public List<Car> findByIndex(AbstractFilter<Car> filter) {
+        if (filter instanceof CarManufacturerFilter) {
+            return findByManufacturer(((CarManufacturerFilter) filter).getManufacturerToMatch());
+        }
+        if (filter instanceof CarPriceRangeFilter) {
+            CarPriceRangeFilter priceFilter = (CarPriceRangeFilter) filter;
+            return findByRentalPriceBetween(priceFilter.getMinimumInclusive(), priceFilter.getMaximumInclusive());
+        }
+        throw new IllegalArgumentException("No index for filter " + filter.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,97 @@
+package Class.Project.CarRental.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Numbers a repository's changes and hands them to its listeners in batches.
+ * publish() only appends to a pending list under a short lock and, if the list was empty,
+ * schedules one delivery; every change published before that delivery runs goes out in the same batch.
+ * With no listeners registered, publish() just advances the version.
+ * Deliveries for all repositories run on one daemon thread, so listeners never run under a writer's locks.
+ */
+public class ChangeDispatcher<ID, Entity> {
+
+    private static final ExecutorService DELIVERY = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "repository-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<RepositoryListener<ID, Entity>> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private long version;
+    private List<RepositoryChange<ID, Entity>> pending = new ArrayList<>();
+
+    public void addListener(RepositoryListener<ID, Entity> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RepositoryListener<ID, Entity> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Records a committed change. Callers publish while still holding whatever lock ordered the write,
+     * so versions follow the order the writes took effect.
+     */
+    public void publish(RepositoryChange.Type type, ID id, Entity entity) {
+        boolean scheduleDelivery;
+        synchronized (this) {
+            long changeVersion = ++version;
+            if (listeners.isEmpty()) {
+                return;
+            }
+            scheduleDelivery = pending.isEmpty();
+            pending.add(new RepositoryChange<>(type, id, entity, changeVersion));
+        }
+        if (scheduleDelivery) {
+            DELIVERY.execute(this::deliver);
+        }
+    }
+
+    /**
+     * @return the version of the latest published change (0 if there was none)
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    private void deliver() {
+        List<RepositoryChange<ID, Entity>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<RepositoryChange<ID, Entity>> changes = Collections.unmodifiableList(batch);
+        for (RepositoryListener<ID, Entity> listener : listeners) {
+            try {
+                listener.onChanges(changes);
+            } catch (RuntimeException e) {
+                // One failing listener must not stop the others from hearing about the change
+                BackgroundFailures.report("Repository listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Blocks until every change published before this call has been delivered.
+     */
+    public static void awaitDelivery() throws InterruptedException {
+        try {
+            // Delivery is a single FIFO thread, so this runs after every delivery scheduled so far
+            DELIVERY.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
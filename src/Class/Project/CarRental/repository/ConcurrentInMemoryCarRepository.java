@@ -0,0 +1,40 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Car repository on ConcurrentInMemoryRepository, for many threads reading while others write.
+ * The car queries scan without locking, in ID order, instead of keeping a secondary index.
+ */
+public class ConcurrentInMemoryCarRepository extends ConcurrentInMemoryRepository<Long, Car> implements CarRepository {
+
+    public ConcurrentInMemoryCarRepository(Supplier<Long> idSupplier) {
+        super(idSupplier);
+    }
+
+    @Override
+    public List<Car> findByManufacturer(String manufacturer) {
+        String normalized = manufacturer == null ? "" : manufacturer.trim();
+        return findAll(car -> car.getMake() != null && car.getMake().trim().equalsIgnoreCase(normalized));
+    }
+
+    @Override
+    public List<Car> findByModel(String model) {
+        String normalized = model == null ? "" : model.trim();
+        return findAll(car -> car.getModel() != null && car.getModel().trim().equalsIgnoreCase(normalized));
+    }
+
+    @Override
+    public List<Car> findByRentalPriceBelow(double maximumPrice) {
+        return findAll(car -> car.getRentalPrice() <= maximumPrice);
+    }
+
+    private List<Car> findAll(Predicate<Car> condition) {
+        return stream().filter(condition).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,204 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Identifiable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+   In-memory repository for concurrent use, backed by a ConcurrentHashMap.
+   Reads (findById, existsById, findAll) take no lock at all, and single-entity writes only
+   contend on the map bin of their own ID. Each single create/update/delete is atomic;
+   batch operations take an exclusive lock so their all-or-nothing check stays valid.
+   A sorted set of the IDs, kept in step inside the same atomic map operations, serves keyset paging,
+   so a page costs O(log n + limit) and stream() holds one page at a time. IDs must be Comparable.
+
+  @param <ID>      the identifier type
+  @param <Entity>  the entity type (must implement Identifiable<ID>)
+ */
+public class ConcurrentInMemoryRepository<ID, Entity extends Identifiable<ID>>
+        implements Repository<ID, Entity> {
+
+    protected final ConcurrentHashMap<ID, Entity> storage = new ConcurrentHashMap<>();
+    // Every stored ID in ascending order; only changed inside storage.compute*() for that ID
+    private final ConcurrentSkipListSet<ID> sortedIds = new ConcurrentSkipListSet<>();
+    private final Supplier<ID> idSupplier;
+    // Shared by single-entity writes, exclusive for batches; readers never touch it
+    private final ReadWriteLock batchLock = new ReentrantReadWriteLock();
+    private final ChangeDispatcher<ID, Entity> changes = new ChangeDispatcher<>();
+
+    /**
+      Construct a repository that uses the given ID supplier for new entities.
+      @param idSupplier thread-safe supplier that returns a fresh unique ID each time create() is called
+     */
+    public ConcurrentInMemoryRepository(Supplier<ID> idSupplier) {
+        this.idSupplier = Objects.requireNonNull(idSupplier, "idSupplier must not be null");
+    }
+
+    @Override
+    public Entity create(Entity entity) {
+        batchLock.readLock().lock();
+        try {
+            return insert(entity);
+        } finally {
+            batchLock.readLock().unlock();
+        }
+    }
+
+    private Entity insert(Entity entity) {
+        ID id = idSupplier.get();
+        entity.setId(id);
+        // Changes are published inside compute(), which orders writes to the same ID
+        storage.compute(id, (key, existing) -> {
+            if (existing != null) {
+                throw new IllegalStateException("ID supplier returned an ID that is already in use: " + id);
+            }
+            sortedIds.add(key);
+            changes.publish(RepositoryChange.Type.CREATED, key, entity);
+            return entity;
+        });
+        return entity;
+    }
+
+    // Removes the entity and its ID together, publishing inside compute() like the other writes
+    private Entity remove(ID id) {
+        AtomicReference<Entity> removed = new AtomicReference<>();
+        storage.computeIfPresent(id, (key, current) -> {
+            sortedIds.remove(key);
+            changes.publish(RepositoryChange.Type.DELETED, key, current);
+            removed.set(current);
+            return null;
+        });
+        return removed.get();
+    }
+
+    @Override
+    public Optional<Entity> findById(ID id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(storage.get(id));
+    }
+
+    @Override
+    public List<Entity> findAll() {
+        return new ArrayList<>(storage.values());
+    }
+
+    // Walks the sorted IDs from afterId; an ID whose entity was deleted meanwhile is skipped
+    @Override
+    public List<Entity> findPage(ID afterId, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<Entity> page = new ArrayList<>(Math.min(limit, 1024));
+        for (ID id : afterId == null ? sortedIds : sortedIds.tailSet(afterId, false)) {
+            Entity entity = storage.get(id);
+            if (entity != null) {
+                page.add(entity);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Entity update(Entity entity) throws NotFoundException {
+        batchLock.readLock().lock();
+        try {
+            ID id = entity.getId();
+            // computeIfPresent() only succeeds while the key is present, so a concurrent delete cannot be undone
+            if (id == null || storage.computeIfPresent(id, (key, current) -> {
+                changes.publish(RepositoryChange.Type.UPDATED, key, entity);
+                return entity;
+            }) == null) {
+                throw new NotFoundException("Entity with id " + id + " not found.");
+            }
+            return entity;
+        } finally {
+            batchLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(ID id) throws NotFoundException {
+        batchLock.readLock().lock();
+        try {
+            if (id == null || remove(id) == null) {
+                throw new NotFoundException("Entity with id " + id + " not found.");
+            }
+        } finally {
+            batchLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return id != null && storage.containsKey(id);
+    }
+
+    @Override
+    public List<Entity> createAll(Collection<Entity> entities) {
+        batchLock.writeLock().lock();
+        try {
+            List<Entity> created = new ArrayList<>(entities.size());
+            for (Entity entity : entities) {
+                created.add(insert(entity));
+            }
+            return created;
+        } finally {
+            batchLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException {
+        batchLock.writeLock().lock();
+        try {
+            for (Entity entity : entities) {
+                ID id = entity.getId();
+                if (id == null || !storage.containsKey(id)) {
+                    throw new NotFoundException("Entity with id " + id + " not found.");
+                }
+            }
+            for (Entity entity : entities) {
+                storage.put(entity.getId(), entity);
+                changes.publish(RepositoryChange.Type.UPDATED, entity.getId(), entity);
+            }
+            return new ArrayList<>(entities);
+        } finally {
+            batchLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAllById(Collection<ID> ids) throws NotFoundException {
+        batchLock.writeLock().lock();
+        try {
+            for (ID id : ids) {
+                if (id == null || !storage.containsKey(id)) {
+                    throw new NotFoundException("Entity with id " + id + " not found.");
+                }
+            }
+            for (ID id : new LinkedHashSet<>(ids)) {
+                remove(id);
+            }
+        } finally {
+            batchLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addChangeListener(RepositoryListener<ID, Entity> listener) {
+        changes.addListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(RepositoryListener<ID, Entity> listener) {
+        changes.removeListener(listener);
+    }
+}
@@ -0,0 +1,43 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Reservation;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Reservation repository on ConcurrentInMemoryRepository, for many threads reading while others write.
+ * The overlap queries scan without locking instead of keeping an interval index.
+ */
+public class ConcurrentInMemoryReservationRepository extends ConcurrentInMemoryRepository<Long, Reservation>
+        implements ReservationRepository {
+
+    public ConcurrentInMemoryReservationRepository(Supplier<Long> idSupplier) {
+        super(idSupplier);
+    }
+
+    @Override
+    public List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return findOverlapping(reservation -> true, from, to);
+    }
+
+    @Override
+    public List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        return findOverlapping(reservation -> Objects.equals(reservation.getCarId(), carId), from, to);
+    }
+
+    // Ordered by start date like the interval index; reservations without both dates never overlap
+    private List<Reservation> findOverlapping(Predicate<Reservation> condition, LocalDate from, LocalDate to) {
+        return stream()
+                .filter(reservation -> reservation.getStartDate() != null && reservation.getEndDate() != null
+                        && !reservation.getStartDate().isAfter(to) && !reservation.getEndDate().isBefore(from))
+                .filter(condition)
+                .sorted(Comparator.comparing(Reservation::getStartDate))
+                .collect(Collectors.toList());
+    }
+}
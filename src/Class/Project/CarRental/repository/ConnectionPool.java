@@ -0,0 +1,365 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.config.Settings;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of long-lived JDBC connections.
+ * Connections handed out by getConnection() are lightweight handles: calling close()
+ * on them returns the physical connection to the pool instead of closing it, so the
+ * existing try-with-resources code in the DB repositories works unchanged.
+ * Each physical connection keeps its own prepared-statement cache (see StatementCache).
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    // Connections idle for less than this are handed out without running the validation query
+    private static final long VALIDATION_INTERVAL_MILLIS = 1_000L;
+
+    private static ConnectionPool sharedInstance;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maximumSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final String validationQuery;
+    private final int statementCacheSize;
+
+    // One permit per connection that may be checked out at the same time
+    private final Semaphore permits;
+    // Most recently released connections first, so the warmest one is reused
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+
+    public ConnectionPool(String url, String user, String password, int maximumSize,
+                          long idleTimeoutMillis, long acquireTimeoutMillis, String validationQuery,
+                          int statementCacheSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1.");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maximumSize = maximumSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.validationQuery = validationQuery == null || validationQuery.isBlank() ? null : validationQuery;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maximumSize, true);
+    }
+
+    /**
+     * Returns the application-wide pool, created on first use from settings.properties.
+     */
+    public static synchronized ConnectionPool getShared() {
+        if (sharedInstance == null) {
+            Settings settings = Settings.getInstance();
+            sharedInstance = new ConnectionPool(
+                    settings.getRepositoryLocation(),
+                    settings.getDatabaseUser(),
+                    settings.getDatabasePassword(),
+                    settings.getPoolSize(),
+                    settings.getPoolIdleTimeoutMillis(),
+                    settings.getPoolAcquireTimeoutMillis(),
+                    settings.getPoolValidationQuery(),
+                    settings.getStatementCacheSize());
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Borrow a connection, waiting at most the configured acquisition timeout for one to become free.
+     *
+     * @throws SQLTimeoutException if no connection became available in time
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maximumSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        } finally {
+            totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+        }
+
+        try {
+            PooledConnection pooled = takeIdleConnection();
+            if (pooled == null) {
+                pooled = new PooledConnection(DriverManager.getConnection(url, user, password));
+                createdCount.incrementAndGet();
+            }
+            activeCount.incrementAndGet();
+            acquiredCount.incrementAndGet();
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeIdleConnection() {
+        while (true) {
+            PooledConnection candidate;
+            synchronized (idleConnections) {
+                candidate = idleConnections.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            long idleMillis = System.currentTimeMillis() - candidate.lastReleasedAt;
+            if (idleMillis > idleTimeoutMillis) {
+                evictedCount.incrementAndGet();
+                candidate.closePhysical();
+                continue;
+            }
+            if (idleMillis > VALIDATION_INTERVAL_MILLIS && !isValid(candidate.physical)) {
+                validationFailureCount.incrementAndGet();
+                candidate.closePhysical();
+                continue;
+            }
+            return candidate;
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            if (connection.isClosed()) return false;
+            if (validationQuery == null) return true;
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(validationQuery);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        activeCount.decrementAndGet();
+        try {
+            pooled.statementCache.releaseAll();
+            Connection physical = pooled.physical;
+            if (closed || physical.isClosed()) {
+                pooled.closePhysical();
+                return;
+            }
+            // Never hand the next borrower a half-finished transaction
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            pooled.lastReleasedAt = System.currentTimeMillis();
+            synchronized (idleConnections) {
+                idleConnections.addFirst(pooled);
+                evictExpiredIdleConnections();
+            }
+        } catch (SQLException e) {
+            pooled.closePhysical();
+        } finally {
+            permits.release();
+        }
+    }
+
+    // The least recently used connections sit at the tail of the deque; caller holds the idle lock.
+    private void evictExpiredIdleConnections() {
+        long now = System.currentTimeMillis();
+        while (!idleConnections.isEmpty() && now - idleConnections.peekLast().lastReleasedAt > idleTimeoutMillis) {
+            evictedCount.incrementAndGet();
+            idleConnections.pollLast().closePhysical();
+        }
+    }
+
+    public Statistics getStatistics() {
+        int idle;
+        synchronized (idleConnections) {
+            idle = idleConnections.size();
+        }
+        return new Statistics(maximumSize, activeCount.get(), idle, createdCount.get(), acquiredCount.get(),
+                timeoutCount.get(), evictedCount.get(), validationFailureCount.get(), totalWaitNanos.get(),
+                statementCounters.hits.get(), statementCounters.misses.get(), statementCounters.evictions.get());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (idleConnections) {
+            while (!idleConnections.isEmpty()) {
+                idleConnections.pollFirst().closePhysical();
+            }
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache = new StatementCache(statementCacheSize, statementCounters);
+        private long lastReleasedAt = System.currentTimeMillis();
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ConnectionHandle(this));
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // The connection is being discarded anyway
+            }
+        }
+    }
+
+    /**
+     * Handle given to callers for a single checkout. Once closed it can no longer reach
+     * the physical connection, even though that connection lives on in the pool.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        private ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            if (StatementCache.isCacheable(method, args)) {
+                return pooled.statementCache.prepare(pooled.physical, (Connection) proxy,
+                        (String) args[0], StatementCache.autoGeneratedKeys(args));
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Point-in-time snapshot of the pool counters.
+     */
+    public static final class Statistics {
+        private final int maximumSize;
+        private final int active;
+        private final int idle;
+        private final long created;
+        private final long acquired;
+        private final long timeouts;
+        private final long evicted;
+        private final long validationFailures;
+        private final long totalWaitNanos;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+        private final long statementCacheEvictions;
+
+        private Statistics(int maximumSize, int active, int idle, long created, long acquired,
+                           long timeouts, long evicted, long validationFailures, long totalWaitNanos,
+                           long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+            this.maximumSize = maximumSize;
+            this.active = active;
+            this.idle = idle;
+            this.created = created;
+            this.acquired = acquired;
+            this.timeouts = timeouts;
+            this.evicted = evicted;
+            this.validationFailures = validationFailures;
+            this.totalWaitNanos = totalWaitNanos;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+            this.statementCacheEvictions = statementCacheEvictions;
+        }
+
+        public int getMaximumSize() { return maximumSize; }
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public long getCreated() { return created; }
+        public long getAcquired() { return acquired; }
+        public long getTimeouts() { return timeouts; }
+        public long getEvicted() { return evicted; }
+        public long getValidationFailures() { return validationFailures; }
+        public long getStatementCacheHits() { return statementCacheHits; }
+        public long getStatementCacheMisses() { return statementCacheMisses; }
+        public long getStatementCacheEvictions() { return statementCacheEvictions; }
+
+        public double getStatementCacheHitRate() {
+            long lookups = statementCacheHits + statementCacheMisses;
+            return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+        }
+
+        public double getAverageWaitMillis() {
+            return acquired == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / acquired;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Pool{size=%d, active=%d, idle=%d, created=%d, acquired=%d, timeouts=%d, "
+                            + "evicted=%d, validationFailures=%d, avgWait=%.3fms, statementCache{hits=%d, misses=%d, "
+                            + "evictions=%d, hitRate=%.1f%%}}",
+                    maximumSize, active, idle, created, acquired, timeouts, evicted, validationFailures,
+                    getAverageWaitMillis(), statementCacheHits, statementCacheMisses, statementCacheEvictions,
+                    getStatementCacheHitRate() * 100);
+        }
+    }
+}
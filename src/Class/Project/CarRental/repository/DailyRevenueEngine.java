@@ -0,0 +1,69 @@
+package Class.Project.CarRental.repository;
+
+import java.time.LocalDate;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Spreads reservation income over the calendar days of a fixed window [from, to].
+ * A reservation is charged its car's daily price on every day from its start up to the day before its end,
+ * and a same-day rental is charged on its start day, so the days charged always add up to its rental days.
+ * Each reservation is recorded in O(1) as two entries of a difference array, and one prefix-sum pass
+ * turns them into per-day totals, so the work is linear in reservations plus window days
+ * no matter how long the rentals are.
+ * Prices are summed as whole cents, so the totals are exact (prices are rounded to the cent, as they are stored).
+ */
+public class DailyRevenueEngine {
+
+    private final LocalDate from;
+    private final long firstDay;
+    // delta[i] is the change in daily revenue, in cents, between day i - 1 and day i of the window;
+    // the extra slot absorbs ends
+    private final long[] delta;
+
+    public DailyRevenueEngine(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Window end " + to + " is before its start " + from);
+        }
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        if (days >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window from " + from + " to " + to + " is too long");
+        }
+        this.from = from;
+        this.firstDay = from.toEpochDay();
+        this.delta = new long[(int) days + 1];
+    }
+
+    /**
+     * Charges dailyPrice on each charged day of a reservation from start to end that falls inside the window.
+     */
+    public void add(LocalDate start, LocalDate end, double dailyPrice) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return;
+        }
+        long startDay = start.toEpochDay();
+        long lastDay = end.equals(start) ? startDay : end.toEpochDay() - 1;
+
+        long first = Math.max(startDay, firstDay) - firstDay;
+        long last = Math.min(lastDay - firstDay, delta.length - 2);
+        if (first > last) {
+            return;
+        }
+        long dailyCents = Math.round(dailyPrice * 100);
+        delta[(int) first] += dailyCents;
+        delta[(int) last + 1] -= dailyCents;
+    }
+
+    /**
+     * @return the revenue of every day in the window, including days with none
+     */
+    public SortedMap<LocalDate, Double> dailyRevenue() {
+        SortedMap<LocalDate, Double> revenue = new TreeMap<>();
+        long runningCents = 0;
+        for (int day = 0; day < delta.length - 1; day++) {
+            runningCents += delta[day];
+            revenue.put(from.plusDays(day), runningCents / 100.0);
+        }
+        return revenue;
+    }
+}
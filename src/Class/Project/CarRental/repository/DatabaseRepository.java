@@ -1,34 +1,220 @@
 package Class.Project.CarRental.repository;
 
-import Class.Project.CarRental.config.Settings;
 import Class.Project.CarRental.domain.Identifiable;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.function.Supplier;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 public abstract class DatabaseRepository<ID, Entity extends Identifiable<ID>>
         implements Repository<ID, Entity> {
 
+    // Older SQLite builds allow at most 999 bound parameters per statement
+    static final int IN_LIST_CHUNK_SIZE = 500;
+
     // We keep the table name so subclasses can tell us which table to use
     protected final String tableName;
+    private final ConnectionPool connectionPool;
+    // Only sees writes made through this repository object, not other processes sharing the database
+    private final ChangeDispatcher<ID, Entity> changes = new ChangeDispatcher<>();
+    // Subclasses hold this from a write's statement until its change is published, so change versions
+    // follow the order the writes committed. Reads never take it.
+    protected final Object writeLock = new Object();
 
     public DatabaseRepository(String tableName) {
+        this(tableName, ConnectionPool.getShared());
+    }
+
+    public DatabaseRepository(String tableName, ConnectionPool connectionPool) {
         this.tableName = tableName;
+        this.connectionPool = connectionPool;
     }
-     //Creates a new connection to the database.
+
+     //Borrows a connection from the pool; closing it hands it back instead of disconnecting.
 
     protected Connection openConnection() {
         try {
-            Settings settings = Settings.getInstance();
-            String url = settings.getRepositoryLocation();
-            String user = settings.getDatabaseUser();
-            String password = settings.getDatabasePassword();
-
-            return DriverManager.getConnection(url, user, password);
+            return connectionPool.getConnection();
         } catch (SQLException e) {
             throw new RuntimeException("Failed to connect to the database.", e);
         }
     }
-}
\ No newline at end of file
+
+    // Subclasses call this after a write has succeeded, still holding writeLock; deletes pass a null entity
+    protected void publishChange(RepositoryChange.Type type, ID id, Entity entity) {
+        changes.publish(type, id, entity);
+    }
+
+    @Override
+    public void addChangeListener(RepositoryListener<ID, Entity> listener) {
+        changes.addListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(RepositoryListener<ID, Entity> listener) {
+        changes.removeListener(listener);
+    }
+
+    // Converts the current row of a "SELECT *" on this table into an entity
+    protected abstract Entity mapRow(ResultSet rs) throws SQLException;
+
+    /**
+     * Runs "SELECT * FROM table WHERE whereClause" with the given values bound to its '?' placeholders in order.
+     * The clause must come from trusted code (e.g. SqlFilterTranslator); user input only ever goes in parameters.
+     */
+    public List<Entity> findAllWhere(String whereClause, List<?> parameters) {
+        String sql = "SELECT * FROM " + tableName + " WHERE " + whereClause;
+        List<Entity> entities = new ArrayList<>();
+        try (Connection connection = openConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int index = 0; index < parameters.size(); index++) {
+                statement.setObject(index + 1, parameters.get(index));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    entities.add(mapRow(rs));
+                }
+            }
+            return entities;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during filtered query of " + tableName, e);
+        }
+    }
+
+    /**
+     * Looks the IDs up with "WHERE id IN (?, ?, ...)", one query per IN_LIST_CHUNK_SIZE distinct IDs,
+     * instead of a query (and a borrowed connection) per ID.
+     */
+    @Override
+    public List<Entity> findAllById(Collection<ID> ids) {
+        List<ID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<ID, Entity> byId = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += IN_LIST_CHUNK_SIZE) {
+            List<ID> chunk = distinctIds.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, distinctIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            for (Entity entity : findAllWhere("id IN (" + placeholders + ")", chunk)) {
+                byId.put(entity.getId(), entity);
+            }
+        }
+
+        List<Entity> found = new ArrayList<>(byId.size());
+        for (ID id : distinctIds) {
+            Entity entity = byId.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Keyset pagination on the primary key: "WHERE id > ? ORDER BY id LIMIT ?" walks the id index,
+     * so every page costs the same no matter how deep into the table it is.
+     */
+    @Override
+    public List<Entity> findPage(ID afterId, int limit) {
+        if (afterId == null) {
+            return findAllWhere("1 = 1 ORDER BY id LIMIT ?", List.of(Math.max(limit, 0)));
+        }
+        return findAllWhere("id > ? ORDER BY id LIMIT ?", List.of(afterId, Math.max(limit, 0)));
+    }
+
+    public ConnectionPool.Statistics getPoolStatistics() {
+        return connectionPool.getStatistics();
+    }
+
+    // Sets the statement parameters for one item of a batch
+    @FunctionalInterface
+    protected interface ParameterBinder<T> {
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+
+    /**
+     * Runs an INSERT once per item as a single JDBC batch inside one transaction
+     * and returns the generated IDs in input order.
+     */
+    protected <T> List<Long> executeInsertBatch(String sql, Collection<T> items, ParameterBinder<T> binder) {
+        List<Long> generatedIds = new ArrayList<>(items.size());
+        if (items.isEmpty()) return generatedIds;
+
+        try (Connection connection = openConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (T item : items) {
+                    binder.bind(statement, item);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                // The transaction holds SQLite's write lock from the first insert on, so the
+                // batch received consecutive row ids ending at last_insert_rowid().
+                long lastId;
+                try (Statement idQuery = connection.createStatement();
+                     ResultSet rs = idQuery.executeQuery("SELECT last_insert_rowid()")) {
+                    rs.next();
+                    lastId = rs.getLong(1);
+                }
+                long firstId = lastId - items.size() + 1;
+                for (int index = 0; index < items.size(); index++) {
+                    generatedIds.add(firstId + index);
+                }
+                connection.commit();
+                return generatedIds;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during batch insert into " + tableName, e);
+        }
+    }
+
+    /**
+     * Runs an UPDATE/DELETE once per item as a single JDBC batch inside one transaction.
+     * The transaction is committed only if every statement matched a row; otherwise it is
+     * rolled back and the items that matched nothing are returned.
+     */
+    protected <T> List<T> executeBatch(String sql, Collection<T> items, ParameterBinder<T> binder) {
+        List<T> unmatchedItems = new ArrayList<>();
+        if (items.isEmpty()) return unmatchedItems;
+
+        try (Connection connection = openConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (T item : items) {
+                    binder.bind(statement, item);
+                    statement.addBatch();
+                }
+                int[] updateCounts = statement.executeBatch();
+
+                int index = 0;
+                for (T item : items) {
+                    if (updateCounts[index++] == 0) {
+                        unmatchedItems.add(item);
+                    }
+                }
+                if (unmatchedItems.isEmpty()) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                return unmatchedItems;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during batch update of " + tableName, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package Class.Project.CarRental.repository;
+
+/**
+ * A secondary index kept in step with an InMemoryRepository's storage.
+ * The repository calls add() after an entity is stored and remove() before it is replaced or deleted,
+ * always while holding its own lock, so implementations need no synchronization of their own.
+ *
+ * @param <ID>     the identifier type
+ * @param <Entity> the entity type
+ */
+public interface EntityIndex<ID, Entity> {
+
+    void add(Entity entity);
+
+    // Implementations must remember what they indexed per ID: the entity object may have been mutated since
+    void remove(ID id);
+
+    void clear();
+}
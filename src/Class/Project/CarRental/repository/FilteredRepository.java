@@ -3,9 +3,9 @@ package Class.Project.CarRental.repository;
 import Class.Project.CarRental.domain.Identifiable;
 import Class.Project.CarRental.filter.AbstractFilter;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
   Wrapper around any Repository that can return filtered results using an AbstractFilter.
@@ -24,11 +24,11 @@ public class FilteredRepository<ID, Entity extends Identifiable<ID>>
 
     /**
      Return all entities that match the given filter.
+     QueryPlanner decides how: SQL pushdown for a DatabaseRepository, an index lookup for an
+     IndexedLookup repository, and a scan only when neither applies.
      */
     public List<Entity> findAllByFilter(AbstractFilter<Entity> filter) {
-        return delegateRepository.findAll().stream()
-                .filter(filter::matches)
-                .collect(Collectors.toList());
+        return QueryPlanner.findAll(delegateRepository, filter);
     }
 
     //CRUD operations
@@ -42,6 +42,15 @@ public class FilteredRepository<ID, Entity extends Identifiable<ID>>
     @Override
     public List<Entity> findAll() { return delegateRepository.findAll(); }
 
+    @Override
+    public List<Entity> findAllById(java.util.Collection<ID> ids) { return delegateRepository.findAllById(ids); }
+
+    @Override
+    public List<Entity> findPage(ID afterId, int limit) { return delegateRepository.findPage(afterId, limit); }
+
+    @Override
+    public java.util.stream.Stream<Entity> stream() { return delegateRepository.stream(); }
+
     @Override
     public Entity update(Entity entity) throws NotFoundException { return delegateRepository.update(entity); }
 
@@ -50,4 +59,22 @@ public class FilteredRepository<ID, Entity extends Identifiable<ID>>
 
     @Override
     public boolean existsById(ID id) { return delegateRepository.existsById(id); }
+
+    @Override
+    public List<Entity> createAll(Collection<Entity> entities) { return delegateRepository.createAll(entities); }
+
+    @Override
+    public List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException {
+        return delegateRepository.updateAll(entities);
+    }
+
+    // Changes are made and published by the wrapped repository
+    @Override
+    public void addChangeListener(RepositoryListener<ID, Entity> listener) { delegateRepository.addChangeListener(listener); }
+
+    @Override
+    public void removeChangeListener(RepositoryListener<ID, Entity> listener) { delegateRepository.removeChangeListener(listener); }
+
+    @Override
+    public void deleteAllById(Collection<ID> ids) throws NotFoundException { delegateRepository.deleteAllById(ids); }
 }
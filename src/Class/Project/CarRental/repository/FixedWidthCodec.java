@@ -0,0 +1,42 @@
+package Class.Project.CarRental.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size binary layout of one entity inside a MappedFileRepository slot.
+ * Reads and writes use absolute ByteBuffer access, straight against the mapped file.
+ *
+ * @param <Entity> the entity type
+ */
+public interface FixedWidthCodec<Entity> {
+
+    // Number of bytes every record occupies
+    int recordSize();
+
+    void write(ByteBuffer buffer, int offset, Entity entity);
+
+    Entity read(ByteBuffer buffer, int offset);
+
+    // Text fields take 2 + maxBytes bytes: a length (-1 for null) followed by UTF-8 data
+    static void putText(ByteBuffer buffer, int offset, String value, int maxBytes, String fieldName) {
+        if (value == null) {
+            buffer.putShort(offset, (short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException(fieldName + " must be at most " + maxBytes + " bytes: " + value);
+        }
+        buffer.putShort(offset, (short) bytes.length);
+        buffer.put(offset + 2, bytes);
+    }
+
+    static String getText(ByteBuffer buffer, int offset) {
+        short length = buffer.getShort(offset);
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -4,38 +4,27 @@ import Class.Project.CarRental.domain.Car;
 
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * In-memory Car repository that reuses the generic InMemoryRepository
  * and adds car-specific query implementations.
  */
-public class InMemoryCarRepository extends InMemoryRepository<Long, Car> implements CarRepository {
+public class InMemoryCarRepository extends InMemoryRepository<Long, Car> implements IndexedCarRepository {
 
-    public InMemoryCarRepository(Supplier<Long> idSupplier) {
-        super(idSupplier);
-    }
+    private final CarSecondaryIndex carIndex;
 
-    @Override
-    public List<Car> findByManufacturer(String manufacturer) {
-        String normalized = manufacturer == null ? "" : manufacturer.trim();
-        return findAll().stream()
-                .filter(car -> car.getMake() != null && car.getMake().trim().equalsIgnoreCase(normalized))
-                .collect(Collectors.toList());
+    public InMemoryCarRepository(Supplier<Long> idSupplier) {
+        this(idSupplier, new CarSecondaryIndex());
     }
 
-    @Override
-    public List<Car> findByModel(String model) {
-        String normalized = model == null ? "" : model.trim();
-        return findAll().stream()
-                .filter(car -> car.getModel() != null && car.getModel().trim().equalsIgnoreCase(normalized))
-                .collect(Collectors.toList());
+    private InMemoryCarRepository(Supplier<Long> idSupplier, CarSecondaryIndex carIndex) {
+        super(idSupplier, List.of(carIndex));
+        this.carIndex = carIndex;
     }
 
+    // The car queries are answered from this index by IndexedCarRepository
     @Override
-    public List<Car> findByRentalPriceBelow(double maximumPrice) {
-        return findAll().stream()
-                .filter(car -> car.getRentalPrice() <= maximumPrice)
-                .collect(Collectors.toList());
+    public CarSecondaryIndex carIndex() {
+        return carIndex;
     }
 }
@@ -4,9 +4,13 @@ import Class.Project.CarRental.domain.Identifiable;
 
 import java.util.*;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
    In-memory repository implementation that stores entities in a Map.
+   findAll() returns a cached, read-only snapshot that is only rebuilt after a mutation,
+   so repeated listings share one list instead of copying the map on every call.
+   The snapshot is sorted by ID, which also makes findPage() a binary search. IDs must be Comparable.
 
   @param <ID>      the identifier type
   @param <Entity>  the entity type (must implement Identifiable<ID>)
@@ -17,19 +21,105 @@ public class InMemoryRepository<ID, Entity extends Identifiable<ID>>
     protected final Map<ID, Entity> storage = new HashMap<>();
     private final Supplier<ID> idSupplier;
 
+    // Copy-on-write view of storage.values(); null once a mutation has made it stale
+    private volatile List<Entity> snapshot;
+    // Incremented on every mutation, guarded by this
+    private volatile long version;
+    // Secondary indexes kept in step with storage, guarded by this
+    private final List<EntityIndex<ID, Entity>> indexes = new ArrayList<>();
+    private final ChangeDispatcher<ID, Entity> changes = new ChangeDispatcher<>();
+
     /**
       Construct a repository that uses the given ID supplier for new entities.
       @param idSupplier supplier that returns a fresh unique ID each time create() is called
      */
     public InMemoryRepository(Supplier<ID> idSupplier) {
+        this(idSupplier, List.of(), List.of());
+    }
+
+    /**
+      Construct a repository that keeps the given secondary indexes in step with storage.
+      Subclasses hand their indexes over here instead of registering them from their own constructor,
+      so no inherited method runs on a half-built subclass.
+     */
+    protected InMemoryRepository(Supplier<ID> idSupplier, List<? extends EntityIndex<ID, Entity>> indexes) {
+        this(idSupplier, List.of(), indexes);
+    }
+
+    /**
+      Construct a repository that starts out holding entities already read from a backing store.
+      Subclasses read their store before calling this, so loading never goes through an inherited method either.
+     */
+    protected InMemoryRepository(Supplier<ID> idSupplier, Collection<Entity> loadedEntities,
+                                 List<? extends EntityIndex<ID, Entity>> indexes) {
         this.idSupplier = Objects.requireNonNull(idSupplier, "idSupplier must not be null");
+        this.indexes.addAll(indexes);
+        for (Entity entity : loadedEntities) {
+            storage.put(entity.getId(), entity);
+            for (EntityIndex<ID, Entity> index : indexes) {
+                index.add(entity);
+            }
+        }
+    }
+
+    /**
+      Stores an entity under its ID, invalidates the findAll() snapshot and publishes the change.
+      Subclasses that load entities from their backing store must go through here rather than storage.
+     */
+    protected final void putEntity(Entity entity) {
+        Entity previous = storage.put(entity.getId(), entity);
+        for (EntityIndex<ID, Entity> index : indexes) {
+            if (previous != null) {
+                index.remove(entity.getId());
+            }
+            index.add(entity);
+        }
+        markChanged();
+        changes.publish(previous == null ? RepositoryChange.Type.CREATED : RepositoryChange.Type.UPDATED,
+                entity.getId(), entity);
+    }
+
+    /**
+      Removes the entity with the given ID and invalidates the findAll() snapshot.
+     */
+    protected final void removeEntity(ID id) {
+        Entity removed = storage.remove(id);
+        if (removed != null) {
+            for (EntityIndex<ID, Entity> index : indexes) {
+                index.remove(id);
+            }
+            changes.publish(RepositoryChange.Type.DELETED, id, removed);
+        }
+        markChanged();
+    }
+
+    private void markChanged() {
+        snapshot = null;
+        version++;
+    }
+
+    @Override
+    public void addChangeListener(RepositoryListener<ID, Entity> listener) {
+        changes.addListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(RepositoryListener<ID, Entity> listener) {
+        changes.removeListener(listener);
+    }
+
+    /**
+      @return a counter that changes whenever the repository contents change
+     */
+    public long getVersion() {
+        return version;
     }
 
     @Override
     public synchronized Entity create(Entity entity) {
         ID id = idSupplier.get();
         entity.setId(id);
-        storage.put(id, entity);
+        putEntity(entity);
         return entity;
     }
 
@@ -38,9 +128,67 @@ public class InMemoryRepository<ID, Entity extends Identifiable<ID>>
         return Optional.ofNullable(storage.get(id));
     }
 
+    // One lock acquisition for the whole batch of map lookups
     @Override
-    public synchronized List<Entity> findAll() {
-        return new ArrayList<>(storage.values());
+    public synchronized List<Entity> findAllById(Collection<ID> ids) {
+        List<Entity> found = new ArrayList<>();
+        for (ID id : new LinkedHashSet<>(ids)) {
+            Entity entity = storage.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    /**
+      @return a read-only snapshot of all entities; the same list is returned until the next mutation
+     */
+    @Override
+    public List<Entity> findAll() {
+        List<Entity> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                List<Entity> sorted = new ArrayList<>(storage.values());
+                sorted.sort((left, right) -> compareIds(left.getId(), right.getId()));
+                snapshot = Collections.unmodifiableList(sorted);
+            }
+            return snapshot;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ID> int compareIds(ID left, ID right) {
+        return ((Comparable<ID>) left).compareTo(right);
+    }
+
+    @Override
+    public List<Entity> findPage(ID afterId, int limit) {
+        List<Entity> all = findAll();
+        int from = 0;
+        if (afterId != null) {
+            // First position whose ID is greater than afterId
+            int high = all.size();
+            while (from < high) {
+                int middle = (from + high) >>> 1;
+                if (compareIds(all.get(middle).getId(), afterId) <= 0) {
+                    from = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+        }
+        int to = (int) Math.min(all.size(), (long) from + Math.max(limit, 0));
+        return all.subList(from, to);
+    }
+
+    // The snapshot is already immutable and in ID order, so it can be streamed directly
+    @Override
+    public Stream<Entity> stream() {
+        return findAll().stream();
     }
 
     @Override
@@ -49,7 +197,7 @@ public class InMemoryRepository<ID, Entity extends Identifiable<ID>>
         if (id == null || !storage.containsKey(id)) {
             throw new NotFoundException("Entity with id " + id + " not found.");
         }
-        storage.put(id, entity);
+        putEntity(entity);
         return entity;
     }
 
@@ -58,11 +206,53 @@ public class InMemoryRepository<ID, Entity extends Identifiable<ID>>
         if (!storage.containsKey(id)) {
             throw new NotFoundException("Entity with id " + id + " not found.");
         }
-        storage.remove(id);
+        removeEntity(id);
     }
 
     @Override
     public synchronized boolean existsById(ID id) {
         return storage.containsKey(id);
     }
+
+    @Override
+    public synchronized List<Entity> createAll(Collection<Entity> entities) {
+        List<Entity> created = new ArrayList<>(entities.size());
+        // Work on the map directly: subclasses override create() to persist each call
+        for (Entity entity : entities) {
+            ID id = idSupplier.get();
+            entity.setId(id);
+            putEntity(entity);
+            created.add(entity);
+        }
+        return created;
+    }
+
+    @Override
+    public synchronized List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException {
+        // Check every ID first so a missing one leaves the repository untouched
+        for (Entity entity : entities) {
+            ID id = entity.getId();
+            if (id == null || !storage.containsKey(id)) {
+                throw new NotFoundException("Entity with id " + id + " not found.");
+            }
+        }
+        List<Entity> updated = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            putEntity(entity);
+            updated.add(entity);
+        }
+        return updated;
+    }
+
+    @Override
+    public synchronized void deleteAllById(Collection<ID> ids) throws NotFoundException {
+        for (ID id : ids) {
+            if (!storage.containsKey(id)) {
+                throw new NotFoundException("Entity with id " + id + " not found.");
+            }
+        }
+        for (ID id : ids) {
+            removeEntity(id);
+        }
+    }
 }
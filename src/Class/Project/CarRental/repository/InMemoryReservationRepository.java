@@ -1,18 +1,46 @@
 package Class.Project.CarRental.repository;
 
 import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.filter.AbstractFilter;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
  * In-memory reservation repository. Reuses the generic InMemoryRepository.
  */
 public class InMemoryReservationRepository extends InMemoryRepository<Long, Reservation>
-        implements ReservationRepository {
+        implements ReservationRepository, IndexedLookup<Reservation> {
+
+    private final ReservationIntervalIndex intervalIndex;
 
     public InMemoryReservationRepository(Supplier<Long> idSupplier) {
-        super(idSupplier);
+        this(idSupplier, new ReservationIntervalIndex());
+    }
+
+    private InMemoryReservationRepository(Supplier<Long> idSupplier, ReservationIntervalIndex intervalIndex) {
+        super(idSupplier, List.of(intervalIndex));
+        this.intervalIndex = intervalIndex;
+    }
+
+    @Override
+    public synchronized List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return intervalIndex.findOverlapping(from, to);
     }
 
-    // You may add Reservation-specific methods here in future (e.g., findByCarId)
+    @Override
+    public synchronized List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        return intervalIndex.findByCarOverlapping(carId, from, to);
+    }
+
+    @Override
+    public synchronized long estimateMatches(AbstractFilter<Reservation> filter) {
+        return intervalIndex.estimateMatches(filter);
+    }
+
+    @Override
+    public synchronized List<Reservation> findByIndex(AbstractFilter<Reservation> filter) {
+        return intervalIndex.findByIndex(filter);
+    }
 }
@@ -0,0 +1,54 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.filter.AbstractFilter;
+
+import java.util.List;
+
+/**
+ * The car queries of a repository that keeps a CarSecondaryIndex in step with its records.
+ * Each query holds the repository's monitor, which its synchronized writes also hold while
+ * they update the index.
+ */
+interface IndexedCarRepository extends CarRepository, IndexedLookup<Car> {
+
+    /**
+     * The index registered with the repository; only read under the repository's monitor.
+     */
+    CarSecondaryIndex carIndex();
+
+    @Override
+    default List<Car> findByManufacturer(String manufacturer) {
+        synchronized (this) {
+            return carIndex().findByManufacturer(manufacturer);
+        }
+    }
+
+    @Override
+    default List<Car> findByModel(String model) {
+        synchronized (this) {
+            return carIndex().findByModel(model);
+        }
+    }
+
+    @Override
+    default List<Car> findByRentalPriceBelow(double maximumPrice) {
+        synchronized (this) {
+            return carIndex().findByRentalPriceBelow(maximumPrice);
+        }
+    }
+
+    @Override
+    default long estimateMatches(AbstractFilter<Car> filter) {
+        synchronized (this) {
+            return carIndex().estimateMatches(filter);
+        }
+    }
+
+    @Override
+    default List<Car> findByIndex(AbstractFilter<Car> filter) {
+        synchronized (this) {
+            return carIndex().findByIndex(filter);
+        }
+    }
+}
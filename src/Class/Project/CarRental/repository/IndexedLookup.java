@@ -0,0 +1,28 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.filter.AbstractFilter;
+
+import java.util.List;
+
+/**
+ * Implemented by repositories (and their indexes) that can answer some filters without a full scan.
+ * QueryPlanner asks each clause of a filter for an estimate and looks up the cheapest one.
+ *
+ * @param <Entity> the entity type
+ */
+public interface IndexedLookup<Entity> {
+
+    // Returned by estimateMatches() for a filter no index can answer
+    long NOT_INDEXED = -1;
+
+    /**
+     * @return how many entities the index would return for this filter, or NOT_INDEXED
+     */
+    long estimateMatches(AbstractFilter<Entity> filter);
+
+    /**
+     * Candidates for a filter whose estimate was not NOT_INDEXED. The list may contain entities the
+     * filter rejects (the planner re-checks them) but never misses one it accepts.
+     */
+    List<Entity> findByIndex(AbstractFilter<Entity> filter);
+}
@@ -0,0 +1,241 @@
+package Class.Project.CarRental.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AVL-balanced interval tree over closed long intervals [low, high].
+ * Each node also stores the largest high in its subtree, so an overlap query skips every
+ * subtree that ends before the query starts: O(log n + k) for k matches.
+ * Nodes are ordered by (low, key); the key (usually the entity ID) tells equal intervals apart.
+ * Not thread-safe; callers guard it with their own lock.
+ *
+ * @param <V> the value stored with each interval
+ */
+public class IntervalTree<V> {
+
+    private static final class Node<V> {
+        private final long low;
+        private final long high;
+        private final long key;
+        private final V value;
+        private long maxHigh;
+        private int height = 1;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(long low, long high, long key, V value) {
+            this.low = low;
+            this.high = high;
+            this.key = key;
+            this.value = value;
+            this.maxHigh = high;
+        }
+    }
+
+    private Node<V> root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Adds an interval. The (low, key) pair must not already be present.
+     */
+    public void insert(long low, long high, long key, V value) {
+        if (high < low) {
+            throw new IllegalArgumentException("Interval end " + high + " is before its start " + low);
+        }
+        root = insert(root, new Node<>(low, high, key, value));
+        size++;
+    }
+
+    /**
+     * Removes the interval added with the given low and key.
+     * @return true if it was present
+     */
+    public boolean remove(long low, long key) {
+        int sizeBefore = size;
+        root = remove(root, low, key);
+        return size < sizeBefore;
+    }
+
+    /**
+     * @return the values of all intervals overlapping [from, to], ordered by interval start
+     */
+    public List<V> findOverlapping(long from, long to) {
+        List<V> result = new ArrayList<>();
+        collectOverlapping(root, from, to, result);
+        return result;
+    }
+
+    /**
+     * @return how many intervals overlap [from, to], without building the result list
+     */
+    public int countOverlapping(long from, long to) {
+        return countOverlapping(root, from, to);
+    }
+
+    /**
+     * @return true if any interval overlaps [from, to], other than the one stored under ignoredKey
+     */
+    public boolean anyOverlapping(long from, long to, long ignoredKey) {
+        return anyOverlapping(root, from, to, ignoredKey);
+    }
+
+    private void collectOverlapping(Node<V> node, long from, long to, List<V> result) {
+        if (node == null || node.maxHigh < from) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, result);
+        // Everything to the right starts even later, so stop once starts pass the query end
+        if (node.low > to) {
+            return;
+        }
+        if (node.high >= from) {
+            result.add(node.value);
+        }
+        collectOverlapping(node.right, from, to, result);
+    }
+
+    private int countOverlapping(Node<V> node, long from, long to) {
+        if (node == null || node.maxHigh < from) {
+            return 0;
+        }
+        int count = countOverlapping(node.left, from, to);
+        if (node.low > to) {
+            return count;
+        }
+        if (node.high >= from) {
+            count++;
+        }
+        return count + countOverlapping(node.right, from, to);
+    }
+
+    private boolean anyOverlapping(Node<V> node, long from, long to, long ignoredKey) {
+        if (node == null || node.maxHigh < from) {
+            return false;
+        }
+        if (node.low <= to && node.high >= from && node.key != ignoredKey) {
+            return true;
+        }
+        return anyOverlapping(node.left, from, to, ignoredKey)
+                || (node.low <= to && anyOverlapping(node.right, from, to, ignoredKey));
+    }
+
+    private static int compare(long low, long key, Node<?> node) {
+        int byLow = Long.compare(low, node.low);
+        return byLow != 0 ? byLow : Long.compare(key, node.key);
+    }
+
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        int comparison = compare(added.low, added.key, node);
+        if (comparison == 0) {
+            throw new IllegalStateException("Interval starting at " + added.low + " with key " + added.key + " already present");
+        }
+        if (comparison < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> remove(Node<V> node, long low, long key) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(low, key, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, low, key);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, low, key);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace with the in-order successor, detached from the right subtree
+            Node<V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMinimum(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> removeMinimum(Node<V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMinimum(node.left);
+        return rebalance(node);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <V> void update(Node<V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxHigh = node.high;
+        if (node.left != null) maxHigh = Math.max(maxHigh, node.left.maxHigh);
+        if (node.right != null) maxHigh = Math.max(maxHigh, node.right.maxHigh);
+        node.maxHigh = maxHigh;
+    }
+
+    private Node<V> rebalance(Node<V> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
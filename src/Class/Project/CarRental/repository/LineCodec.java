@@ -0,0 +1,15 @@
+package Class.Project.CarRental.repository;
+
+/**
+ * One entity as one CSV line, used by TextFileRepository for both the snapshot and the journal.
+ *
+ * @param <ID>      identifier type
+ * @param <Entity>  entity type
+ */
+public interface LineCodec<ID, Entity> {
+    String format(Entity entity);
+
+    Entity parse(String line);
+
+    ID parseId(String idText);
+}
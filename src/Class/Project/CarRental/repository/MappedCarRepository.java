@@ -0,0 +1,71 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Car repository stored as fixed-width records in a memory-mapped file.
+ * Make and model are limited to 32 bytes of UTF-8 each.
+ */
+public class MappedCarRepository extends MappedFileRepository<Car> implements CarRepository {
+
+    public MappedCarRepository(Supplier<Long> idSupplier, String fileName) {
+        super(idSupplier, fileName, new CarLayout());
+    }
+
+    @Override
+    public List<Car> findByManufacturer(String manufacturer) {
+        String normalized = manufacturer == null ? "" : manufacturer.trim();
+        return findAll().stream()
+                .filter(car -> car.getMake() != null && car.getMake().trim().equalsIgnoreCase(normalized))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Car> findByModel(String model) {
+        String normalized = model == null ? "" : model.trim();
+        return findAll().stream()
+                .filter(car -> car.getModel() != null && car.getModel().trim().equalsIgnoreCase(normalized))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Car> findByRentalPriceBelow(double maximumPrice) {
+        return findAll().stream()
+                .filter(car -> car.getRentalPrice() <= maximumPrice)
+                .collect(Collectors.toList());
+    }
+
+    // Layout: id (8) | make (2 + 32) | model (2 + 32) | rentalPrice (8)
+    private static final class CarLayout implements FixedWidthCodec<Car> {
+        private static final int TEXT_BYTES = 32;
+        private static final int MAKE = 8;
+        private static final int MODEL = MAKE + 2 + TEXT_BYTES;
+        private static final int PRICE = MODEL + 2 + TEXT_BYTES;
+
+        @Override
+        public int recordSize() {
+            return PRICE + 8;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Car car) {
+            buffer.putLong(offset, car.getId());
+            FixedWidthCodec.putText(buffer, offset + MAKE, car.getMake(), TEXT_BYTES, "Make");
+            FixedWidthCodec.putText(buffer, offset + MODEL, car.getModel(), TEXT_BYTES, "Model");
+            buffer.putDouble(offset + PRICE, car.getRentalPrice());
+        }
+
+        @Override
+        public Car read(ByteBuffer buffer, int offset) {
+            return new Car(buffer.getLong(offset),
+                    FixedWidthCodec.getText(buffer, offset + MAKE),
+                    FixedWidthCodec.getText(buffer, offset + MODEL),
+                    buffer.getDouble(offset + PRICE));
+        }
+    }
+}
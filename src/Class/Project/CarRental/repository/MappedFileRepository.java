@@ -0,0 +1,363 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Identifiable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Repository backed by a memory-mapped file of fixed-size slots, one per ID.
+ * The slot for ID n sits at HEADER_SIZE + (n - 1) * slotSize, so findById/existsById/update are
+ * a single offset computation and read or write the mapped pages in place. Entities are never
+ * loaded onto the heap as a whole; only the records a query touches are decoded.
+ *
+ * File layout: header (magic, version, recordSize), then slots of [status byte][record].
+ * IDs must be positive; the file grows (doubling) as higher IDs are created.
+ *
+ * @param <Entity> the entity type (IDs are Long)
+ */
+public class MappedFileRepository<Entity extends Identifiable<Long>>
+        implements Repository<Long, Entity>, Closeable {
+
+    private static final int MAGIC = 0x43524D46; // "CRMF"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final byte EMPTY = 0;
+    private static final byte LIVE = 1;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final String fileName;
+    private final Supplier<Long> idSupplier;
+    private final FixedWidthCodec<Entity> codec;
+    private final int slotSize;
+    private final FileChannel channel;
+    // Records are encoded here first so a rejected field never leaves a half-written slot
+    private final ByteBuffer scratch;
+    private final ChangeDispatcher<Long, Entity> changes = new ChangeDispatcher<>();
+    // Secondary indexes kept in step with the slots, guarded by this
+    private final List<EntityIndex<Long, Entity>> indexes = new ArrayList<>();
+
+    // Guarded by this
+    private MappedByteBuffer buffer;
+    private long slotCapacity;
+    private long highestSlot = -1;
+    private int liveCount;
+
+    public MappedFileRepository(Supplier<Long> idSupplier, String fileName, FixedWidthCodec<Entity> codec) {
+        this(idSupplier, fileName, codec, List.of());
+    }
+
+    /**
+     * Opens the file and fills the given secondary indexes from the records already in it.
+     * Indexes live on the heap, so they should hold only what their queries need (IDs and keys), not entities.
+     */
+    protected MappedFileRepository(Supplier<Long> idSupplier, String fileName, FixedWidthCodec<Entity> codec,
+                                   List<? extends EntityIndex<Long, Entity>> indexes) {
+        this.idSupplier = Objects.requireNonNull(idSupplier, "idSupplier must not be null");
+        this.fileName = fileName;
+        this.codec = codec;
+        this.slotSize = 1 + codec.recordSize();
+        this.scratch = ByteBuffer.allocate(codec.recordSize());
+        try {
+            Path path = Paths.get(fileName);
+            boolean existing = Files.exists(path) && Files.size(path) >= HEADER_SIZE;
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (existing) {
+                openExisting();
+            } else {
+                remap(INITIAL_SLOTS);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, codec.recordSize());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open mapped file: " + fileName, e);
+        }
+        for (long slot = 0; slot <= highestSlot; slot++) {
+            if (isLive(slot)) {
+                Entity entity = readSlot(slot);
+                indexes.forEach(index -> index.add(entity));
+            }
+        }
+        this.indexes.addAll(indexes);
+    }
+
+    private void openExisting() throws IOException {
+        long slots = (channel.size() - HEADER_SIZE) / slotSize;
+        remap(Math.max(slots, INITIAL_SLOTS));
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(8) != codec.recordSize()) {
+            throw new IOException("File " + fileName + " was not written with this record layout.");
+        }
+        // Only the status bytes are touched here, the records themselves stay on disk
+        for (long slot = 0; slot < slotCapacity; slot++) {
+            if (buffer.get(slotOffset(slot)) == LIVE) {
+                liveCount++;
+                highestSlot = slot;
+            }
+        }
+    }
+
+    private void remap(long slots) throws IOException {
+        long size = HEADER_SIZE + slots * slotSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Mapped file " + fileName + " cannot grow beyond 2 GB.");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        slotCapacity = slots;
+    }
+
+    private int slotOffset(long slot) {
+        return (int) (HEADER_SIZE + slot * slotSize);
+    }
+
+    // Slot index for an ID, or -1 if the ID can never have a slot
+    private static long slotOf(Long id) {
+        return id == null || id < 1 ? -1 : id - 1;
+    }
+
+    private boolean isLive(long slot) {
+        return slot >= 0 && slot < slotCapacity && buffer.get(slotOffset(slot)) == LIVE;
+    }
+
+    private void ensureCapacity(long slot) {
+        if (slot < slotCapacity) return;
+        long newCapacity = slotCapacity;
+        while (newCapacity <= slot) newCapacity *= 2;
+        try {
+            remap(newCapacity);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to grow mapped file: " + fileName, e);
+        }
+    }
+
+    private void writeSlot(long slot, Entity entity) {
+        codec.write(scratch, 0, entity);
+        writeRecord(slot, entity, scratch, 0);
+    }
+
+    // Encodes every record of a batch up front, so a field the codec rejects fails the call before any slot changes
+    private ByteBuffer encodeAll(List<Entity> entities) {
+        ByteBuffer encoded = ByteBuffer.allocate(entities.size() * codec.recordSize());
+        for (int i = 0; i < entities.size(); i++) {
+            codec.write(encoded, i * codec.recordSize(), entities.get(i));
+        }
+        return encoded;
+    }
+
+    // Copies an already encoded record into the slot and brings the indexes up to date
+    private void writeRecord(long slot, Entity entity, ByteBuffer encoded, int encodedOffset) {
+        int offset = slotOffset(slot);
+        buffer.put(offset + 1, encoded, encodedOffset, codec.recordSize());
+        if (buffer.get(offset) != LIVE) {
+            buffer.put(offset, LIVE);
+            liveCount++;
+        } else {
+            for (EntityIndex<Long, Entity> index : indexes) {
+                index.remove(entity.getId());
+            }
+        }
+        highestSlot = Math.max(highestSlot, slot);
+        for (EntityIndex<Long, Entity> index : indexes) {
+            index.add(entity);
+        }
+    }
+
+    private void clearSlot(long slot, Long id) {
+        buffer.put(slotOffset(slot), EMPTY);
+        liveCount--;
+        for (EntityIndex<Long, Entity> index : indexes) {
+            index.remove(id);
+        }
+    }
+
+    private Entity readSlot(long slot) {
+        return codec.read(buffer, slotOffset(slot) + 1);
+    }
+
+    // Slot for a newly supplied ID, which must be positive and not in use
+    private long freeSlotOf(Long id) {
+        long slot = slotOf(id);
+        if (slot < 0) {
+            throw new IllegalStateException("Mapped repository IDs must be positive, got " + id);
+        }
+        // A supplier that restarted below the stored IDs would otherwise overwrite a live record
+        if (isLive(slot)) {
+            throw new IllegalStateException("ID supplier returned an ID that is already in use: " + id);
+        }
+        return slot;
+    }
+
+    @Override
+    public synchronized Entity create(Entity entity) {
+        Long id = idSupplier.get();
+        long slot = freeSlotOf(id);
+        ensureCapacity(slot);
+        entity.setId(id);
+        writeSlot(slot, entity);
+        changes.publish(RepositoryChange.Type.CREATED, id, entity);
+        return entity;
+    }
+
+    @Override
+    public synchronized Optional<Entity> findById(Long id) {
+        long slot = slotOf(id);
+        return isLive(slot) ? Optional.of(readSlot(slot)) : Optional.empty();
+    }
+
+    @Override
+    public synchronized List<Entity> findAllById(Collection<Long> ids) {
+        List<Entity> found = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            long slot = slotOf(id);
+            if (isLive(slot)) {
+                found.add(readSlot(slot));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized List<Entity> findAll() {
+        List<Entity> entities = new ArrayList<>(liveCount);
+        for (long slot = 0; slot <= highestSlot; slot++) {
+            if (isLive(slot)) entities.add(readSlot(slot));
+        }
+        return entities;
+    }
+
+    // Slots are laid out in ID order, so a page is a forward scan starting right after afterId's slot
+    @Override
+    public synchronized List<Entity> findPage(Long afterId, int limit) {
+        List<Entity> page = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+        long slot = afterId == null || afterId < 1 ? 0 : afterId;
+        for (; slot <= highestSlot && page.size() < limit; slot++) {
+            if (isLive(slot)) page.add(readSlot(slot));
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized Entity update(Entity entity) throws NotFoundException {
+        long slot = slotOf(entity.getId());
+        if (!isLive(slot)) {
+            throw new NotFoundException("Entity with id " + entity.getId() + " not found.");
+        }
+        writeSlot(slot, entity);
+        changes.publish(RepositoryChange.Type.UPDATED, entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) throws NotFoundException {
+        long slot = slotOf(id);
+        if (!isLive(slot)) {
+            throw new NotFoundException("Entity with id " + id + " not found.");
+        }
+        Entity removed = readSlot(slot);
+        clearSlot(slot, id);
+        changes.publish(RepositoryChange.Type.DELETED, id, removed);
+    }
+
+    @Override
+    public synchronized boolean existsById(Long id) {
+        return isLive(slotOf(id));
+    }
+
+    @Override
+    public synchronized List<Entity> createAll(Collection<Entity> entities) {
+        List<Entity> created = new ArrayList<>(entities);
+        List<Long> previousIds = new ArrayList<>(created.size());
+        Set<Long> ids = new HashSet<>();
+        long highest = -1;
+        ByteBuffer encoded;
+        try {
+            for (Entity entity : created) {
+                Long id = idSupplier.get();
+                if (!ids.add(id)) {
+                    throw new IllegalStateException("ID supplier returned an ID that is already in use: " + id);
+                }
+                highest = Math.max(highest, freeSlotOf(id));
+                previousIds.add(entity.getId());
+                entity.setId(id);
+            }
+            encoded = encodeAll(created);
+        } catch (RuntimeException e) {
+            // Nothing was written, so hand the entities back as they came in
+            for (int i = 0; i < previousIds.size(); i++) {
+                created.get(i).setId(previousIds.get(i));
+            }
+            throw e;
+        }
+        ensureCapacity(highest);
+        for (int i = 0; i < created.size(); i++) {
+            Entity entity = created.get(i);
+            writeRecord(slotOf(entity.getId()), entity, encoded, i * codec.recordSize());
+            changes.publish(RepositoryChange.Type.CREATED, entity.getId(), entity);
+        }
+        return created;
+    }
+
+    @Override
+    public synchronized List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException {
+        List<Entity> updated = new ArrayList<>(entities);
+        for (Entity entity : updated) {
+            if (!isLive(slotOf(entity.getId()))) {
+                throw new NotFoundException("Entity with id " + entity.getId() + " not found.");
+            }
+        }
+        ByteBuffer encoded = encodeAll(updated);
+        for (int i = 0; i < updated.size(); i++) {
+            Entity entity = updated.get(i);
+            writeRecord(slotOf(entity.getId()), entity, encoded, i * codec.recordSize());
+            changes.publish(RepositoryChange.Type.UPDATED, entity.getId(), entity);
+        }
+        return updated;
+    }
+
+    @Override
+    public synchronized void deleteAllById(Collection<Long> ids) throws NotFoundException {
+        for (Long id : ids) {
+            if (!isLive(slotOf(id))) {
+                throw new NotFoundException("Entity with id " + id + " not found.");
+            }
+        }
+        for (Long id : new LinkedHashSet<>(ids)) {
+            long slot = slotOf(id);
+            Entity removed = readSlot(slot);
+            clearSlot(slot, id);
+            changes.publish(RepositoryChange.Type.DELETED, id, removed);
+        }
+    }
+
+    @Override
+    public void addChangeListener(RepositoryListener<Long, Entity> listener) {
+        changes.addListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(RepositoryListener<Long, Entity> listener) {
+        changes.removeListener(listener);
+    }
+
+    public synchronized int count() {
+        return liveCount;
+    }
+
+    /**
+     * Writes dirty pages back to disk and releases the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,146 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Reservation;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Reservation repository stored as fixed-width records in a memory-mapped file,
+ * so large reservation histories stay on disk instead of on the heap.
+ * Only a small interval index of (id, startDay, endDay) is kept in memory for the overlap queries.
+ * Customer names are limited to 64 bytes of UTF-8.
+ */
+public class MappedReservationRepository extends MappedFileRepository<Reservation>
+        implements ReservationRepository {
+
+    private final DateIntervals intervals;
+
+    public MappedReservationRepository(Supplier<Long> idSupplier, String fileName) {
+        this(idSupplier, fileName, new DateIntervals());
+    }
+
+    private MappedReservationRepository(Supplier<Long> idSupplier, String fileName, DateIntervals intervals) {
+        super(idSupplier, fileName, new ReservationLayout(), List.of(intervals));
+        this.intervals = intervals;
+    }
+
+    // The interval index answers which IDs overlap; only those records are decoded from the file
+
+    @Override
+    public synchronized List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return findAllById(intervals.all.findOverlapping(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    @Override
+    public synchronized List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        IntervalTree<Long> carTree = intervals.byCar.get(carId);
+        if (carTree == null) {
+            return new ArrayList<>();
+        }
+        return findAllById(carTree.findOverlapping(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    /**
+     * On-heap (id, startDay, endDay) interval index, one tree overall and one per car.
+     * It stores IDs rather than Reservations, so the records themselves stay in the mapped file.
+     * Reservations without both dates can never overlap a range and are not indexed.
+     */
+    private static final class DateIntervals implements EntityIndex<Long, Reservation> {
+        private final IntervalTree<Long> all = new IntervalTree<>();
+        private final Map<Long, IntervalTree<Long>> byCar = new HashMap<>();
+        // id -> {carId or NO_CAR, startDay}, so removal does not need the old record
+        private final Map<Long, long[]> indexed = new HashMap<>();
+
+        private static final long NO_CAR = Long.MIN_VALUE;
+
+        @Override
+        public void add(Reservation reservation) {
+            Long id = reservation.getId();
+            remove(id);
+            LocalDate start = reservation.getStartDate();
+            LocalDate end = reservation.getEndDate();
+            if (start == null || end == null || end.isBefore(start)) {
+                return;
+            }
+            long startDay = start.toEpochDay();
+            long endDay = end.toEpochDay();
+            all.insert(startDay, endDay, id, id);
+            Long carId = reservation.getCarId();
+            if (carId != null) {
+                byCar.computeIfAbsent(carId, key -> new IntervalTree<>()).insert(startDay, endDay, id, id);
+            }
+            indexed.put(id, new long[]{carId == null ? NO_CAR : carId, startDay});
+        }
+
+        @Override
+        public void remove(Long id) {
+            long[] entry = indexed.remove(id);
+            if (entry == null) {
+                return;
+            }
+            all.remove(entry[1], id);
+            if (entry[0] != NO_CAR) {
+                IntervalTree<Long> carTree = byCar.get(entry[0]);
+                carTree.remove(entry[1], id);
+                if (carTree.isEmpty()) {
+                    byCar.remove(entry[0]);
+                }
+            }
+        }
+
+        @Override
+        public void clear() {
+            all.clear();
+            byCar.clear();
+            indexed.clear();
+        }
+    }
+
+    // Layout: id (8) | carId (8) | customerName (2 + 64) | startDate (8) | endDate (8), dates as epoch days
+    private static final class ReservationLayout implements FixedWidthCodec<Reservation> {
+        private static final long NULL_VALUE = Long.MIN_VALUE;
+        private static final int NAME_BYTES = 64;
+        private static final int CAR_ID = 8;
+        private static final int CUSTOMER = CAR_ID + 8;
+        private static final int START = CUSTOMER + 2 + NAME_BYTES;
+        private static final int END = START + 8;
+
+        @Override
+        public int recordSize() {
+            return END + 8;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Reservation reservation) {
+            buffer.putLong(offset, reservation.getId());
+            buffer.putLong(offset + CAR_ID, reservation.getCarId() == null ? NULL_VALUE : reservation.getCarId());
+            FixedWidthCodec.putText(buffer, offset + CUSTOMER, reservation.getCustomerName(), NAME_BYTES, "Customer name");
+            buffer.putLong(offset + START, toEpochDay(reservation.getStartDate()));
+            buffer.putLong(offset + END, toEpochDay(reservation.getEndDate()));
+        }
+
+        @Override
+        public Reservation read(ByteBuffer buffer, int offset) {
+            long carId = buffer.getLong(offset + CAR_ID);
+            return new Reservation(buffer.getLong(offset),
+                    carId == NULL_VALUE ? null : carId,
+                    FixedWidthCodec.getText(buffer, offset + CUSTOMER),
+                    fromEpochDay(buffer.getLong(offset + START)),
+                    fromEpochDay(buffer.getLong(offset + END)));
+        }
+
+        private static long toEpochDay(LocalDate date) {
+            return date == null ? NULL_VALUE : date.toEpochDay();
+        }
+
+        private static LocalDate fromEpochDay(long epochDay) {
+            return epochDay == NULL_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+        }
+    }
+}
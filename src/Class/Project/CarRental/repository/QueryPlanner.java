@@ -0,0 +1,156 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Identifiable;
+import Class.Project.CarRental.filter.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates an AbstractFilter against a repository with as little scanning as possible.
+ * The filter is split into its top-level AND clauses, then:
+ * - a DatabaseRepository gets the translatable clauses as a WHERE clause (see SqlFilterTranslator);
+ * - an IndexedLookup repository answers the clause with the smallest index estimate, and an OR clause
+ *   is answered by the union of its branches when every branch is indexed;
+ * - otherwise everything is scanned.
+ * A CachingRepository is looked through, so the repository underneath decides.
+ * The remaining clauses are then checked on the candidates, cheapest and most selective first.
+ */
+public final class QueryPlanner {
+
+    private QueryPlanner() {
+    }
+
+    public static <ID, Entity extends Identifiable<ID>> List<Entity> findAll(Repository<ID, Entity> repository,
+                                                                             AbstractFilter<Entity> filter) {
+        // Filtered results are not cached, so plan against the repository the cache wraps
+        repository = CachingRepository.unwrap(repository);
+        if (repository instanceof DatabaseRepository) {
+            SqlFilterTranslator.SqlPredicate predicate = SqlFilterTranslator.translate(filter);
+            if (!predicate.isEmpty()) {
+                List<Entity> rows = ((DatabaseRepository<ID, Entity>) repository)
+                        .findAllWhere(predicate.getClause(), predicate.getParameters());
+                return predicate.isExact() ? rows : retain(rows, orderBySelectivity(conjuncts(filter)));
+            }
+        }
+
+        List<AbstractFilter<Entity>> clauses = conjuncts(filter);
+        IndexedLookup<Entity> lookup = asIndexedLookup(repository);
+        if (lookup != null) {
+            AbstractFilter<Entity> cheapest = null;
+            long cheapestEstimate = Long.MAX_VALUE;
+            for (AbstractFilter<Entity> clause : clauses) {
+                long estimate = estimate(lookup, clause);
+                if (estimate != IndexedLookup.NOT_INDEXED && estimate < cheapestEstimate) {
+                    cheapest = clause;
+                    cheapestEstimate = estimate;
+                }
+            }
+            if (cheapest != null) {
+                // Index results may be a superset, so the chosen clause is re-checked along with the rest
+                return retain(lookup(lookup, cheapest), orderBySelectivity(clauses));
+            }
+        }
+        return retain(repository.findAll(), orderBySelectivity(clauses));
+    }
+
+    // Null unless the repository keeps indexes. The cast cannot check the type argument, but every
+    // IndexedLookup repository indexes the entity type it stores.
+    @SuppressWarnings("unchecked")
+    private static <ID, Entity extends Identifiable<ID>> IndexedLookup<Entity> asIndexedLookup(
+            Repository<ID, Entity> repository) {
+        return repository instanceof IndexedLookup ? (IndexedLookup<Entity>) repository : null;
+    }
+
+    // Top-level AND clauses, with nested ANDs flattened
+    private static <Entity> List<AbstractFilter<Entity>> conjuncts(AbstractFilter<Entity> filter) {
+        List<AbstractFilter<Entity>> clauses = new ArrayList<>();
+        if (filter instanceof AndFilter) {
+            for (AbstractFilter<Entity> part : ((AndFilter<Entity>) filter).getFilters()) {
+                clauses.addAll(conjuncts(part));
+            }
+        } else {
+            clauses.add(filter);
+        }
+        return clauses;
+    }
+
+    private static <Entity> long estimate(IndexedLookup<Entity> lookup, AbstractFilter<Entity> clause) {
+        if (clause instanceof OrFilter) {
+            long total = 0;
+            for (AbstractFilter<Entity> branch : ((OrFilter<Entity>) clause).getFilters()) {
+                long branchEstimate = estimate(lookup, branch);
+                if (branchEstimate == IndexedLookup.NOT_INDEXED) {
+                    return IndexedLookup.NOT_INDEXED;
+                }
+                total += branchEstimate;
+            }
+            return total;
+        }
+        if (clause instanceof AndFilter) {
+            // An AND nested inside an OR is bounded by its most selective indexed part
+            long best = IndexedLookup.NOT_INDEXED;
+            for (AbstractFilter<Entity> part : ((AndFilter<Entity>) clause).getFilters()) {
+                long partEstimate = estimate(lookup, part);
+                if (partEstimate != IndexedLookup.NOT_INDEXED && (best == IndexedLookup.NOT_INDEXED || partEstimate < best)) {
+                    best = partEstimate;
+                }
+            }
+            return best;
+        }
+        return lookup.estimateMatches(clause);
+    }
+
+    private static <ID, Entity extends Identifiable<ID>> List<Entity> lookup(IndexedLookup<Entity> lookup,
+                                                                              AbstractFilter<Entity> clause) {
+        if (clause instanceof OrFilter) {
+            Map<ID, Entity> union = new LinkedHashMap<>();
+            for (AbstractFilter<Entity> branch : ((OrFilter<Entity>) clause).getFilters()) {
+                for (Entity entity : QueryPlanner.<ID, Entity>lookup(lookup, branch)) {
+                    union.putIfAbsent(entity.getId(), entity);
+                }
+            }
+            return new ArrayList<>(union.values());
+        }
+        if (clause instanceof AndFilter) {
+            AbstractFilter<Entity> best = null;
+            long bestEstimate = Long.MAX_VALUE;
+            for (AbstractFilter<Entity> part : ((AndFilter<Entity>) clause).getFilters()) {
+                long partEstimate = estimate(lookup, part);
+                if (partEstimate != IndexedLookup.NOT_INDEXED && partEstimate < bestEstimate) {
+                    best = part;
+                    bestEstimate = partEstimate;
+                }
+            }
+            return lookup(lookup, best);
+        }
+        return lookup.findByIndex(clause);
+    }
+
+    // Lower rank runs first: equality tests reject most rows, combinators and custom predicates are the unknowns
+    private static int rank(AbstractFilter<?> filter) {
+        if (filter instanceof CarManufacturerFilter || filter instanceof ReservationCustomerFilter) return 0;
+        if (filter instanceof CarPriceRangeFilter || filter instanceof ReservationDateRangeFilter) return 1;
+        if (filter instanceof AndFilter || filter instanceof OrFilter || filter instanceof NotFilter) return 3;
+        return 2;
+    }
+
+    private static <Entity> List<AbstractFilter<Entity>> orderBySelectivity(List<AbstractFilter<Entity>> clauses) {
+        List<AbstractFilter<Entity>> ordered = new ArrayList<>(clauses);
+        ordered.sort(Comparator.comparingInt(QueryPlanner::rank));
+        return ordered;
+    }
+
+    private static <Entity> List<Entity> retain(List<Entity> candidates, List<AbstractFilter<Entity>> clauses) {
+        return candidates.stream()
+                .filter(entity -> {
+                    for (AbstractFilter<Entity> clause : clauses) {
+                        if (!clause.matches(entity)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+    }
+}
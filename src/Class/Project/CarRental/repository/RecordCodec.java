@@ -0,0 +1,41 @@
+package Class.Project.CarRental.repository;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Hand-written binary encoding of one entity type, used by SegmentStore instead of Java serialization.
+ *
+ * @param <ID>      identifier type
+ * @param <Entity>  entity type
+ */
+public interface RecordCodec<ID, Entity> {
+    void writeId(DataOutput output, ID id) throws IOException;
+
+    ID readId(DataInput input) throws IOException;
+
+    void write(DataOutput output, Entity entity) throws IOException;
+
+    Entity read(DataInput input) throws IOException;
+
+    // Helpers for optional fields: a presence flag followed by the value
+
+    static void writeNullableString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) output.writeUTF(value);
+    }
+
+    static String readNullableString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    static void writeNullableLong(DataOutput output, Long value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) output.writeLong(value);
+    }
+
+    static Long readNullableLong(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readLong() : null;
+    }
+}
@@ -0,0 +1,42 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * The questions behind the Reports menu.
+ * A reservation is charged its rental days (the days between start and end, a same-day rental counting as one)
+ * times the car's current rental price.
+ */
+public interface ReportQueries {
+
+    double totalIncomeForCar(Car car);
+
+    long reservationCount(Long carId);
+
+    /**
+     * @return the car with the most reservations (lowest ID on a tie) and its reservation count
+     */
+    Optional<Map.Entry<Long, Long>> mostPopularCar();
+
+    /**
+     * @return the distinct cars a customer (matched case-insensitively) has reserved, ordered by ID
+     */
+    List<Car> carsRentedBy(String customerName);
+
+    /**
+     * @return income booked per start date: for every reservation starting that day, its rental days times the car's price
+     */
+    SortedMap<LocalDate, Double> revenueByStartDate();
+
+    /**
+     * @return the revenue earned on each day of [from, to], with every reservation's income spread
+     * over the days it covers (see DailyRevenueEngine)
+     */
+    SortedMap<LocalDate, Double> dailyRevenue(LocalDate from, LocalDate to);
+}
@@ -2,8 +2,12 @@ package Class.Project.CarRental.repository;
 
 import Class.Project.CarRental.domain.Identifiable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
   Repository interface for identifiable entities.
@@ -14,7 +18,57 @@ public interface Repository<ID, Entity extends Identifiable<ID>> {
     Entity create(Entity entity);
     Optional<Entity> findById(ID id);
     List<Entity> findAll();
+
+    /**
+      Bulk lookup: the entities whose IDs are in ids, each once, in the order their IDs first appear.
+      IDs with no entity are skipped. The default does one findById per distinct ID; repositories
+      with a cheaper bulk path (one lock, one query) override it.
+     */
+    default List<Entity> findAllById(Collection<ID> ids) {
+        List<Entity> found = new ArrayList<>();
+        for (ID id : new LinkedHashSet<>(ids)) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
     Entity update(Entity entity) throws NotFoundException;
     void deleteById(ID id) throws NotFoundException;
     boolean existsById(ID id);
+
+    // Batch operations: one round trip / one flush for the whole collection.
+    // createAll returns the created entities (with their new IDs) in input order.
+    List<Entity> createAll(Collection<Entity> entities);
+    // updateAll and deleteAllById change nothing if any ID is missing.
+    List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException;
+    void deleteAllById(Collection<ID> ids) throws NotFoundException;
+
+    /**
+      Change notifications: the listener receives every later create, update and delete as
+      RepositoryChange batches in version order, on a background delivery thread (see ChangeDispatcher).
+     */
+    void addChangeListener(RepositoryListener<ID, Entity> listener);
+    void removeChangeListener(RepositoryListener<ID, Entity> listener);
+
+    // Page size used by the default stream()
+    int STREAM_PAGE_SIZE = 1000;
+
+    /**
+      Keyset pagination: up to limit entities with an ID greater than afterId, in ascending ID order.
+      Pass null to start from the beginning, then the ID of the last entity of each page to get the next one.
+     */
+    List<Entity> findPage(ID afterId, int limit);
+
+    /**
+      Streams every entity in ascending ID order, fetching one page at a time,
+      so only STREAM_PAGE_SIZE entities are held by the stream at any moment.
+     */
+    default Stream<Entity> stream() {
+        return Stream.iterate(findPage(null, STREAM_PAGE_SIZE),
+                        page -> !page.isEmpty(),
+                        // A short page is the last one; skip the extra round trip
+                        page -> page.size() < STREAM_PAGE_SIZE ? List.of()
+                                : findPage(page.get(page.size() - 1).getId(), STREAM_PAGE_SIZE))
+                .flatMap(List::stream);
+    }
 }
@@ -0,0 +1,35 @@
+package Class.Project.CarRental.repository;
+
+/**
+ * One committed change to a repository.
+ * The version is the change's position in that repository's change sequence: it starts at 1 and
+ * goes up by one per change, so a consumer can tell whether it has seen every change.
+ * getEntity() is the stored entity for CREATED and UPDATED, and the removed entity for DELETED
+ * when the repository still had it in memory (null for the database repositories).
+ */
+public final class RepositoryChange<ID, Entity> {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final ID id;
+    private final Entity entity;
+    private final long version;
+
+    RepositoryChange(Type type, ID id, Entity entity, long version) {
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+        this.version = version;
+    }
+
+    public Type getType() { return type; }
+    public ID getId() { return id; }
+    public Entity getEntity() { return entity; }
+    public long getVersion() { return version; }
+
+    @Override
+    public String toString() {
+        return "RepositoryChange{" + type + ", id=" + id + ", version=" + version + "}";
+    }
+}
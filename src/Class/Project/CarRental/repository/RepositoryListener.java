@@ -0,0 +1,12 @@
+package Class.Project.CarRental.repository;
+
+import java.util.List;
+
+/**
+ * Receives a repository's changes in batches, in version order.
+ * Called on the shared event delivery thread, never on the writer's thread, so it must not block for long.
+ */
+@FunctionalInterface
+public interface RepositoryListener<ID, Entity> {
+    void onChanges(List<RepositoryChange<ID, Entity>> changes);
+}
@@ -5,6 +5,8 @@ import Class.Project.CarRental.domain.Reservation;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,27 +17,35 @@ public class ReservationDbRepository extends DatabaseRepository<Long, Reservatio
         super("reservations");
     }
 
+    // For a database other than the one in settings.properties (tests, scratch copies)
+    public ReservationDbRepository(ConnectionPool connectionPool) {
+        super("reservations", connectionPool);
+    }
+
     @Override
     public Reservation create(Reservation reservation) {
-        String sql = "INSERT INTO reservations (car_id, customer_name, start_date, end_date) VALUES (?, ?, ?, ?)";
-        try (Connection connection = openConnection();
-             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            statement.setLong(1, reservation.getCarId());
-            statement.setString(2, reservation.getCustomerName());
-            statement.setString(3, reservation.getStartDate().toString());
-            statement.setString(4, reservation.getEndDate().toString());
-
-            statement.executeUpdate();
-
-            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    reservation.setId(generatedKeys.getLong(1));
+        synchronized (writeLock) {
+            String sql = "INSERT INTO reservations (car_id, customer_name, start_date, end_date) VALUES (?, ?, ?, ?)";
+            try (Connection connection = openConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                statement.setLong(1, reservation.getCarId());
+                statement.setString(2, reservation.getCustomerName());
+                statement.setString(3, reservation.getStartDate().toString());
+                statement.setString(4, reservation.getEndDate().toString());
+
+                statement.executeUpdate();
+
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        reservation.setId(generatedKeys.getLong(1));
+                    }
                 }
+                publishChange(RepositoryChange.Type.CREATED, reservation.getId(), reservation);
+                return reservation;
+            } catch (SQLException e) {
+                throw new RuntimeException("Database error during create reservation", e);
             }
-            return reservation;
-        } catch (SQLException e) {
-            throw new RuntimeException("Database error during create reservation", e);
         }
     }
 
@@ -47,7 +57,7 @@ public class ReservationDbRepository extends DatabaseRepository<Long, Reservatio
 
             statement.setLong(1, id);
             ResultSet rs = statement.executeQuery();
-            if (rs.next()) return Optional.of(extractReservation(rs));
+            if (rs.next()) return Optional.of(mapRow(rs));
             return Optional.empty();
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -63,7 +73,7 @@ public class ReservationDbRepository extends DatabaseRepository<Long, Reservatio
              ResultSet rs = statement.executeQuery(sql)) {
 
             while (rs.next()) {
-                list.add(extractReservation(rs));
+                list.add(mapRow(rs));
             }
             return list;
         } catch (SQLException e) {
@@ -73,53 +83,150 @@ public class ReservationDbRepository extends DatabaseRepository<Long, Reservatio
 
     @Override
     public Reservation update(Reservation reservation) throws NotFoundException {
-        String sql = "UPDATE reservations SET car_id=?, customer_name=?, start_date=?, end_date=? WHERE id=?";
-        try (Connection connection = openConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            statement.setLong(1, reservation.getCarId());
-            statement.setString(2, reservation.getCustomerName());
-            statement.setString(3, reservation.getStartDate().toString());
-            statement.setString(4, reservation.getEndDate().toString());
-            statement.setLong(5, reservation.getId());
-
-            int updated = statement.executeUpdate();
-            if (updated == 0) throw new NotFoundException("Reservation not found: " + reservation.getId());
-            return reservation;
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+        synchronized (writeLock) {
+            String sql = "UPDATE reservations SET car_id=?, customer_name=?, start_date=?, end_date=? WHERE id=?";
+            try (Connection connection = openConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+
+                statement.setLong(1, reservation.getCarId());
+                statement.setString(2, reservation.getCustomerName());
+                statement.setString(3, reservation.getStartDate().toString());
+                statement.setString(4, reservation.getEndDate().toString());
+                statement.setLong(5, reservation.getId());
+
+                int updated = statement.executeUpdate();
+                if (updated == 0) throw new NotFoundException("Reservation not found: " + reservation.getId());
+                publishChange(RepositoryChange.Type.UPDATED, reservation.getId(), reservation);
+                return reservation;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
     @Override
     public void deleteById(Long id) throws NotFoundException {
-        String sql = "DELETE FROM reservations WHERE id = ?";
+        synchronized (writeLock) {
+            String sql = "DELETE FROM reservations WHERE id = ?";
+            try (Connection connection = openConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+
+                statement.setLong(1, id);
+                int deleted = statement.executeUpdate();
+                if (deleted == 0) throw new NotFoundException("Reservation not found: " + id);
+                publishChange(RepositoryChange.Type.DELETED, id, null);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        String sql = "SELECT 1 FROM reservations WHERE id = ?";
         try (Connection connection = openConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
-
             statement.setLong(1, id);
-            int deleted = statement.executeUpdate();
-            if (deleted == 0) throw new NotFoundException("Reservation not found: " + id);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    // --- Overlap queries: ISO-8601 date strings compare in date order ---
+
     @Override
-    public boolean existsById(Long id) {
-        String sql = "SELECT 1 FROM reservations WHERE id = ?";
+    public List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        String sql = "SELECT * FROM reservations WHERE start_date <= ? AND end_date >= ? ORDER BY start_date, id";
+        return queryReservations(sql, to.toString(), from.toString());
+    }
+
+    @Override
+    public List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        String sql = "SELECT * FROM reservations WHERE car_id = ? AND start_date <= ? AND end_date >= ? ORDER BY start_date, id";
+        return queryReservations(sql, carId, to.toString(), from.toString());
+    }
+
+    private List<Reservation> queryReservations(String sql, Object... parameters) {
+        List<Reservation> list = new ArrayList<>();
         try (Connection connection = openConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setLong(1, id);
+
+            for (int index = 0; index < parameters.length; index++) {
+                statement.setObject(index + 1, parameters[index]);
+            }
             try (ResultSet rs = statement.executeQuery()) {
-                return rs.next();
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
             }
+            return list;
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private Reservation extractReservation(ResultSet rs) throws SQLException {
+    // --- Batch operations (one transaction, one JDBC batch) ---
+
+    @Override
+    public List<Reservation> createAll(Collection<Reservation> reservations) {
+        synchronized (writeLock) {
+            String sql = "INSERT INTO reservations (car_id, customer_name, start_date, end_date) VALUES (?, ?, ?, ?)";
+            List<Long> generatedIds = executeInsertBatch(sql, reservations, (statement, reservation) -> {
+                statement.setLong(1, reservation.getCarId());
+                statement.setString(2, reservation.getCustomerName());
+                statement.setString(3, reservation.getStartDate().toString());
+                statement.setString(4, reservation.getEndDate().toString());
+            });
+
+            List<Reservation> created = new ArrayList<>(reservations.size());
+            int index = 0;
+            for (Reservation reservation : reservations) {
+                reservation.setId(generatedIds.get(index++));
+                created.add(reservation);
+                publishChange(RepositoryChange.Type.CREATED, reservation.getId(), reservation);
+            }
+            return created;
+        }
+    }
+
+    @Override
+    public List<Reservation> updateAll(Collection<Reservation> reservations) throws NotFoundException {
+        synchronized (writeLock) {
+            String sql = "UPDATE reservations SET car_id=?, customer_name=?, start_date=?, end_date=? WHERE id=?";
+            List<Reservation> notFound = executeBatch(sql, reservations, (statement, reservation) -> {
+                statement.setLong(1, reservation.getCarId());
+                statement.setString(2, reservation.getCustomerName());
+                statement.setString(3, reservation.getStartDate().toString());
+                statement.setString(4, reservation.getEndDate().toString());
+                statement.setLong(5, reservation.getId());
+            });
+            if (!notFound.isEmpty()) throw new NotFoundException("Reservation not found: " + notFound.get(0).getId());
+            for (Reservation reservation : reservations) {
+                publishChange(RepositoryChange.Type.UPDATED, reservation.getId(), reservation);
+            }
+            return new ArrayList<>(reservations);
+        }
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) throws NotFoundException {
+        synchronized (writeLock) {
+            String sql = "DELETE FROM reservations WHERE id = ?";
+            Collection<Long> distinctIds = new LinkedHashSet<>(ids);
+            List<Long> notFound = executeBatch(sql, distinctIds,
+                    (statement, id) -> statement.setLong(1, id));
+            if (!notFound.isEmpty()) throw new NotFoundException("Reservation not found: " + notFound.get(0));
+            for (Long id : distinctIds) {
+                publishChange(RepositoryChange.Type.DELETED, id, null);
+            }
+        }
+    }
+
+    @Override
+    protected Reservation mapRow(ResultSet rs) throws SQLException {
         long id = rs.getLong("id");
         long carId = rs.getLong("car_id");
         String customer = rs.getString("customer_name");
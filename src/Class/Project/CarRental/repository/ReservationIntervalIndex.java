@@ -0,0 +1,109 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.filter.AbstractFilter;
+import Class.Project.CarRental.filter.ReservationDateRangeFilter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interval index over reservation dates (as epoch days): one tree for all reservations
+ * and one per car, so both overlap queries cost O(log n + k) instead of a scan.
+ * Reservations without both dates can never overlap a range and are not indexed.
+ */
+public class ReservationIntervalIndex implements EntityIndex<Long, Reservation>, IndexedLookup<Reservation> {
+
+    private final IntervalTree<Reservation> all = new IntervalTree<>();
+    private final Map<Long, IntervalTree<Reservation>> byCar = new HashMap<>();
+    // Where each reservation was indexed, so removal does not depend on the (mutable) Reservation object
+    private final Map<Long, IndexedInterval> intervalsById = new HashMap<>();
+
+    private static final class IndexedInterval {
+        private final Long carId;
+        private final long startDay;
+
+        private IndexedInterval(Long carId, long startDay) {
+            this.carId = carId;
+            this.startDay = startDay;
+        }
+    }
+
+    @Override
+    public void add(Reservation reservation) {
+        Long id = reservation.getId();
+        remove(id);
+        LocalDate start = reservation.getStartDate();
+        LocalDate end = reservation.getEndDate();
+        if (start == null || end == null || end.isBefore(start)) {
+            return;
+        }
+        long startDay = start.toEpochDay();
+        long endDay = end.toEpochDay();
+        all.insert(startDay, endDay, id, reservation);
+        if (reservation.getCarId() != null) {
+            byCar.computeIfAbsent(reservation.getCarId(), carId -> new IntervalTree<>())
+                    .insert(startDay, endDay, id, reservation);
+        }
+        intervalsById.put(id, new IndexedInterval(reservation.getCarId(), startDay));
+    }
+
+    @Override
+    public void remove(Long id) {
+        IndexedInterval interval = intervalsById.remove(id);
+        if (interval == null) {
+            return;
+        }
+        all.remove(interval.startDay, id);
+        if (interval.carId != null) {
+            IntervalTree<Reservation> carTree = byCar.get(interval.carId);
+            carTree.remove(interval.startDay, id);
+            if (carTree.isEmpty()) {
+                byCar.remove(interval.carId);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        all.clear();
+        byCar.clear();
+        intervalsById.clear();
+    }
+
+    /**
+     * @return reservations whose [start, end] overlaps [from, to] (all bounds inclusive), ordered by start date
+     */
+    public List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return all.findOverlapping(from.toEpochDay(), to.toEpochDay());
+    }
+
+    public List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        IntervalTree<Reservation> carTree = byCar.get(carId);
+        return carTree == null ? new ArrayList<>() : carTree.findOverlapping(from.toEpochDay(), to.toEpochDay());
+    }
+
+    // Query planning: date ranges are answered by the global interval tree
+
+    @Override
+    public long estimateMatches(AbstractFilter<Reservation> filter) {
+        if (filter instanceof ReservationDateRangeFilter) {
+            ReservationDateRangeFilter dateFilter = (ReservationDateRangeFilter) filter;
+            return all.countOverlapping(dateFilter.getFromDateInclusive().toEpochDay(),
+                    dateFilter.getToDateInclusive().toEpochDay());
+        }
+        return NOT_INDEXED;
+    }
+
+    @Override
+    public List<Reservation> findByIndex(AbstractFilter<Reservation> filter) {
+        if (filter instanceof ReservationDateRangeFilter) {
+            ReservationDateRangeFilter dateFilter = (ReservationDateRangeFilter) filter;
+            return findOverlapping(dateFilter.getFromDateInclusive(), dateFilter.getToDateInclusive());
+        }
+        throw new IllegalArgumentException("No index for filter " + filter.getClass().getSimpleName());
+    }
+}
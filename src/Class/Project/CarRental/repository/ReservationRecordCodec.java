@@ -0,0 +1,49 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Reservation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+
+// Binary record layout for Reservation: id, carId, customerName, startDate and endDate as epoch days.
+public class ReservationRecordCodec implements RecordCodec<Long, Reservation> {
+
+    @Override
+    public void writeId(DataOutput output, Long id) throws IOException {
+        output.writeLong(id);
+    }
+
+    @Override
+    public Long readId(DataInput input) throws IOException {
+        return input.readLong();
+    }
+
+    @Override
+    public void write(DataOutput output, Reservation reservation) throws IOException {
+        output.writeLong(reservation.getId());
+        RecordCodec.writeNullableLong(output, reservation.getCarId());
+        RecordCodec.writeNullableString(output, reservation.getCustomerName());
+        RecordCodec.writeNullableLong(output, toEpochDay(reservation.getStartDate()));
+        RecordCodec.writeNullableLong(output, toEpochDay(reservation.getEndDate()));
+    }
+
+    @Override
+    public Reservation read(DataInput input) throws IOException {
+        long id = input.readLong();
+        Long carId = RecordCodec.readNullableLong(input);
+        String customerName = RecordCodec.readNullableString(input);
+        LocalDate startDate = fromEpochDay(RecordCodec.readNullableLong(input));
+        LocalDate endDate = fromEpochDay(RecordCodec.readNullableLong(input));
+        return new Reservation(id, carId, customerName, startDate, endDate);
+    }
+
+    private static Long toEpochDay(LocalDate date) {
+        return date == null ? null : date.toEpochDay();
+    }
+
+    private static LocalDate fromEpochDay(Long epochDay) {
+        return epochDay == null ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -2,9 +2,21 @@ package Class.Project.CarRental.repository;
 
 import Class.Project.CarRental.domain.Reservation;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Reservation-specific repository. Extends generic Repository
  */
 public interface ReservationRepository extends Repository<Long, Reservation> {
-    // add domain-specific queries here if needed (e.g., findByCarId)
+
+    /**
+     * @return reservations whose [start, end] overlaps [from, to], all bounds inclusive
+     */
+    List<Reservation> findOverlapping(LocalDate from, LocalDate to);
+
+    /**
+     * @return reservations of the given car whose [start, end] overlaps [from, to], all bounds inclusive
+     */
+    List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to);
 }
@@ -1,83 +1,74 @@
 package Class.Project.CarRental.repository;
 
 import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.filter.AbstractFilter;
 
-import java.io.*;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.function.Supplier;
 
-public class ReservationTextRepository extends InMemoryRepository<Long, Reservation> implements ReservationRepository {
+public class ReservationTextRepository extends TextFileRepository<Long, Reservation> implements ReservationRepository, IndexedLookup<Reservation> {
 
-    private final String filePath;
+    private final ReservationIntervalIndex intervalIndex;
 
     public ReservationTextRepository(Supplier<Long> idSupplier, String filePath) {
-        super(idSupplier);
-        this.filePath = filePath;
-        loadFromFile();
+        this(idSupplier, filePath, DEFAULT_COMPACTION_INTERVAL_MILLIS);
     }
 
-    private void loadFromFile() {
-        File file = new File(filePath);
-        if (!file.exists()) {
-            return;
-        }
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-                String[] parts = line.split(",", -1);
-                // Format: id,carId,customerName,startDate,endDate
-                long id = Long.parseLong(parts[0]);
-                long carId = Long.parseLong(parts[1]);
-                String customerName = parts[2];
-                LocalDate startDate = LocalDate.parse(parts[3]);
-                LocalDate endDate = LocalDate.parse(parts[4]);
+    public ReservationTextRepository(Supplier<Long> idSupplier, String filePath, long compactionIntervalMillis) {
+        this(idSupplier, filePath, compactionIntervalMillis, new ReservationIntervalIndex());
+    }
 
-                Reservation reservation = new Reservation(id, carId, customerName, startDate, endDate);
-                this.storage.put(id, reservation);
-            }
-        } catch (IOException exception) {
-            throw new RuntimeException("Failed to load reservations from file: " + filePath, exception);
-        }
+    private ReservationTextRepository(Supplier<Long> idSupplier, String filePath, long compactionIntervalMillis,
+                                      ReservationIntervalIndex intervalIndex) {
+        super(idSupplier, filePath, compactionIntervalMillis, new ReservationLines(), List.of(intervalIndex));
+        this.intervalIndex = intervalIndex;
     }
 
-    private void saveToFile() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (Reservation reservation : findAll()) {
-                String line = String.format("%d,%d,%s,%s,%s",
-                        reservation.getId(),
-                        reservation.getCarId(),
-                        reservation.getCustomerName(),
-                        reservation.getStartDate().toString(),
-                        reservation.getEndDate().toString());
-                writer.write(line);
-                writer.newLine();
-            }
-        } catch (IOException exception) {
-            throw new RuntimeException("Failed to save reservations to file: " + filePath, exception);
-        }
+    // Domain specific queries, answered from the interval index
+
+    @Override
+    public synchronized List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return intervalIndex.findOverlapping(from, to);
     }
 
     @Override
-    public Reservation create(Reservation reservation) {
-        Reservation createdReservation = super.create(reservation);
-        saveToFile();
-        return createdReservation;
+    public synchronized List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        return intervalIndex.findByCarOverlapping(carId, from, to);
     }
 
     @Override
-    public Reservation update(Reservation reservation) throws NotFoundException {
-        Reservation updatedReservation = super.update(reservation);
-        saveToFile();
-        return updatedReservation;
+    public synchronized long estimateMatches(AbstractFilter<Reservation> filter) {
+        return intervalIndex.estimateMatches(filter);
     }
 
     @Override
-    public void deleteById(Long id) throws NotFoundException {
-        super.deleteById(id);
-        saveToFile();
+    public synchronized List<Reservation> findByIndex(AbstractFilter<Reservation> filter) {
+        return intervalIndex.findByIndex(filter);
+    }
+
+    // Format: id,carId,customerName,startDate,endDate
+    private static final class ReservationLines implements LineCodec<Long, Reservation> {
+        @Override
+        public String format(Reservation reservation) {
+            return reservation.getId() + "," + reservation.getCarId() + "," + reservation.getCustomerName() + ","
+                    + reservation.getStartDate() + "," + reservation.getEndDate();
+        }
+
+        @Override
+        public Reservation parse(String line) {
+            String[] parts = line.split(",", -1);
+            long id = Long.parseLong(parts[0]);
+            long carId = Long.parseLong(parts[1]);
+            String customerName = parts[2];
+            LocalDate startDate = LocalDate.parse(parts[3]);
+            LocalDate endDate = LocalDate.parse(parts[4]);
+            return new Reservation(id, carId, customerName, startDate, endDate);
+        }
+
+        @Override
+        public Long parseId(String idText) {
+            return Long.parseLong(idText);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,480 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Identifiable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, log-structured binary storage used by BinaryFileRepository.
+ * Data lives in segment files "base.000001.seg", "base.000002.seg", ... Every create/update appends
+ * a PUT record and every delete appends a TOMBSTONE record to the active segment, so a mutation
+ * costs one small write. An in-memory offset index (ID -> segment, offset) tracks the latest
+ * record of each entity; it tells compaction which records are still live.
+ *
+ * Segment layout:
+ *   header: int magic, short version, long sequence, long supersededBelow
+ *   record: int payloadLength, byte type, payload (RecordCodec), int crc32(type + payload)
+ *
+ * When the active segment is full a new one is started; once enough bytes in the sealed segments
+ * are dead a background task rewrites their live records into one segment which "supersedes"
+ * every older sequence number, so a crash half way through never resurrects deleted records.
+ *
+ * @param <ID>      identifier type
+ * @param <Entity>  entity type
+ */
+public class SegmentStore<ID, Entity extends Identifiable<ID>> implements Closeable {
+
+    public static final long DEFAULT_SEGMENT_SIZE_BYTES = 4L * 1024 * 1024;
+
+    private static final int MAGIC = 0x43525347; // "CRSG"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 8 + 8;
+    private static final int RECORD_OVERHEAD = 4 + 1 + 4;
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+    private static final byte PUT = 1;
+    private static final byte TOMBSTONE = 2;
+    // Compact once at least this share of the sealed segments' bytes belongs to overwritten/deleted records
+    private static final double COMPACTION_DEAD_RATIO = 0.5;
+    // ... or once this many sealed segments have piled up
+    private static final int COMPACTION_SEGMENT_COUNT = 8;
+
+    private final Path directory;
+    private final String baseName;
+    private final Pattern segmentNamePattern;
+    private final RecordCodec<ID, Entity> codec;
+    private final long segmentSizeLimit;
+
+    // Guarded by this
+    private final Map<ID, Location> index = new HashMap<>();
+    private final TreeMap<Long, SegmentStats> segments = new TreeMap<>();
+    private FileChannel activeChannel;
+    private long activeSequence;
+    private long activeSize;
+    private boolean compactionScheduled;
+
+    // Encoding buffers reused across appends (guarded by this)
+    private final ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream(128);
+    private final DataOutputStream payloadOutput = new DataOutputStream(payloadBuffer);
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOutput = new DataOutputStream(recordBuffer);
+    private final CRC32 checksum = new CRC32();
+
+    private final Object compactionLock = new Object();
+    private final ExecutorService compactionExecutor;
+
+    public SegmentStore(String basePath, RecordCodec<ID, Entity> codec) {
+        this(basePath, codec, DEFAULT_SEGMENT_SIZE_BYTES);
+    }
+
+    public SegmentStore(String basePath, RecordCodec<ID, Entity> codec, long segmentSizeLimit) {
+        Path base = Paths.get(basePath).toAbsolutePath();
+        this.directory = base.getParent();
+        this.baseName = base.getFileName().toString();
+        this.segmentNamePattern = Pattern.compile(Pattern.quote(baseName) + "\\.(\\d+)\\.seg");
+        this.codec = codec;
+        this.segmentSizeLimit = segmentSizeLimit;
+        // A local, so the thread factory does not capture the store before it is fully built
+        String threadName = "segment-compaction-" + baseName;
+        this.compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Replays every segment into the given map and opens the last segment for appending.
+     */
+    public synchronized void load(Map<ID, Entity> target) throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, baseName + ".*.seg.compacting")) {
+            for (Path leftover : leftovers) {
+                Files.delete(leftover);
+            }
+        }
+
+        TreeMap<Long, Path> segmentFiles = new TreeMap<>();
+        long supersededBelow = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, baseName + ".*.seg")) {
+            for (Path file : files) {
+                Matcher matcher = segmentNamePattern.matcher(file.getFileName().toString());
+                if (!matcher.matches()) continue;
+                long sequence = Long.parseLong(matcher.group(1));
+                segmentFiles.put(sequence, file);
+                supersededBelow = Math.max(supersededBelow, readSupersededBelow(file));
+            }
+        }
+        // Left behind by a compaction that crashed after installing its output
+        for (Iterator<Map.Entry<Long, Path>> iterator = segmentFiles.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Long, Path> entry = iterator.next();
+            if (entry.getKey() < supersededBelow) {
+                Files.delete(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        long validEndOfLast = HEADER_SIZE;
+        for (Map.Entry<Long, Path> entry : segmentFiles.entrySet()) {
+            boolean last = entry.getKey().equals(segmentFiles.lastKey());
+            validEndOfLast = replaySegment(entry.getKey(), entry.getValue(), last, target);
+        }
+
+        if (segmentFiles.isEmpty()) {
+            startSegment(1, 0);
+        } else {
+            activeSequence = segmentFiles.lastKey();
+            activeChannel = FileChannel.open(segmentFiles.lastEntry().getValue(), StandardOpenOption.WRITE);
+            // Drop a torn record at the tail so new appends start on a record boundary
+            activeChannel.truncate(validEndOfLast);
+            activeSize = validEndOfLast;
+        }
+    }
+
+    private long readSupersededBelow(Path file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a segment file: " + file);
+            }
+            input.readShort();
+            input.readLong();
+            return input.readLong();
+        } catch (EOFException e) {
+            // Header never finished: the file was being created when the process stopped
+            return 0;
+        }
+    }
+
+    // Returns the offset just past the last intact record
+    private long replaySegment(long sequence, Path file, boolean last, Map<ID, Entity> target) throws IOException {
+        SegmentStats stats = new SegmentStats();
+        segments.put(sequence, stats);
+        long offset = HEADER_SIZE;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            try {
+                input.readInt();
+                short version = input.readShort();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported segment version " + version + " in " + file);
+                }
+                input.readLong();
+                input.readLong();
+            } catch (EOFException e) {
+                if (!last) throw new IOException("Truncated segment header: " + file, e);
+                // Rewrite the header when the file is reopened for appending
+                writeHeader(file, sequence, 0);
+                return HEADER_SIZE;
+            }
+
+            while (true) {
+                int payloadLength;
+                try {
+                    payloadLength = input.readInt();
+                } catch (EOFException e) {
+                    return offset;
+                }
+                try {
+                    if (payloadLength < 0 || payloadLength > MAX_PAYLOAD_SIZE) {
+                        throw new IOException("Invalid record length " + payloadLength);
+                    }
+                    byte type = input.readByte();
+                    byte[] payload = new byte[payloadLength];
+                    input.readFully(payload);
+                    int storedChecksum = input.readInt();
+                    checksum.reset();
+                    checksum.update(type);
+                    checksum.update(payload);
+                    if ((int) checksum.getValue() != storedChecksum) {
+                        throw new IOException("Checksum mismatch");
+                    }
+
+                    int recordSize = RECORD_OVERHEAD + payloadLength;
+                    DataInputStream payloadInput = new DataInputStream(new ByteArrayInputStream(payload));
+                    stats.totalBytes += recordSize;
+                    if (type == PUT) {
+                        Entity entity = codec.read(payloadInput);
+                        target.put(entity.getId(), entity);
+                        replaceLocation(entity.getId(), new Location(sequence, offset, recordSize));
+                    } else if (type == TOMBSTONE) {
+                        ID id = codec.readId(payloadInput);
+                        target.remove(id);
+                        replaceLocation(id, null);
+                    } else {
+                        throw new IOException("Unknown record type " + type);
+                    }
+                    offset += recordSize;
+                } catch (IOException e) {
+                    // Only the tail of the newest segment may be torn by a crash mid-append
+                    if (last) return offset;
+                    throw new IOException("Corrupt record at offset " + offset + " in " + file, e);
+                }
+            }
+        }
+    }
+
+    // Points the index at a new record (or removes it) and keeps per-segment live byte counts current
+    private void replaceLocation(ID id, Location location) {
+        Location previous = location == null ? index.remove(id) : index.put(id, location);
+        if (previous != null) {
+            SegmentStats previousStats = segments.get(previous.segment);
+            if (previousStats != null) previousStats.liveBytes -= previous.size;
+        }
+        if (location != null) {
+            segments.get(location.segment).liveBytes += location.size;
+        }
+    }
+
+    public synchronized void put(Entity entity) throws IOException {
+        putAll(Collections.singletonList(entity));
+    }
+
+    /**
+     * Appends one PUT record per entity with a single write.
+     */
+    public synchronized void putAll(Collection<Entity> entities) throws IOException {
+        if (entities.isEmpty()) return;
+        recordBuffer.reset();
+        List<Location> locations = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            payloadBuffer.reset();
+            codec.write(payloadOutput, entity);
+            locations.add(encodeRecord(PUT));
+        }
+        writeRecords();
+        int index = 0;
+        for (Entity entity : entities) {
+            replaceLocation(entity.getId(), locations.get(index++));
+        }
+        rollIfFull();
+    }
+
+    public synchronized void delete(ID id) throws IOException {
+        deleteAll(Collections.singletonList(id));
+    }
+
+    /**
+     * Appends one TOMBSTONE record per ID with a single write.
+     */
+    public synchronized void deleteAll(Collection<ID> ids) throws IOException {
+        if (ids.isEmpty()) return;
+        recordBuffer.reset();
+        for (ID id : ids) {
+            payloadBuffer.reset();
+            codec.writeId(payloadOutput, id);
+            encodeRecord(TOMBSTONE);
+        }
+        writeRecords();
+        for (ID id : ids) {
+            replaceLocation(id, null);
+        }
+        rollIfFull();
+    }
+
+    // Moves the payload buffer into the record buffer; returns where the record will land in the active segment
+    private Location encodeRecord(byte type) throws IOException {
+        long offset = activeSize + recordBuffer.size();
+        byte[] payload = payloadBuffer.toByteArray();
+        checksum.reset();
+        checksum.update(type);
+        checksum.update(payload);
+        recordOutput.writeInt(payload.length);
+        recordOutput.writeByte(type);
+        recordOutput.write(payload);
+        recordOutput.writeInt((int) checksum.getValue());
+        return new Location(activeSequence, offset, RECORD_OVERHEAD + payload.length);
+    }
+
+    private void writeRecords() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(recordBuffer.toByteArray());
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer, activeSize + buffer.position());
+        }
+        activeSize += buffer.limit();
+        segments.get(activeSequence).totalBytes += buffer.limit();
+    }
+
+    private void rollIfFull() throws IOException {
+        if (activeSize < segmentSizeLimit) return;
+        activeChannel.force(false);
+        activeChannel.close();
+        startSegment(activeSequence + 1, 0);
+        scheduleCompactionIfWorthwhile();
+    }
+
+    private void startSegment(long sequence, long supersededBelow) throws IOException {
+        Path file = segmentPath(sequence);
+        writeHeader(file, sequence, supersededBelow);
+        activeChannel = FileChannel.open(file, StandardOpenOption.WRITE);
+        activeSequence = sequence;
+        activeSize = HEADER_SIZE;
+        segments.put(sequence, new SegmentStats());
+    }
+
+    private void writeHeader(Path file, long sequence, long supersededBelow) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeLong(sequence);
+            output.writeLong(supersededBelow);
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s.%06d.seg", baseName, sequence));
+    }
+
+    private void scheduleCompactionIfWorthwhile() {
+        if (compactionScheduled) return;
+        NavigableMap<Long, SegmentStats> sealed = segments.headMap(activeSequence, false);
+        long totalBytes = 0;
+        long liveBytes = 0;
+        for (SegmentStats stats : sealed.values()) {
+            totalBytes += stats.totalBytes;
+            liveBytes += stats.liveBytes;
+        }
+        boolean mostlyDead = totalBytes > 0 && (totalBytes - liveBytes) >= totalBytes * COMPACTION_DEAD_RATIO;
+        if (sealed.size() > 1 && (mostlyDead || sealed.size() >= COMPACTION_SEGMENT_COUNT)) {
+            compactionScheduled = true;
+            compactionExecutor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    // Segments are left untouched; the next roll tries again
+                    BackgroundFailures.report("Segment compaction failed for " + baseName, e);
+                } finally {
+                    synchronized (SegmentStore.this) {
+                        compactionScheduled = false;
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Rewrites the live records of all sealed segments into a single segment and deletes the old files.
+     * Records are copied without holding the store lock, so appends continue meanwhile.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            long targetSequence;
+            List<Long> sealedSequences;
+            List<Map.Entry<ID, Location>> liveRecords = new ArrayList<>();
+            synchronized (this) {
+                if (activeChannel == null) return;
+                NavigableMap<Long, SegmentStats> sealed = segments.headMap(activeSequence, false);
+                if (sealed.isEmpty()) return;
+                targetSequence = sealed.lastKey();
+                sealedSequences = new ArrayList<>(sealed.keySet());
+                for (Map.Entry<ID, Location> entry : index.entrySet()) {
+                    if (entry.getValue().segment <= targetSequence) {
+                        liveRecords.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+                    }
+                }
+            }
+            // Read each old segment front to back
+            liveRecords.sort(Comparator.<Map.Entry<ID, Location>>comparingLong(entry -> entry.getValue().segment)
+                    .thenComparingLong(entry -> entry.getValue().offset));
+
+            Path output = directory.resolve(segmentPath(targetSequence).getFileName() + ".compacting");
+            Map<Long, FileChannel> inputs = new HashMap<>();
+            List<Location> newLocations = new ArrayList<>(liveRecords.size());
+            long outputSize = HEADER_SIZE;
+            try {
+                writeHeader(output, targetSequence, targetSequence);
+                try (FileChannel outputChannel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+                    for (Map.Entry<ID, Location> entry : liveRecords) {
+                        Location location = entry.getValue();
+                        FileChannel input = inputs.get(location.segment);
+                        if (input == null) {
+                            input = FileChannel.open(segmentPath(location.segment), StandardOpenOption.READ);
+                            inputs.put(location.segment, input);
+                        }
+                        ByteBuffer record = ByteBuffer.allocate(location.size);
+                        while (record.hasRemaining()) {
+                            if (input.read(record, location.offset + record.position()) < 0) {
+                                throw new EOFException("Record past end of segment " + location.segment);
+                            }
+                        }
+                        record.flip();
+                        while (record.hasRemaining()) {
+                            outputChannel.write(record, outputSize + record.position());
+                        }
+                        newLocations.add(new Location(targetSequence, outputSize, location.size));
+                        outputSize += location.size;
+                    }
+                    outputChannel.force(true);
+                }
+            } finally {
+                for (FileChannel input : inputs.values()) {
+                    input.close();
+                }
+            }
+
+            synchronized (this) {
+                Files.move(output, segmentPath(targetSequence),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                SegmentStats compactedStats = new SegmentStats();
+                compactedStats.totalBytes = outputSize - HEADER_SIZE;
+                for (Long sequence : sealedSequences) {
+                    segments.remove(sequence);
+                }
+                segments.put(targetSequence, compactedStats);
+                for (int i = 0; i < liveRecords.size(); i++) {
+                    Map.Entry<ID, Location> entry = liveRecords.get(i);
+                    // Records changed while we were copying already point at the active segment
+                    if (index.get(entry.getKey()) == entry.getValue()) {
+                        index.put(entry.getKey(), newLocations.get(i));
+                        compactedStats.liveBytes += entry.getValue().size;
+                    }
+                }
+                for (Long sequence : sealedSequences) {
+                    if (sequence != targetSequence) {
+                        Files.deleteIfExists(segmentPath(sequence));
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactionExecutor.shutdown();
+        synchronized (this) {
+            if (activeChannel != null) {
+                activeChannel.force(false);
+                activeChannel.close();
+                activeChannel = null;
+            }
+        }
+    }
+
+    // Where the latest record for an ID lives
+    private static final class Location {
+        private final long segment;
+        private final long offset;
+        private final int size;
+
+        private Location(long segment, long offset, int size) {
+            this.segment = segment;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+
+    private static final class SegmentStats {
+        private long totalBytes;
+        private long liveBytes;
+    }
+}
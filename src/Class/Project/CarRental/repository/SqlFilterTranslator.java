@@ -0,0 +1,157 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.filter.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Translates AbstractFilter predicates into a SQL WHERE clause with bound parameters,
+ * using the column names of the cars and reservations tables.
+ * A filter the translator cannot express exactly is left out of the clause, so the SQL result is
+ * always a superset of the matches; isExact() tells the caller whether it still has to run matches().
+ */
+final class SqlFilterTranslator {
+
+    /**
+     * The translated clause. An empty clause means nothing could be pushed down.
+     */
+    static final class SqlPredicate {
+        private final String clause;
+        private final List<Object> parameters;
+        private final boolean exact;
+
+        private SqlPredicate(String clause, List<Object> parameters, boolean exact) {
+            this.clause = clause;
+            this.parameters = parameters;
+            this.exact = exact;
+        }
+
+        String getClause() {
+            return clause;
+        }
+
+        List<Object> getParameters() {
+            return parameters;
+        }
+
+        boolean isEmpty() {
+            return clause.isEmpty();
+        }
+
+        // True if every row the clause returns is guaranteed to match the filter
+        boolean isExact() {
+            return exact;
+        }
+    }
+
+    // Java's String.trim() strips every char up to ' ', SQLite's one-argument TRIM() only spaces.
+    // char() cannot produce NUL, so a value padded with NUL is not trimmed like in Java.
+    private static final String TRIMMED_CHARS = trimmedChars();
+
+    private SqlFilterTranslator() {
+    }
+
+    private static String trimmedChars() {
+        StringJoiner codes = new StringJoiner(", ", "char(", ")");
+        for (int code = 1; code <= ' '; code++) {
+            codes.add(String.valueOf(code));
+        }
+        return codes.toString();
+    }
+
+    /**
+     * The column trimmed the way String.trim() trims, for comparing with Java-side matching.
+     */
+    static String trimmed(String column) {
+        return "TRIM(" + column + ", " + TRIMMED_CHARS + ")";
+    }
+
+    static SqlPredicate translate(AbstractFilter<?> filter) {
+        List<String> clauses = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        boolean exact = appendConjuncts(filter, clauses, parameters);
+        return new SqlPredicate(String.join(" AND ", clauses), parameters, exact);
+    }
+
+    // Adds the translatable conjuncts of the filter; returns false if any part had to be skipped
+    private static boolean appendConjuncts(AbstractFilter<?> filter, List<String> clauses, List<Object> parameters) {
+        if (filter instanceof AndFilter) {
+            boolean exact = true;
+            for (AbstractFilter<?> part : ((AndFilter<?>) filter).getFilters()) {
+                exact &= appendConjuncts(part, clauses, parameters);
+            }
+            return exact;
+        }
+        if (filter instanceof OrFilter) {
+            // A disjunction is only pushed down whole: dropping one branch would lose its matches
+            List<String> branches = new ArrayList<>();
+            List<Object> branchParameters = new ArrayList<>();
+            for (AbstractFilter<?> part : ((OrFilter<?>) filter).getFilters()) {
+                SqlPredicate branch = translate(part);
+                if (branch.isEmpty() || !branch.isExact()) {
+                    return false;
+                }
+                branches.add("(" + branch.getClause() + ")");
+                branchParameters.addAll(branch.getParameters());
+            }
+            clauses.add(branches.isEmpty() ? "1 = 0" : "(" + String.join(" OR ", branches) + ")");
+            parameters.addAll(branchParameters);
+            return true;
+        }
+        // NotFilter is never pushed down: SQL's NOT over a NULL column would drop rows Java keeps
+        if (filter instanceof CarManufacturerFilter) {
+            return appendCaseInsensitiveEquals("make", ((CarManufacturerFilter) filter).getManufacturerToMatch(),
+                    clauses, parameters);
+        }
+        if (filter instanceof ReservationCustomerFilter) {
+            return appendCaseInsensitiveEquals("customer_name", ((ReservationCustomerFilter) filter).getCustomerNameToMatch(),
+                    clauses, parameters);
+        }
+        if (filter instanceof CarPriceRangeFilter) {
+            CarPriceRangeFilter priceFilter = (CarPriceRangeFilter) filter;
+            clauses.add("rental_price BETWEEN ? AND ?");
+            parameters.add(priceFilter.getMinimumInclusive());
+            parameters.add(priceFilter.getMaximumInclusive());
+            return true;
+        }
+        if (filter instanceof ReservationDateRangeFilter) {
+            ReservationDateRangeFilter dateFilter = (ReservationDateRangeFilter) filter;
+            // Dates are stored as ISO-8601 text, which sorts in date order
+            clauses.add("start_date <= ? AND end_date >= ?");
+            parameters.add(dateFilter.getToDateInclusive().toString());
+            parameters.add(dateFilter.getFromDateInclusive().toString());
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean appendCaseInsensitiveEquals(String column, String value, List<String> clauses, List<Object> parameters) {
+        if (value.isEmpty()) {
+            // The filters never match an empty search term
+            clauses.add("1 = 0");
+            return true;
+        }
+        // SQLite's LOWER() only folds ASCII, so other text is matched in Java instead
+        if (!isAscii(value)) {
+            return false;
+        }
+        // String.equalsIgnoreCase() also matches four non-ASCII letters to ASCII ones: dotted capital I,
+        // dotless i, long s and the Kelvin sign. They are folded too, so no row Java accepts is lost.
+        clauses.add("LOWER(REPLACE(REPLACE(REPLACE(REPLACE(" + trimmed(column)
+                + ", char(304), 'i'), char(305), 'i'), char(383), 's'), char(8490), 'k')) = ?");
+        parameters.add(value.toLowerCase(Locale.ROOT));
+        return true;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int index = 0; index < text.length(); index++) {
+            if (text.charAt(index) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
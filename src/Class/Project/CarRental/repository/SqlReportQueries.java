@@ -0,0 +1,164 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Car;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * ReportQueries answered by the database: the totals are single GROUP BY / SUM queries over
+ * reservations joined with cars, so only the aggregated rows leave SQLite.
+ * Daily revenue reads just the reservations overlapping the window, with their price, into a DailyRevenueEngine.
+ */
+public class SqlReportQueries implements ReportQueries {
+
+    // Rental days of reservation r; dates are ISO-8601 text, which julianday() understands
+    private static final String RENTAL_DAYS =
+            "MAX(CAST(julianday(r.end_date) - julianday(r.start_date) AS INTEGER), 1)";
+
+    private final CarDbRepository carRepository;
+    private final ConnectionPool connectionPool;
+
+    public SqlReportQueries(CarDbRepository carRepository) {
+        this(carRepository, ConnectionPool.getShared());
+    }
+
+    public SqlReportQueries(CarDbRepository carRepository, ConnectionPool connectionPool) {
+        this.carRepository = carRepository;
+        this.connectionPool = connectionPool;
+    }
+
+    private Connection openConnection() {
+        try {
+            return connectionPool.getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to connect to the database.", e);
+        }
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, Object... parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int index = 0; index < parameters.length; index++) {
+            statement.setObject(index + 1, parameters[index]);
+        }
+        return statement;
+    }
+
+    @Override
+    public double totalIncomeForCar(Car car) {
+        String sql = "SELECT COALESCE(SUM(" + RENTAL_DAYS + " * c.rental_price), 0) "
+                + "FROM reservations r JOIN cars c ON c.id = r.car_id WHERE r.car_id = ?";
+        try (Connection connection = openConnection();
+             PreparedStatement statement = prepare(connection, sql, car.getId());
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getDouble(1) : 0.0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during income report", e);
+        }
+    }
+
+    @Override
+    public long reservationCount(Long carId) {
+        String sql = "SELECT COUNT(*) FROM reservations WHERE car_id = ?";
+        try (Connection connection = openConnection();
+             PreparedStatement statement = prepare(connection, sql, carId);
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during reservation count", e);
+        }
+    }
+
+    @Override
+    public Optional<Map.Entry<Long, Long>> mostPopularCar() {
+        String sql = "SELECT car_id, COUNT(*) AS reservation_count FROM reservations "
+                + "GROUP BY car_id ORDER BY reservation_count DESC, car_id LIMIT 1";
+        try (Connection connection = openConnection();
+             PreparedStatement statement = prepare(connection, sql);
+             ResultSet rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return Optional.of(Map.entry(rs.getLong("car_id"), rs.getLong("reservation_count")));
+            }
+            return Optional.empty();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during popularity report", e);
+        }
+    }
+
+    @Override
+    public List<Car> carsRentedBy(String customerName) {
+        String normalized = customerName == null ? "" : customerName.trim().toLowerCase(Locale.ROOT);
+        if (isAscii(normalized)) {
+            // Trimmed like String.trim(); toLowerCase(Locale.ROOT) also turns the Kelvin sign into a plain k
+            String customerKey = "LOWER(REPLACE(" + SqlFilterTranslator.trimmed("customer_name") + ", char(8490), 'k'))";
+            return carRepository.findAllWhere("id IN (SELECT car_id FROM reservations WHERE " + customerKey + " = ?) "
+                    + "ORDER BY id", List.of(normalized));
+        }
+
+        // SQLite's LOWER() only folds ASCII, so names outside it are compared here, one row per customer and car
+        Set<Long> carIds = new TreeSet<>();
+        String sql = "SELECT DISTINCT customer_name, car_id FROM reservations";
+        try (Connection connection = openConnection();
+             PreparedStatement statement = prepare(connection, sql);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                String name = rs.getString("customer_name");
+                if (name != null && name.trim().toLowerCase(Locale.ROOT).equals(normalized)) {
+                    carIds.add(rs.getLong("car_id"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during customer report", e);
+        }
+        return carRepository.findAllById(carIds);
+    }
+
+    @Override
+    public SortedMap<LocalDate, Double> revenueByStartDate() {
+        String sql = "SELECT r.start_date, SUM(" + RENTAL_DAYS + " * c.rental_price) AS revenue "
+                + "FROM reservations r JOIN cars c ON c.id = r.car_id GROUP BY r.start_date";
+        SortedMap<LocalDate, Double> revenue = new TreeMap<>();
+        try (Connection connection = openConnection();
+             PreparedStatement statement = prepare(connection, sql);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                revenue.put(LocalDate.parse(rs.getString("start_date")), rs.getDouble("revenue"));
+            }
+            return revenue;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during revenue report", e);
+        }
+    }
+
+    @Override
+    public SortedMap<LocalDate, Double> dailyRevenue(LocalDate from, LocalDate to) {
+        DailyRevenueEngine engine = new DailyRevenueEngine(from, to);
+        // Only the overlapping reservations are read, each as one row with its price already joined in
+        String sql = "SELECT r.start_date, r.end_date, c.rental_price "
+                + "FROM reservations r JOIN cars c ON c.id = r.car_id WHERE r.start_date <= ? AND r.end_date >= ?";
+        try (Connection connection = openConnection();
+             PreparedStatement statement = prepare(connection, sql, to.toString(), from.toString());
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                engine.add(LocalDate.parse(rs.getString("start_date")), LocalDate.parse(rs.getString("end_date")),
+                        rs.getDouble("rental_price"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error during daily revenue report", e);
+        }
+        return engine.dailyRevenue();
+    }
+
+    private static boolean isAscii(String text) {
+        for (int index = 0; index < text.length(); index++) {
+            if (text.charAt(index) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
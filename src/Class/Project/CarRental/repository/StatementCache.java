@@ -0,0 +1,226 @@
+package Class.Project.CarRental.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ * Callers receive a handle whose close() only resets the statement (parameters, batch,
+ * open result sets) so the next prepareStatement() with the same SQL skips parsing and planning.
+ * Belongs to a pooled connection, which is only ever used by one borrower at a time.
+ */
+class StatementCache {
+
+    private final int capacity;
+    private final Counters counters;
+    private final Map<String, CachedStatement> statements;
+    // Statements handed out beside the cache during the current checkout
+    private final List<PreparedStatement> uncachedStatements = new ArrayList<>();
+
+    StatementCache(int capacity, Counters counters) {
+        this.capacity = capacity;
+        this.counters = counters;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) return false;
+                counters.evictions.incrementAndGet();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a statement for the SQL, reusing the cached one when it is not already in use.
+     *
+     * @param connectionHandle the connection handle the caller holds, reported by Statement.getConnection()
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     */
+    PreparedStatement prepare(Connection physical, Connection connectionHandle, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        if (capacity <= 0) {
+            counters.misses.incrementAndGet();
+            return track(physical.prepareStatement(sql, autoGeneratedKeys));
+        }
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            counters.hits.incrementAndGet();
+            return cached.checkout(connectionHandle);
+        }
+        counters.misses.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // The same SQL is already open higher up the call stack: hand out an uncached statement
+            return track(statement);
+        }
+        cached = new CachedStatement(statement);
+        statements.put(key, cached);
+        return cached.checkout(connectionHandle);
+    }
+
+    /**
+     * Called when the owning connection goes back to the pool: statements the borrower
+     * forgot to close are reset (their handles stop working) so the next borrower can reuse them.
+     */
+    void releaseAll() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                try {
+                    cached.checkin();
+                } catch (SQLException ignored) {
+                    // A statement that cannot be reset is closed on eviction or with its connection
+                }
+            }
+        }
+        for (PreparedStatement statement : uncachedStatements) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Already closed by the borrower
+            }
+        }
+        uncachedStatements.clear();
+    }
+
+    private PreparedStatement track(PreparedStatement statement) {
+        uncachedStatements.add(statement);
+        return statement;
+    }
+
+    /**
+     * Shared hit/miss/eviction counters for all caches of a pool.
+     */
+    static final class Counters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+    }
+
+    private static final class CachedStatement {
+        private final PreparedStatement physical;
+        private final List<ResultSet> openResultSets = new ArrayList<>(2);
+        private boolean inUse;
+        private boolean evicted;
+        // Bumped on every check-in so handles from earlier checkouts stop working
+        private int generation;
+
+        private CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+        }
+
+        private PreparedStatement checkout(Connection connectionHandle) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementHandle(this, connectionHandle, generation));
+        }
+
+        private void checkin() throws SQLException {
+            inUse = false;
+            generation++;
+            try {
+                for (ResultSet resultSet : openResultSets) {
+                    resultSet.close();
+                }
+            } finally {
+                openResultSets.clear();
+            }
+            if (evicted) {
+                physical.close();
+                return;
+            }
+            physical.clearParameters();
+            physical.clearBatch();
+        }
+
+        private void evict() {
+            evicted = true;
+            if (!inUse) {
+                try {
+                    physical.close();
+                } catch (SQLException ignored) {
+                    // Evicted statements are discarded anyway
+                }
+            }
+        }
+    }
+
+    private static final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection connectionHandle;
+        private final int generation;
+        private boolean closed;
+
+        private StatementHandle(CachedStatement cached, Connection connectionHandle, int generation) {
+            this.cached = cached;
+            this.connectionHandle = connectionHandle;
+            this.generation = generation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (cached.generation != generation) {
+                closed = true;
+            }
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        cached.checkin();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "getConnection":
+                    return connectionHandle;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.physical + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed.");
+            }
+            Object result;
+            try {
+                result = method.invoke(cached.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                cached.openResultSets.add((ResultSet) result);
+            }
+            return result;
+        }
+    }
+
+    static boolean isCacheable(Method method, Object[] args) {
+        if (!"prepareStatement".equals(method.getName()) || args == null || !(args[0] instanceof String)) {
+            return false;
+        }
+        return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+    }
+
+    static int autoGeneratedKeys(Object[] args) {
+        return args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+    }
+}
@@ -0,0 +1,306 @@
+package Class.Project.CarRental.repository;
+
+import Class.Project.CarRental.domain.Identifiable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A generic repository persisted as a CSV snapshot plus an append-only change journal.
+ * Every mutation appends one line to "file.journal" ("+csv" for create/update, "-id" for delete)
+ * instead of rewriting the whole CSV. A background task periodically compacts the journal
+ * into the snapshot; loadFromFile() reads the snapshot and replays the journal on startup.
+ * Lines are converted by a LineCodec, so loading needs nothing from the subclass being constructed.
+ * Extends InMemoryRepository to reuse the Map storage mechanism.
+ */
+public abstract class TextFileRepository<ID, Entity extends Identifiable<ID>>
+        extends InMemoryRepository<ID, Entity> implements Closeable {
+
+    public static final long DEFAULT_COMPACTION_INTERVAL_MILLIS = 30_000L;
+
+    private static final char UPSERT = '+';
+    private static final char DELETE = '-';
+    private static final String JOURNAL_SUFFIX = ".journal";
+    // Journal being folded into the snapshot; replayed on startup if a compaction was interrupted
+    private static final String COMPACTING_JOURNAL_SUFFIX = ".journal.compacting";
+
+    private final LineCodec<ID, Entity> codec;
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path compactingJournalPath;
+    private final Object compactionLock = new Object();
+    private final ScheduledExecutorService compactionScheduler;
+    private final long compactionIntervalMillis;
+
+    // Guarded by this (the same monitor as the in-memory storage)
+    private BufferedWriter journalWriter;
+    private long journalEntries;
+    private ScheduledFuture<?> compactionTask;
+
+    protected TextFileRepository(Supplier<ID> idSupplier, String filePath, long compactionIntervalMillis,
+                                 LineCodec<ID, Entity> codec, List<? extends EntityIndex<ID, Entity>> indexes) {
+        super(idSupplier, loadFromFile(filePath, codec), indexes);
+        this.codec = codec;
+        this.snapshotPath = Paths.get(filePath);
+        this.journalPath = Paths.get(filePath + JOURNAL_SUFFIX);
+        this.compactingJournalPath = Paths.get(filePath + COMPACTING_JOURNAL_SUFFIX);
+        this.compactionIntervalMillis = compactionIntervalMillis;
+        try {
+            journalWriter = openJournalWriter();
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to open journal: " + journalPath, exception);
+        }
+
+        String threadName = "journal-compaction-" + snapshotPath.getFileName();
+        compactionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs before the repository exists, so it is static and is handed everything it needs
+    private static <ID, Entity extends Identifiable<ID>> Collection<Entity> loadFromFile(String filePath,
+                                                                                        LineCodec<ID, Entity> codec) {
+        Path snapshotPath = Paths.get(filePath);
+        Path journalPath = Paths.get(filePath + JOURNAL_SUFFIX);
+        Path compactingJournalPath = Paths.get(filePath + COMPACTING_JOURNAL_SUFFIX);
+        Map<ID, Entity> loaded = new LinkedHashMap<>();
+        try {
+            if (Files.exists(snapshotPath)) {
+                try (BufferedReader reader = Files.newBufferedReader(snapshotPath, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.trim().isEmpty()) {
+                            continue;
+                        }
+                        Entity entity = codec.parse(line);
+                        loaded.put(entity.getId(), entity);
+                    }
+                }
+            }
+            long replayed = replayJournal(compactingJournalPath, codec, loaded) + replayJournal(journalPath, codec, loaded);
+            if (replayed > 0) {
+                // Start from a clean snapshot so the journal only holds changes made from now on
+                writeSnapshot(snapshotPath, codec, loaded.values());
+                Files.deleteIfExists(compactingJournalPath);
+                Files.deleteIfExists(journalPath);
+            }
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to load data from file: " + snapshotPath, exception);
+        }
+        return loaded.values();
+    }
+
+    private static <ID, Entity extends Identifiable<ID>> long replayJournal(Path path, LineCodec<ID, Entity> codec,
+                                                                           Map<ID, Entity> loaded) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        long replayed = 0;
+        for (int index = 0; index < lines.size(); index++) {
+            String line = lines.get(index);
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                if (line.charAt(0) == UPSERT) {
+                    Entity entity = codec.parse(line.substring(1));
+                    loaded.put(entity.getId(), entity);
+                } else if (line.charAt(0) == DELETE) {
+                    loaded.remove(codec.parseId(line.substring(1)));
+                } else {
+                    throw new IllegalStateException("Unknown journal entry: " + line);
+                }
+                replayed++;
+            } catch (RuntimeException exception) {
+                // A torn last line means the process died mid-append; that change never completed
+                if (index == lines.size() - 1) {
+                    break;
+                }
+                throw new RuntimeException("Corrupt journal entry " + (index + 1) + " in " + path, exception);
+            }
+        }
+        return replayed;
+    }
+
+    private BufferedWriter openJournalWriter() throws IOException {
+        return Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // Caller holds the repository monitor
+    private void appendToJournal(char operation, String payload) throws IOException {
+        scheduleCompaction();
+        journalWriter.write(operation);
+        journalWriter.write(payload);
+        journalWriter.newLine();
+        journalEntries++;
+    }
+
+    // Caller holds the repository monitor. Started by the first journal entry rather than by the constructor,
+    // which must not hand the repository to another thread before it is fully built
+    private void scheduleCompaction() {
+        if (compactionTask == null) {
+            compactionTask = compactionScheduler.scheduleWithFixedDelay(this::compactQuietly,
+                    compactionIntervalMillis, compactionIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushJournal() {
+        try {
+            journalWriter.flush();
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to append to journal: " + journalPath, exception);
+        }
+    }
+
+    private void journalUpserts(Collection<Entity> entities) {
+        try {
+            for (Entity entity : entities) {
+                appendToJournal(UPSERT, codec.format(entity));
+            }
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to append to journal: " + journalPath, exception);
+        }
+        flushJournal();
+    }
+
+    private void journalDeletes(Collection<ID> ids) {
+        try {
+            for (ID id : ids) {
+                appendToJournal(DELETE, String.valueOf(id));
+            }
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to append to journal: " + journalPath, exception);
+        }
+        flushJournal();
+    }
+
+    /**
+     * Folds the journal into the CSV snapshot. Only the journal rotation happens under the
+     * repository lock; the snapshot itself is written while writers keep appending to a fresh journal.
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            List<Entity> snapshot;
+            synchronized (this) {
+                boolean retrying = Files.exists(compactingJournalPath);
+                if (journalEntries == 0 && !retrying) {
+                    return;
+                }
+                // The findAll() snapshot is immutable, so it can be written out after the lock is released
+                snapshot = findAll();
+                // After a failed snapshot write the old .compacting journal is still needed: retry only the
+                // snapshot and leave the live journal in place (replaying it over a newer snapshot is harmless)
+                if (!retrying) {
+                    try {
+                        journalWriter.close();
+                        try {
+                            Files.move(journalPath, compactingJournalPath);
+                            journalEntries = 0;
+                        } finally {
+                            // Reopen even if the move failed so later mutations keep appending
+                            journalWriter = openJournalWriter();
+                        }
+                    } catch (IOException exception) {
+                        throw new RuntimeException("Failed to rotate journal: " + journalPath, exception);
+                    }
+                }
+            }
+            try {
+                writeSnapshot(snapshotPath, codec, snapshot);
+                Files.deleteIfExists(compactingJournalPath);
+            } catch (IOException exception) {
+                throw new RuntimeException("Failed to compact journal into: " + snapshotPath, exception);
+            }
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException exception) {
+            // Keep the scheduler alive; the journal stays valid and the next run retries
+            BackgroundFailures.report("Journal compaction failed: " + snapshotPath, exception);
+        }
+    }
+
+    private static <ID, Entity> void writeSnapshot(Path snapshotPath, LineCodec<ID, Entity> codec,
+                                                   Collection<Entity> entities) throws IOException {
+        Path temporaryPath = Paths.get(snapshotPath + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+            for (Entity entity : entities) {
+                writer.write(codec.format(entity));
+                writer.newLine();
+            }
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stops background compaction and folds any pending journal entries into the snapshot.
+     */
+    @Override
+    public void close() {
+        compactionScheduler.shutdown();
+        compact();
+        synchronized (this) {
+            try {
+                journalWriter.close();
+            } catch (IOException exception) {
+                throw new RuntimeException("Failed to close journal: " + journalPath, exception);
+            }
+        }
+    }
+
+    // Mutations: one journal line each instead of a full rewrite
+
+    @Override
+    public synchronized Entity create(Entity entity) {
+        Entity createdEntity = super.create(entity);
+        journalUpserts(List.of(createdEntity));
+        return createdEntity;
+    }
+
+    @Override
+    public synchronized Entity update(Entity entity) throws NotFoundException {
+        Entity updatedEntity = super.update(entity);
+        journalUpserts(List.of(updatedEntity));
+        return updatedEntity;
+    }
+
+    @Override
+    public synchronized void deleteById(ID id) throws NotFoundException {
+        super.deleteById(id);
+        journalDeletes(List.of(id));
+    }
+
+    @Override
+    public synchronized List<Entity> createAll(Collection<Entity> entities) {
+        List<Entity> createdEntities = super.createAll(entities);
+        journalUpserts(createdEntities);
+        return createdEntities;
+    }
+
+    @Override
+    public synchronized List<Entity> updateAll(Collection<Entity> entities) throws NotFoundException {
+        List<Entity> updatedEntities = super.updateAll(entities);
+        journalUpserts(updatedEntities);
+        return updatedEntities;
+    }
+
+    @Override
+    public synchronized void deleteAllById(Collection<ID> ids) throws NotFoundException {
+        super.deleteAllById(ids);
+        journalDeletes(ids);
+    }
+}
@@ -0,0 +1,164 @@
+package Class.Project.CarRental.service;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.filter.AbstractFilter;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * CompletableFuture versions of the CarService and ReservationService calls, so a caller such as
+ * the JavaFX thread never blocks on repository I/O.
+ * Every call runs on its own virtual thread: a call blocked in JDBC parks its virtual thread
+ * instead of holding a platform thread. A fair semaphore caps how many calls run at once
+ * (normally the connection pool size), so callers queue here instead of timing out in the pool.
+ * Failures, including NotFoundException and ValidationException, complete the future exceptionally,
+ * as does a RejectedExecutionException for a call made after close().
+ */
+public class AsyncRentalService implements AutoCloseable {
+
+    private final CarService carService;
+    private final ReservationService reservationService;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public AsyncRentalService(CarService carService, ReservationService reservationService, int maxConcurrentCalls) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+        }
+        this.carService = carService;
+        this.reservationService = reservationService;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rental-service-", 0).factory());
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                try {
+                    future.complete(call.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed: the caller gets a failed future like for any other failure
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    // Cars
+
+    public CompletableFuture<Car> createCar(String make, String model, double price) {
+        return submit(() -> carService.createCar(make, model, price));
+    }
+
+    public CompletableFuture<List<Car>> listCars() {
+        return submit(carService::listAll);
+    }
+
+    public CompletableFuture<List<Car>> listCarPage(Long afterId, int limit) {
+        return submit(() -> carService.listPage(afterId, limit));
+    }
+
+    public CompletableFuture<Optional<Car>> getCar(Long id) {
+        return submit(() -> carService.getById(id));
+    }
+
+    public CompletableFuture<List<Car>> getCars(Collection<Long> ids) {
+        return submit(() -> carService.getByIds(ids));
+    }
+
+    public CompletableFuture<List<Car>> findCars(AbstractFilter<Car> filter) {
+        return submit(() -> carService.findByFilter(filter));
+    }
+
+    public CompletableFuture<List<Car>> findCarsByManufacturer(String manufacturer) {
+        return submit(() -> carService.findByManufacturer(manufacturer));
+    }
+
+    public CompletableFuture<List<Car>> findCarsByModel(String model) {
+        return submit(() -> carService.findByModel(model));
+    }
+
+    public CompletableFuture<List<Car>> findCarsByRentalPriceBelow(double maximumPrice) {
+        return submit(() -> carService.findByRentalPriceBelow(maximumPrice));
+    }
+
+    public CompletableFuture<Car> updateCar(Long id, String make, String model, double price) {
+        return submit(() -> carService.updateCar(id, make, model, price));
+    }
+
+    public CompletableFuture<Void> deleteCar(Long id) {
+        return submit(() -> {
+            carService.deleteCar(id);
+            return null;
+        });
+    }
+
+    // Reservations
+
+    public CompletableFuture<Reservation> createReservation(Long carId, String customerName,
+                                                           LocalDate startDate, LocalDate endDate) {
+        return submit(() -> reservationService.createReservation(carId, customerName, startDate, endDate));
+    }
+
+    public CompletableFuture<List<Reservation>> listReservations() {
+        return submit(reservationService::listAllReservations);
+    }
+
+    public CompletableFuture<List<Reservation>> listReservationPage(Long afterId, int limit) {
+        return submit(() -> reservationService.listReservationPage(afterId, limit));
+    }
+
+    public CompletableFuture<Optional<Reservation>> getReservation(Long id) {
+        return submit(() -> reservationService.getById(id));
+    }
+
+    public CompletableFuture<List<Reservation>> findReservations(AbstractFilter<Reservation> filter) {
+        return submit(() -> reservationService.findByFilter(filter));
+    }
+
+    public CompletableFuture<List<Reservation>> findOverlapping(LocalDate from, LocalDate to) {
+        return submit(() -> reservationService.findOverlapping(from, to));
+    }
+
+    public CompletableFuture<List<Reservation>> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        return submit(() -> reservationService.findByCarOverlapping(carId, from, to));
+    }
+
+    public CompletableFuture<Reservation> updateReservation(Long id, Long carId, String customerName,
+                                                           LocalDate startDate, LocalDate endDate) {
+        return submit(() -> reservationService.updateReservation(id, carId, customerName, startDate, endDate));
+    }
+
+    public CompletableFuture<Void> deleteReservation(Long id) {
+        return submit(() -> {
+            reservationService.deleteReservation(id);
+            return null;
+        });
+    }
+
+    /**
+     * Stops accepting calls and waits for the ones already submitted to finish.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,83 @@
+package Class.Project.CarRental.service;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.exception.ValidationException;
+import Class.Project.CarRental.filter.AbstractFilter;
+import Class.Project.CarRental.filter.CarManufacturerFilter;
+import Class.Project.CarRental.filter.CarPriceRangeFilter;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "which cars are free for [start, end]" without looking at every reservation.
+ * Unfiltered, the busy cars come from one interval-index query (O(log n + overlapping bookings))
+ * into a hash set, and the fleet is streamed past it once.
+ * With a make or price filter the matching cars come from the car indexes, and each is checked
+ * against its own schedule in the availability index, so the cost follows the matches, not the fleet.
+ */
+public class AvailabilityService {
+
+    private final CarService carService;
+    private final ReservationService reservationService;
+
+    public AvailabilityService(CarService carService, ReservationService reservationService) {
+        this.carService = carService;
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * @return every car with no reservation overlapping [start, end], both inclusive, ordered by ID
+     */
+    public List<Car> findAvailableCars(LocalDate start, LocalDate end) {
+        validateWindow(start, end);
+        Set<Long> busyCarIds = new HashSet<>();
+        for (Reservation reservation : reservationService.findOverlapping(start, end)) {
+            busyCarIds.add(reservation.getCarId());
+        }
+        return carService.streamAll()
+                .filter(car -> !busyCarIds.contains(car.getId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Like findAvailableCars(start, end), restricted to one make (case-insensitive) and/or a maximum daily price.
+     * A null make or maxPrice means no restriction on it.
+     */
+    public List<Car> findAvailableCars(LocalDate start, LocalDate end, String make, Double maxPrice) {
+        if (make == null && maxPrice == null) {
+            return findAvailableCars(start, end);
+        }
+        validateWindow(start, end);
+
+        AbstractFilter<Car> filter = null;
+        if (make != null) {
+            filter = new CarManufacturerFilter(make);
+        }
+        if (maxPrice != null) {
+            if (maxPrice < 0) {
+                throw new ValidationException("Maximum price must not be negative.");
+            }
+            AbstractFilter<Car> priceFilter = new CarPriceRangeFilter(0, maxPrice);
+            filter = filter == null ? priceFilter : filter.and(priceFilter);
+        }
+        return carService.findByFilter(filter).stream()
+                .filter(car -> reservationService.isCarAvailable(car.getId(), start, end))
+                .sorted(Comparator.comparing(Car::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static void validateWindow(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            throw new ValidationException("Start date and end date must be provided (format: YYYY-MM-DD).");
+        }
+        if (end.isBefore(start)) {
+            throw new ValidationException("End date must be the same or after the start date.");
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package Class.Project.CarRental.service;
 
 import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.filter.AbstractFilter;
 import Class.Project.CarRental.repository.CarRepository;
 import Class.Project.CarRental.repository.NotFoundException;
+import Class.Project.CarRental.repository.QueryPlanner;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CarService {
     private final CarRepository carRepository;
@@ -21,8 +25,19 @@ public class CarService {
 
     public List<Car> listAll() { return carRepository.findAll(); }
 
+    // Keyset paging and page-by-page streaming, for callers that must not hold every car at once
+    public List<Car> listPage(Long afterId, int limit) { return carRepository.findPage(afterId, limit); }
+
+    public Stream<Car> streamAll() { return carRepository.stream(); }
+
     public Optional<Car> getById(Long id) { return carRepository.findById(id); }
 
+    // Bulk lookup for joins: one round trip instead of one getById per ID
+    public List<Car> getByIds(Collection<Long> ids) { return carRepository.findAllById(ids); }
+
+    // Filters (including and/or/negate combinations) are planned against the repository's indexes
+    public List<Car> findByFilter(AbstractFilter<Car> filter) { return QueryPlanner.findAll(carRepository, filter); }
+
     public Car updateCar(Long id, String make, String model, double price) throws NotFoundException {
         Car carToUpdate = new Car(id, make, model, price);
         return carRepository.update(carToUpdate);
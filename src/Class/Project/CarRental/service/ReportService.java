@@ -0,0 +1,235 @@
+package Class.Project.CarRental.service;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.repository.DailyRevenueEngine;
+import Class.Project.CarRental.repository.ReportQueries;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Materialized report aggregates, kept up to date by listening to ReservationService.
+ * Aggregates are stored as rental days rather than money, and multiplied by the car's current
+ * price when a report is asked for. That matches how the reports always priced income,
+ * and a price change needs no recomputation.
+ * Every report is answered from this state in time proportional to its result, not to the number of reservations.
+ * This is the implementation for the file and memory repositories; the database uses SqlReportQueries.
+ */
+public final class ReportService implements ReportQueries, ReservationListener {
+
+    private final CarService carService;
+    private final ReservationService reservationService;
+
+    // All guarded by this
+    private final Map<Long, Long> rentalDaysByCar = new HashMap<>();
+    private final Map<Long, Long> reservationCountByCar = new HashMap<>();
+    // reservation count -> cars with exactly that many reservations, so the most popular car is the last key
+    private final NavigableMap<Long, NavigableSet<Long>> carsByReservationCount = new TreeMap<>();
+    // normalized customer name -> car id -> number of that customer's reservations of the car
+    private final Map<String, Map<Long, Integer>> carsByCustomer = new HashMap<>();
+    // start date -> car id -> rental days booked starting that day
+    private final NavigableMap<LocalDate, Map<Long, Long>> rentalDaysByStartDate = new TreeMap<>();
+    // While create() loads the existing reservations: the latest state of each reservation changed meanwhile,
+    // null once deleted. Set to null when the load is done and changes are applied straight away.
+    private Map<Long, Reservation> changedDuringLoad = new HashMap<>();
+
+    private ReportService(CarService carService, ReservationService reservationService) {
+        this.carService = carService;
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * Builds the aggregates from the current reservations and keeps them up to date from then on.
+     * The listener is registered here rather than in the constructor, so it never sees a half-built service.
+     */
+    public static ReportService create(CarService carService, ReservationService reservationService) {
+        ReportService reports = new ReportService(carService, reservationService);
+        // Listening before the load leaves no gap for a change to slip through; the stream may or may not
+        // see a change made while it runs, so those are recorded by ID and win over what the stream saw
+        reservationService.addListener(reports);
+        Map<Long, Reservation> loaded = new HashMap<>();
+        reservationService.streamReservations().forEach(reservation -> loaded.put(reservation.getId(), reservation));
+        synchronized (reports) {
+            reports.changedDuringLoad.forEach((id, latest) -> {
+                if (latest == null) {
+                    loaded.remove(id);
+                } else {
+                    loaded.put(id, latest);
+                }
+            });
+            reports.changedDuringLoad = null;
+            loaded.values().forEach(reservation -> reports.apply(reservation, 1));
+        }
+        return reports;
+    }
+
+    /**
+     * Days charged for a reservation: the days between start and end, with a same-day rental counted as one.
+     */
+    public static long rentalDays(Reservation reservation) {
+        long days = ChronoUnit.DAYS.between(reservation.getStartDate(), reservation.getEndDate());
+        return days == 0 ? 1 : days;
+    }
+
+    private static String normalizeCustomer(String customerName) {
+        return customerName == null ? "" : customerName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Adds (sign = 1) or removes (sign = -1) one reservation's contribution to every aggregate
+    private void apply(Reservation reservation, int sign) {
+        Long carId = reservation.getCarId();
+        if (carId == null || reservation.getStartDate() == null || reservation.getEndDate() == null) {
+            return;
+        }
+        long days = rentalDays(reservation);
+        rentalDaysByCar.merge(carId, sign * days, Long::sum);
+        rentalDaysByCar.remove(carId, 0L);
+
+        long previousCount = reservationCountByCar.getOrDefault(carId, 0L);
+        long count = previousCount + sign;
+        moveCountBucket(carId, previousCount, count);
+        if (count == 0) {
+            reservationCountByCar.remove(carId);
+        } else {
+            reservationCountByCar.put(carId, count);
+        }
+
+        String customer = normalizeCustomer(reservation.getCustomerName());
+        Map<Long, Integer> customerCars = carsByCustomer.computeIfAbsent(customer, key -> new HashMap<>());
+        customerCars.merge(carId, sign, Integer::sum);
+        customerCars.remove(carId, 0);
+        if (customerCars.isEmpty()) {
+            carsByCustomer.remove(customer);
+        }
+
+        Map<Long, Long> dayCars = rentalDaysByStartDate.computeIfAbsent(reservation.getStartDate(), key -> new HashMap<>());
+        dayCars.merge(carId, sign * days, Long::sum);
+        dayCars.remove(carId, 0L);
+        if (dayCars.isEmpty()) {
+            rentalDaysByStartDate.remove(reservation.getStartDate());
+        }
+    }
+
+    private void moveCountBucket(Long carId, long previousCount, long count) {
+        if (previousCount > 0) {
+            NavigableSet<Long> bucket = carsByReservationCount.get(previousCount);
+            bucket.remove(carId);
+            if (bucket.isEmpty()) {
+                carsByReservationCount.remove(previousCount);
+            }
+        }
+        if (count > 0) {
+            carsByReservationCount.computeIfAbsent(count, key -> new TreeSet<>()).add(carId);
+        }
+    }
+
+    @Override
+    public synchronized void reservationCreated(Reservation reservation) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(reservation.getId(), reservation);
+            return;
+        }
+        apply(reservation, 1);
+    }
+
+    @Override
+    public synchronized void reservationUpdated(Reservation previous, Reservation updated) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(updated.getId(), updated);
+            return;
+        }
+        apply(previous, -1);
+        apply(updated, 1);
+    }
+
+    @Override
+    public synchronized void reservationDeleted(Reservation reservation) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(reservation.getId(), null);
+            return;
+        }
+        apply(reservation, -1);
+    }
+
+    // Reports
+
+    @Override
+    public synchronized double totalIncomeForCar(Car car) {
+        return rentalDaysByCar.getOrDefault(car.getId(), 0L) * car.getRentalPrice();
+    }
+
+    @Override
+    public synchronized long reservationCount(Long carId) {
+        return reservationCountByCar.getOrDefault(carId, 0L);
+    }
+
+    @Override
+    public synchronized Optional<Map.Entry<Long, Long>> mostPopularCar() {
+        Map.Entry<Long, NavigableSet<Long>> top = carsByReservationCount.lastEntry();
+        return top == null ? Optional.empty() : Optional.of(Map.entry(top.getValue().first(), top.getKey()));
+    }
+
+    @Override
+    public List<Car> carsRentedBy(String customerName) {
+        Set<Long> carIds;
+        synchronized (this) {
+            carIds = new TreeSet<>(carsByCustomer.getOrDefault(normalizeCustomer(customerName), Map.of()).keySet());
+        }
+        // One bulk lookup for all the customer's cars
+        return carService.getByIds(carIds);
+    }
+
+    @Override
+    public SortedMap<LocalDate, Double> revenueByStartDate() {
+        SortedMap<LocalDate, Map<Long, Long>> daysByDate;
+        synchronized (this) {
+            daysByDate = new TreeMap<>();
+            rentalDaysByStartDate.forEach((date, cars) -> daysByDate.put(date, new HashMap<>(cars)));
+        }
+        Set<Long> carIds = new HashSet<>();
+        daysByDate.values().forEach(cars -> carIds.addAll(cars.keySet()));
+        Map<Long, Double> prices = prices(carIds);
+
+        SortedMap<LocalDate, Double> revenue = new TreeMap<>();
+        daysByDate.forEach((date, cars) -> {
+            double total = 0;
+            for (Map.Entry<Long, Long> entry : cars.entrySet()) {
+                total += entry.getValue() * prices.getOrDefault(entry.getKey(), 0.0);
+            }
+            revenue.put(date, total);
+        });
+        return revenue;
+    }
+
+    @Override
+    public SortedMap<LocalDate, Double> dailyRevenue(LocalDate from, LocalDate to) {
+        DailyRevenueEngine engine = new DailyRevenueEngine(from, to);
+        // The interval index hands back only the reservations touching the window
+        List<Reservation> reservations = reservationService.findOverlapping(from, to);
+        Set<Long> carIds = new HashSet<>();
+        for (Reservation reservation : reservations) {
+            if (reservation.getCarId() != null) {
+                carIds.add(reservation.getCarId());
+            }
+        }
+        Map<Long, Double> prices = prices(carIds);
+        for (Reservation reservation : reservations) {
+            Double price = prices.get(reservation.getCarId());
+            if (price != null) {
+                engine.add(reservation.getStartDate(), reservation.getEndDate(), price);
+            }
+        }
+        return engine.dailyRevenue();
+    }
+
+    // Current prices of just the cars a report covers, in one bulk lookup instead of a pass over the fleet
+    private Map<Long, Double> prices(Set<Long> carIds) {
+        Map<Long, Double> prices = new HashMap<>();
+        for (Car car : carService.getByIds(carIds)) {
+            prices.put(car.getId(), car.getRentalPrice());
+        }
+        return prices;
+    }
+}
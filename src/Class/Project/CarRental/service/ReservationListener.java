@@ -0,0 +1,16 @@
+package Class.Project.CarRental.service;
+
+import Class.Project.CarRental.domain.Reservation;
+
+/**
+ * Notified by ReservationService after each successful change, while the affected car is still locked,
+ * so listeners see the changes of one car in the order they happened.
+ */
+public interface ReservationListener {
+
+    void reservationCreated(Reservation reservation);
+
+    void reservationUpdated(Reservation previous, Reservation updated);
+
+    void reservationDeleted(Reservation reservation);
+}
@@ -2,39 +2,90 @@ package Class.Project.CarRental.service;
 
 import Class.Project.CarRental.domain.Reservation;
 import Class.Project.CarRental.exception.ValidationException;
+import Class.Project.CarRental.filter.AbstractFilter;
 import Class.Project.CarRental.repository.NotFoundException;
-import Class.Project.CarRental.repository.Repository;
+import Class.Project.CarRental.repository.QueryPlanner;
+import Class.Project.CarRental.repository.ReservationRepository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 /**
  * Reservation service with business validation rules.
  * The repository for reservations is injected; the car existence check
  * is performed by calling a provided carExistenceChecker.
+ * Overlapping bookings of the same car are rejected by asking the repository for the car's
+ * overlapping bookings while holding that car's lock.
  */
 public class ReservationService {
-    private final Repository<Long, Reservation> reservationRepository;
+    private final ReservationRepository reservationRepository;
     // Function to check whether a car with given id exists. We use a simple interface here.
     private final java.util.function.LongPredicate carExistenceChecker;
+    // One lock per car, held across check-then-write so two concurrent bookings of a car cannot both pass
+    private final Map<Long, Object> carLocks = new ConcurrentHashMap<>();
+    private final List<ReservationListener> listeners = new CopyOnWriteArrayList<>();
 
-    public ReservationService(Repository<Long, Reservation> reservationRepository,
+    public ReservationService(ReservationRepository reservationRepository,
                               java.util.function.LongPredicate carExistenceChecker) {
         this.reservationRepository = reservationRepository;
         this.carExistenceChecker = carExistenceChecker;
     }
 
+    public void addListener(ReservationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ReservationListener listener) {
+        listeners.remove(listener);
+    }
+
     public Reservation createReservation(Long carId, String customerName, LocalDate startDate, LocalDate endDate) {
         validateReservationData(carId, customerName, startDate, endDate);
-        Reservation reservation = new Reservation(carId, customerName.trim(), startDate, endDate);
-        return reservationRepository.create(reservation);
+        // Check and insert under the car's lock so two concurrent bookings cannot both pass the check
+        synchronized (lockFor(carId)) {
+            ensureFree(carId, startDate, endDate, null);
+            Reservation reservation = reservationRepository.create(
+                    new Reservation(carId, customerName.trim(), startDate, endDate));
+            listeners.forEach(listener -> listener.reservationCreated(reservation));
+            return reservation;
+        }
+    }
+
+    public boolean isCarAvailable(Long carId, LocalDate startDate, LocalDate endDate) {
+        return reservationRepository.findByCarOverlapping(carId, startDate, endDate).isEmpty();
     }
 
     public List<Reservation> listAllReservations() {
         return reservationRepository.findAll();
     }
 
+    // Keyset paging and page-by-page streaming, for callers that must not hold every reservation at once
+    public List<Reservation> listReservationPage(Long afterId, int limit) {
+        return reservationRepository.findPage(afterId, limit);
+    }
+
+    public Stream<Reservation> streamReservations() {
+        return reservationRepository.stream();
+    }
+
+    // Reservations overlapping [from, to], both inclusive; answered by the repository's interval index
+    public List<Reservation> findOverlapping(LocalDate from, LocalDate to) {
+        return reservationRepository.findOverlapping(from, to);
+    }
+
+    public List<Reservation> findByCarOverlapping(Long carId, LocalDate from, LocalDate to) {
+        return reservationRepository.findByCarOverlapping(carId, from, to);
+    }
+
+    public List<Reservation> findByFilter(AbstractFilter<Reservation> filter) {
+        return QueryPlanner.findAll(reservationRepository, filter);
+    }
+
     public Optional<Reservation> getById(Long id) {
         return reservationRepository.findById(id);
     }
@@ -42,12 +93,73 @@ public class ReservationService {
     public Reservation updateReservation(Long id, Long carId, String customerName, LocalDate startDate, LocalDate endDate)
             throws NotFoundException {
         validateReservationData(carId, customerName, startDate, endDate);
-        Reservation toUpdate = new Reservation(id, carId, customerName.trim(), startDate, endDate);
-        return reservationRepository.update(toUpdate);
+        while (true) {
+            Long previousCarId = currentCarId(id, carId);
+
+            // Lock both cars (lower car ID first, to avoid deadlock) when the booking moves to another car
+            synchronized (lockFor(Math.min(previousCarId, carId))) {
+                synchronized (lockFor(Math.max(previousCarId, carId))) {
+                    // Read again under the locks: a concurrent update may have moved the booking meanwhile
+                    Reservation existing = reservationRepository.findById(id)
+                            .orElseThrow(() -> new NotFoundException("Reservation not found: " + id));
+                    if (!previousCarId.equals(existing.getCarId() == null ? carId : existing.getCarId())) {
+                        continue;
+                    }
+                    ensureFree(carId, startDate, endDate, id);
+                    Reservation updated = reservationRepository.update(
+                            new Reservation(id, carId, customerName.trim(), startDate, endDate));
+                    listeners.forEach(listener -> listener.reservationUpdated(existing, updated));
+                    return updated;
+                }
+            }
+        }
     }
 
     public void deleteReservation(Long id) throws NotFoundException {
-        reservationRepository.deleteById(id);
+        while (true) {
+            Optional<Reservation> existing = reservationRepository.findById(id);
+            if (existing.isEmpty()) {
+                reservationRepository.deleteById(id);
+                return;
+            }
+            if (existing.get().getCarId() == null) {
+                reservationRepository.deleteById(id);
+                listeners.forEach(listener -> listener.reservationDeleted(existing.get()));
+                return;
+            }
+            Long carId = existing.get().getCarId();
+            synchronized (lockFor(carId)) {
+                // Read again under the lock: the booking may have been deleted or moved to another car meanwhile
+                Reservation deleted = reservationRepository.findById(id)
+                        .orElseThrow(() -> new NotFoundException("Reservation not found: " + id));
+                if (!carId.equals(deleted.getCarId())) {
+                    continue;
+                }
+                reservationRepository.deleteById(id);
+                listeners.forEach(listener -> listener.reservationDeleted(deleted));
+                return;
+            }
+        }
+    }
+
+    // The car a stored booking is on, or fallbackCarId if it has none
+    private Long currentCarId(Long id, Long fallbackCarId) throws NotFoundException {
+        Reservation existing = reservationRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Reservation not found: " + id));
+        return existing.getCarId() == null ? fallbackCarId : existing.getCarId();
+    }
+
+    private Object lockFor(Long carId) {
+        return carLocks.computeIfAbsent(carId, id -> new Object());
+    }
+
+    // The repository is the one record of bookings; ignoredReservationId is the booking being moved, if any
+    private void ensureFree(Long carId, LocalDate startDate, LocalDate endDate, Long ignoredReservationId) {
+        for (Reservation booked : reservationRepository.findByCarOverlapping(carId, startDate, endDate)) {
+            if (!booked.getId().equals(ignoredReservationId)) {
+                throw new ValidationException("Car " + carId + " is already booked between " + startDate + " and " + endDate + ".");
+            }
+        }
     }
 
     public boolean exists(Long id) {
@@ -0,0 +1,94 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.repository.InMemoryCarRepository;
+import Class.Project.CarRental.repository.InMemoryReservationRepository;
+import Class.Project.CarRental.service.AsyncRentalService;
+import Class.Project.CarRental.service.CarService;
+import Class.Project.CarRental.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class AsyncRentalServiceTest {
+
+    private static final int MAX_CONCURRENT_CALLS = 2;
+
+    // listAll() calls currently running, and the most there ever were at once
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger mostRunning = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncRentalService service;
+
+    @BeforeEach
+    public void setup() {
+        AtomicLong carIds = new AtomicLong(1);
+        AtomicLong reservationIds = new AtomicLong(1);
+        CarService carService = new CarService(new InMemoryCarRepository(carIds::getAndIncrement) {
+            @Override
+            public List<Car> findAll() {
+                mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return super.findAll();
+            }
+        });
+        ReservationService reservationService = new ReservationService(
+                new InMemoryReservationRepository(reservationIds::getAndIncrement), carService::exists);
+        service = new AsyncRentalService(carService, reservationService, MAX_CONCURRENT_CALLS);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        release.countDown();
+        service.close();
+    }
+
+    @Test
+    public void testNoMoreThanTheMaximumCallsRunAtOnce() throws Exception {
+        List<CompletableFuture<List<Car>>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(service.listCars());
+        }
+        // Give the queued calls every chance to get past the semaphore
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        while (System.nanoTime() < deadline) {
+            Assertions.assertTrue(running.get() <= MAX_CONCURRENT_CALLS);
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(MAX_CONCURRENT_CALLS, running.get());
+
+        release.countDown();
+        for (CompletableFuture<List<Car>> call : calls) {
+            Assertions.assertTrue(call.get(10, TimeUnit.SECONDS).isEmpty());
+        }
+        Assertions.assertEquals(MAX_CONCURRENT_CALLS, mostRunning.get());
+    }
+
+    @Test
+    public void testCallAfterCloseFailsTheFuture() throws InterruptedException {
+        service.close();
+
+        CompletableFuture<Car> call = service.createCar("Toyota", "Corolla", 50.0);
+        Assertions.assertTrue(call.isCompletedExceptionally());
+        ExecutionException failure = Assertions.assertThrows(ExecutionException.class, call::get);
+        Assertions.assertTrue(failure.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -1,8 +1,13 @@
 package Class.Project.CarRental.test;
 
 import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.filter.CarManufacturerFilter;
+import Class.Project.CarRental.filter.CarPriceRangeFilter;
+import Class.Project.CarRental.repository.CachingCarRepository;
+import Class.Project.CarRental.repository.ChangeDispatcher;
 import Class.Project.CarRental.repository.InMemoryCarRepository;
 import Class.Project.CarRental.repository.NotFoundException;
+import Class.Project.CarRental.repository.RepositoryChange;
 import Class.Project.CarRental.service.CarService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +15,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 
 public class CarServiceTest {
@@ -57,6 +64,51 @@ public class CarServiceTest {
         Assertions.assertEquals("Ford", foundCar.get().getMake());
     }
 
+    @Test
+    public void testCachedRepositorySeesUpdatesAndDeletes() throws NotFoundException {
+        CachingCarRepository cachedRepository = new CachingCarRepository(carRepository, 10, 0);
+        CarService cachedService = new CarService(cachedRepository);
+        Car car = cachedService.createCar("Skoda", "Octavia", 40.0);
+
+        cachedService.getById(car.getId());
+        cachedService.getById(car.getId());
+        Assertions.assertEquals(1, cachedRepository.getStatistics().getHits());
+
+        // Writes invalidate the cached entry, so the next read sees the stored state
+        cachedService.updateCar(car.getId(), "Skoda", "Octavia", 55.0);
+        Assertions.assertEquals(55.0, cachedService.getById(car.getId()).get().getRentalPrice());
+        cachedService.deleteCar(car.getId());
+        Assertions.assertFalse(cachedService.exists(car.getId()));
+    }
+
+    @Test
+    public void testRepositoryPublishesChangesInVersionOrder() throws NotFoundException, InterruptedException {
+        List<RepositoryChange<Long, Car>> received = new CopyOnWriteArrayList<>();
+        carRepository.addChangeListener(received::addAll);
+
+        Car car = carService.createCar("Skoda", "Fabia", 30.0);
+        carService.updateCar(car.getId(), "Skoda", "Fabia", 32.0);
+        carService.deleteCar(car.getId());
+        ChangeDispatcher.awaitDelivery();
+
+        Assertions.assertEquals(3, received.size());
+        Assertions.assertEquals(RepositoryChange.Type.CREATED, received.get(0).getType());
+        Assertions.assertEquals(32.0, received.get(1).getEntity().getRentalPrice());
+        Assertions.assertEquals(RepositoryChange.Type.DELETED, received.get(2).getType());
+        Assertions.assertEquals(3L, received.get(2).getVersion());
+    }
+
+    @Test
+    public void testGetByIdsSkipsMissingAndDuplicateIds() {
+        Car first = carService.createCar("Ford", "Focus", 45.0);
+        Car second = carService.createCar("BMW", "3 Series", 85.0);
+
+        // Results follow the order of the requested IDs, each car once
+        List<Car> found = carService.getByIds(List.of(second.getId(), 99L, first.getId(), second.getId()));
+
+        Assertions.assertEquals(List.of(second, first), found);
+    }
+
     @Test
     public void testUpdateCar() throws NotFoundException {
         // Setup
@@ -113,6 +165,27 @@ public class CarServiceTest {
         Assertions.assertEquals(1, hondas.size(), "Should find Honda regardless of case");
     }
 
+    @Test
+    public void testIndexedQueriesMatchLikeEqualsIgnoreCaseInIdOrder() {
+        Car rio = carService.createCar("Kia", "Rio", 60.0);
+        Car ceed = carService.createCar("KIA ", "Ceed", 20.0);
+        Car greek = carService.createCar("\u039F\u03A3", "Ascona", 30.0);
+        List<Car> all = carService.listAll();
+
+        // Dotless i, a final sigma and the long s all equal their plain letters under equalsIgnoreCase
+        for (String make : List.of("K\u0131a", "kia", "\u03BF\u03C2", "\u03BF\u03C3", "\u039F\u03C3")) {
+            CarManufacturerFilter filter = new CarManufacturerFilter(make);
+            List<Car> expected = all.stream().filter(filter::matches).collect(Collectors.toList());
+            Assertions.assertFalse(expected.isEmpty(), make);
+            Assertions.assertEquals(expected, carService.findByManufacturer(make), make);
+        }
+        Assertions.assertEquals(List.of(rio, ceed), carService.findByManufacturer("K\u0131A"));
+        Assertions.assertEquals(List.of(greek), carService.findByModel("A\u017Fcona"));
+
+        // The price index walks prices in order, but the results come back in ID order
+        Assertions.assertEquals(List.of(rio, ceed, greek), carService.findByRentalPriceBelow(60.0));
+    }
+
     @Test
     public void testFindByRentalPriceBelow() {
         carService.createCar("Cheap", "Car", 20.0);
@@ -122,4 +195,71 @@ public class CarServiceTest {
         Assertions.assertEquals(1, cheapCars.size());
         Assertions.assertEquals("Cheap", cheapCars.get(0).getMake());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCreateAllAssignsIdsInOrder() {
+        List<Car> created = carRepository.createAll(List.of(
+                new Car("Dacia", "Logan", 25.0),
+                new Car("Dacia", "Duster", 35.0)));
+
+        Assertions.assertEquals(2, created.size());
+        Assertions.assertEquals("Logan", created.get(0).getModel());
+        Assertions.assertTrue(created.get(0).getId() < created.get(1).getId(), "IDs should follow input order");
+        Assertions.assertEquals(2, carService.listAll().size());
+    }
+
+    @Test
+    public void testUpdateAllWithMissingIdChangesNothing() {
+        Car car = carService.createCar("Opel", "Astra", 45.0);
+
+        Assertions.assertThrows(NotFoundException.class, () -> carRepository.updateAll(List.of(
+                new Car(car.getId(), "Opel", "Astra", 99.0),
+                new Car(999L, "Ghost", "Car", 1.0))));
+
+        Assertions.assertEquals(45.0, carService.getById(car.getId()).get().getRentalPrice());
+    }
+
+    @Test
+    public void testListAllSnapshotIsReusedUntilMutation() {
+        carService.createCar("Skoda", "Fabia", 30.0);
+        List<Car> first = carService.listAll();
+
+        Assertions.assertSame(first, carService.listAll(), "Unchanged repository should return the cached snapshot");
+
+        carService.createCar("Skoda", "Octavia", 40.0);
+        Assertions.assertEquals(1, first.size(), "An old snapshot must not see later changes");
+        Assertions.assertEquals(2, carService.listAll().size());
+    }
+
+    @Test
+    public void testQueriesFollowUpdatesAndDeletes() throws NotFoundException {
+        Car car = carService.createCar("Renault", "Clio", 30.0);
+        carService.updateCar(car.getId(), "Peugeot", "208", 60.0);
+
+        Assertions.assertTrue(carService.findByManufacturer("renault").isEmpty(), "Old make must be unindexed");
+        Assertions.assertEquals(1, carService.findByManufacturer(" PEUGEOT ").size());
+        Assertions.assertTrue(carService.findByRentalPriceBelow(50.0).isEmpty());
+
+        carService.deleteCar(car.getId());
+        Assertions.assertTrue(carService.findByManufacturer("Peugeot").isEmpty());
+    }
+
+    @Test
+    public void testCombinedFilters() {
+        carService.createCar("Audi", "A3", 40.0);
+        carService.createCar("Audi", "A6", 90.0);
+        carService.createCar("BMW", "X1", 45.0);
+
+        List<Car> cheapAudis = carService.findByFilter(
+                new CarManufacturerFilter("audi").and(new CarPriceRangeFilter(0, 50)));
+        Assertions.assertEquals(1, cheapAudis.size());
+        Assertions.assertEquals("A3", cheapAudis.get(0).getModel());
+
+        List<Car> bmwOrExpensive = carService.findByFilter(
+                new CarManufacturerFilter("BMW").or(new CarPriceRangeFilter(80, 100)));
+        Assertions.assertEquals(2, bmwOrExpensive.size());
+
+        List<Car> notAudi = carService.findByFilter(new CarManufacturerFilter("Audi").negate());
+        Assertions.assertEquals(1, notAudi.size());
+    }
+}
@@ -0,0 +1,219 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.repository.ConcurrentInMemoryCarRepository;
+import Class.Project.CarRental.repository.ConcurrentInMemoryRepository;
+import Class.Project.CarRental.repository.ConcurrentInMemoryReservationRepository;
+import Class.Project.CarRental.repository.NotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+
+public class ConcurrentInMemoryRepositoryTest {
+
+    private ConcurrentInMemoryRepository<Long, Car> repository;
+
+    @BeforeEach
+    public void setup() {
+        AtomicLong counter = new AtomicLong(1);
+        repository = new ConcurrentInMemoryRepository<>(counter::getAndIncrement);
+    }
+
+    @Test
+    public void testPagesFollowIdOrderAcrossDeletes() throws NotFoundException {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            cars.add(new Car("Make" + i, "Model", 10.0));
+        }
+        repository.createAll(cars);
+        // Every third car is gone
+        List<Long> deleted = new ArrayList<>();
+        for (long id = 3; id <= 2500; id += 3) {
+            deleted.add(id);
+        }
+        repository.deleteAllById(deleted);
+
+        List<Car> firstPage = repository.findPage(null, 4);
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 5L), firstPage.stream().map(Car::getId).collect(Collectors.toList()));
+        List<Car> nextPage = repository.findPage(5L, 3);
+        Assertions.assertEquals(List.of(7L, 8L, 10L), nextPage.stream().map(Car::getId).collect(Collectors.toList()));
+        // afterId need not be a stored ID
+        Assertions.assertEquals(7L, repository.findPage(6L, 1).get(0).getId().longValue());
+        Assertions.assertTrue(repository.findPage(2500L, 10).isEmpty());
+        Assertions.assertTrue(repository.findPage(null, 0).isEmpty());
+
+        // The paged stream sees every remaining car once, in ID order
+        List<Long> streamed = repository.stream().map(Car::getId).collect(Collectors.toList());
+        Assertions.assertEquals(2500 - deleted.size(), streamed.size());
+        for (int i = 1; i < streamed.size(); i++) {
+            Assertions.assertTrue(streamed.get(i - 1) < streamed.get(i));
+        }
+    }
+
+    // Runs the task on every thread at once and returns what each returned
+    private static <T> List<T> runConcurrently(int threads, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentCreatesGetDistinctIdsAndAreAllPaged() throws Exception {
+        List<List<Long>> created = runConcurrently(8, () -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                ids.add(repository.create(new Car("Make", "Model", 10.0)).getId());
+            }
+            return ids;
+        });
+
+        Set<Long> ids = new HashSet<>();
+        created.forEach(ids::addAll);
+        Assertions.assertEquals(4000, ids.size());
+        Assertions.assertEquals(4000, repository.findAll().size());
+        // The sorted IDs behind paging were kept in step with the map
+        Assertions.assertEquals(4000, repository.findPage(null, 5000).size());
+    }
+
+    @Test
+    public void testCreateRefusesAnIdInUse() {
+        repository = new ConcurrentInMemoryRepository<>(() -> 1L);
+        repository.create(new Car("Toyota", "Corolla", 50.0));
+        Assertions.assertThrows(IllegalStateException.class, () -> repository.create(new Car("Ford", "Focus", 40.0)));
+        Assertions.assertEquals("Corolla", repository.findById(1L).get().getModel());
+        Assertions.assertEquals(1, repository.findPage(null, 10).size());
+    }
+
+    @Test
+    public void testOnlyOneConcurrentDeleteSucceeds() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            repository.create(new Car("Make", "Model", 10.0));
+        }
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger notFound = new AtomicInteger();
+        runConcurrently(4, () -> {
+            for (long id = 1; id <= 200; id++) {
+                try {
+                    repository.deleteById(id);
+                    successes.incrementAndGet();
+                } catch (NotFoundException e) {
+                    notFound.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        Assertions.assertEquals(200, successes.get());
+        Assertions.assertEquals(600, notFound.get());
+        Assertions.assertTrue(repository.findAll().isEmpty());
+        Assertions.assertTrue(repository.findPage(null, 10).isEmpty());
+    }
+
+    @Test
+    public void testUpdateRacingDeleteNeverBringsTheEntityBack() throws Exception {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            cars.add(repository.create(new Car("Make", "Model", 10.0)));
+        }
+        runConcurrently(2, new Callable<Void>() {
+            private final AtomicInteger started = new AtomicInteger();
+
+            @Override
+            public Void call() throws NotFoundException {
+                boolean deleter = started.getAndIncrement() == 0;
+                for (Car car : cars) {
+                    if (deleter) {
+                        repository.deleteById(car.getId());
+                    } else {
+                        try {
+                            repository.update(new Car(car.getId(), "Updated", "Model", 20.0));
+                        } catch (NotFoundException e) {
+                            // Lost the race to the delete, which is fine
+                        }
+                    }
+                }
+                return null;
+            }
+        });
+
+        Assertions.assertTrue(repository.findAll().isEmpty());
+        Assertions.assertTrue(repository.findPage(null, 10).isEmpty());
+    }
+
+    @Test
+    public void testFailedBatchesChangeNothing() throws NotFoundException {
+        Car kept = repository.create(new Car("Toyota", "Corolla", 50.0));
+        repository.create(new Car("Ford", "Focus", 40.0));
+
+        Assertions.assertThrows(NotFoundException.class, () -> repository.deleteAllById(List.of(1L, 99L)));
+        Assertions.assertTrue(repository.existsById(1L));
+        Assertions.assertThrows(NotFoundException.class, () -> repository.updateAll(
+                List.of(new Car(1L, "Toyota", "Yaris", 45.0), new Car(99L, "Ford", "Ka", 30.0))));
+        Assertions.assertEquals("Corolla", repository.findById(1L).get().getModel());
+        Assertions.assertSame(kept, repository.findById(1L).get());
+
+        repository.deleteAllById(List.of(1L, 2L));
+        Assertions.assertEquals(0, repository.findPage(null, 10).size());
+    }
+
+    @Test
+    public void testCarQueriesReturnIdOrder() {
+        ConcurrentInMemoryCarRepository cars = new ConcurrentInMemoryCarRepository(new AtomicLong(1)::getAndIncrement);
+        cars.create(new Car("Toyota", "Yaris", 50.0));
+        cars.create(new Car("Ford", "Focus", 40.0));
+        cars.create(new Car(" toyota ", "Corolla", 30.0));
+
+        Assertions.assertEquals(List.of(1L, 3L), cars.findByManufacturer("TOYOTA").stream().map(Car::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(2L), cars.findByModel("focus").stream().map(Car::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(2L, 3L), cars.findByRentalPriceBelow(40.0).stream().map(Car::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testReservationOverlapsAreInclusive() {
+        ConcurrentInMemoryReservationRepository reservations =
+                new ConcurrentInMemoryReservationRepository(new AtomicLong(1)::getAndIncrement);
+        reservations.create(new Reservation(1L, "Ann", LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 8)));
+        reservations.create(new Reservation(2L, "Bob", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 3)));
+        reservations.create(new Reservation(1L, "Cid", LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 12)));
+        reservations.create(new Reservation(1L, "Dan", null, null));
+
+        // Ordered by start date, touching ranges count
+        Assertions.assertEquals(List.of(2L, 1L), reservations.findOverlapping(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 5))
+                .stream().map(Reservation::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(1L, 3L), reservations.findByCarOverlapping(1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))
+                .stream().map(Reservation::getId).collect(Collectors.toList()));
+        Assertions.assertTrue(reservations.findByCarOverlapping(2L, LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 9)).isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.repository.ConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+
+public class ConnectionPoolTest {
+
+    private FakeDatabase database;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        database = new FakeDatabase();
+        database.register();
+        pool = new ConnectionPool(database.getUrl(), null, null, 1, 60_000L, 50L, "SELECT 1", 8);
+    }
+
+    @AfterEach
+    public void cleanup() throws SQLException {
+        pool.close();
+        database.deregister();
+    }
+
+    @Test
+    public void testAcquireTimesOutWhileEveryConnectionIsOut() throws SQLException {
+        Connection first = pool.getConnection();
+        Assertions.assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+        Assertions.assertEquals(1, pool.getStatistics().getTimeouts());
+
+        // The timed-out caller did not take the permit, so the connection comes back and is reused
+        first.close();
+        try (Connection second = pool.getConnection()) {
+            Assertions.assertFalse(second.isClosed());
+        }
+        Assertions.assertEquals(1, pool.getStatistics().getCreated());
+        Assertions.assertEquals(1, database.getConnections().size());
+    }
+
+    @Test
+    public void testIdleConnectionIsValidatedOnlyAfterTheValidationInterval() throws Exception {
+        pool.getConnection().close();
+        pool.getConnection().close();
+        FakeDatabase.FakeConnection physical = database.getConnections().get(0);
+        // Reused straight away, so no round trip to check it
+        Assertions.assertEquals(0, physical.validations);
+
+        // Past the one-second validation interval the dead connection is noticed and replaced
+        physical.broken = true;
+        Thread.sleep(1_100);
+        try (Connection connection = pool.getConnection()) {
+            Assertions.assertFalse(connection.isClosed());
+        }
+        Assertions.assertEquals(1, physical.validations);
+        Assertions.assertTrue(physical.closed);
+        Assertions.assertEquals(2, database.getConnections().size());
+        ConnectionPool.Statistics statistics = pool.getStatistics();
+        Assertions.assertEquals(1, statistics.getValidationFailures());
+        Assertions.assertEquals(2, statistics.getCreated());
+    }
+
+    @Test
+    public void testReleaseRollsBackAnOpenTransaction() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        FakeDatabase.FakeConnection physical = database.getConnections().get(0);
+        Assertions.assertEquals(1, physical.rollbacks);
+        Assertions.assertTrue(physical.autoCommit);
+        Assertions.assertFalse(physical.closed);
+
+        // The returned handle no longer reaches the physical connection
+        Assertions.assertTrue(connection.isClosed());
+        Assertions.assertThrows(SQLException.class, () -> connection.setAutoCommit(false));
+        connection.close();
+        Assertions.assertEquals(1, pool.getStatistics().getIdle());
+
+        // A connection released in auto-commit mode is not rolled back
+        pool.getConnection().close();
+        Assertions.assertEquals(1, physical.rollbacks);
+    }
+}
@@ -0,0 +1,181 @@
+package Class.Project.CarRental.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver for the pool tests that records what is done to its connections and statements
+ * instead of talking to a database. Register it, point a ConnectionPool at getUrl(), deregister it.
+ */
+class FakeDatabase implements Driver {
+
+    private static int nextId;
+
+    private final String url = "jdbc:fake:" + nextId();
+    private final List<FakeConnection> connections = new ArrayList<>();
+
+    private static synchronized int nextId() {
+        return nextId++;
+    }
+
+    void register() throws SQLException {
+        DriverManager.registerDriver(this);
+    }
+
+    void deregister() throws SQLException {
+        DriverManager.deregisterDriver(this);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    synchronized List<FakeConnection> getConnections() {
+        return new ArrayList<>(connections);
+    }
+
+    @Override
+    public synchronized Connection connect(String url, Properties info) {
+        if (!acceptsURL(url)) return null;
+        FakeConnection connection = new FakeConnection();
+        connections.add(connection);
+        return (Connection) proxy(Connection.class, connection);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return this.url.equals(url);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * A physical connection. Set broken to make the validation query fail.
+     */
+    static final class FakeConnection implements InvocationHandler {
+        boolean autoCommit = true;
+        boolean closed;
+        boolean broken;
+        int rollbacks;
+        int validations;
+        final List<FakeStatement> preparedStatements = new ArrayList<>();
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+            switch (method.getName()) {
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                case "rollback":
+                    rollbacks++;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "close":
+                    closed = true;
+                    return null;
+                case "createStatement":
+                    return proxy(Statement.class, new FakeStatement(this, null));
+                case "prepareStatement":
+                    FakeStatement statement = new FakeStatement(this, (String) args[0]);
+                    preparedStatements.add(statement);
+                    return proxy(PreparedStatement.class, statement);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+
+    /**
+     * A physical statement; the SQL is null for the plain statements used by validation.
+     */
+    static final class FakeStatement implements InvocationHandler {
+        final FakeConnection connection;
+        final String sql;
+        final List<Object> parameters = new ArrayList<>();
+        boolean closed;
+        int executions;
+
+        private FakeStatement(FakeConnection connection, String sql) {
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+            switch (method.getName()) {
+                case "execute":
+                    connection.validations++;
+                    if (connection.broken) {
+                        throw new SQLException("Connection reset");
+                    }
+                    return true;
+                case "setString":
+                case "setLong":
+                    parameters.add(args[1]);
+                    return null;
+                case "clearParameters":
+                    parameters.clear();
+                    return null;
+                case "clearBatch":
+                    return null;
+                case "executeQuery":
+                    executions++;
+                    return proxy(ResultSet.class, (resultSet, resultSetMethod, resultSetArgs) -> {
+                        // An empty result
+                        return "next".equals(resultSetMethod.getName()) ? Boolean.FALSE : null;
+                    });
+                case "isClosed":
+                    return closed;
+                case "close":
+                    closed = true;
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
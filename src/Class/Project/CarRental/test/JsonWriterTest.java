@@ -0,0 +1,99 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.api.JsonWriter;
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+
+public class JsonWriterTest {
+
+    private static String json(String text) {
+        return new JsonWriter().value(text).toString();
+    }
+
+    @Test
+    public void testStringEscaping() {
+        Assertions.assertEquals("\"plain\"", json("plain"));
+        Assertions.assertEquals("\"a\\\"b\\\\c\"", json("a\"b\\c"));
+        Assertions.assertEquals("\"\\n\\r\\t\"", json("\n\r\t"));
+        Assertions.assertEquals("\"\\u0001\\u001f\"", json("\u0001\u001f"));
+        // Non-ASCII is written as UTF-8, not escaped
+        Assertions.assertEquals("\"Ren\u00E9e 10\u20AC\"", json("Ren\u00E9e 10\u20AC"));
+        Assertions.assertEquals("null", new JsonWriter().value((String) null).toString());
+    }
+
+    @Test
+    public void testSurrogatePairs() throws IOException {
+        JsonWriter writer = new JsonWriter().value("car \uD83D\uDE97!");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.writeTo(bytes);
+        // One 4-byte sequence for the pair, not two 3-byte ones
+        Assertions.assertArrayEquals("\"car \uD83D\uDE97!\"".getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+        Assertions.assertEquals(bytes.size(), writer.size());
+
+        // Unpaired halves cannot be encoded and become U+FFFD
+        Assertions.assertEquals("\"a\uFFFDb\uFFFD\"", json("a\uD83Db\uDE97"));
+    }
+
+    @Test
+    public void testCommaPlacement() {
+        JsonWriter writer = new JsonWriter()
+                .beginObject()
+                .name("a").value(1)
+                .name("b").beginArray().value(1).value(2).beginArray().endArray().beginObject().endObject().endArray()
+                .name("c").beginObject().name("d").nullValue().endObject()
+                .name("e").value(true)
+                .endObject();
+        Assertions.assertEquals("{\"a\":1,\"b\":[1,2,[],{}],\"c\":{\"d\":null},\"e\":true}", writer.toString());
+
+        // A reset writer starts over without a leading comma
+        writer.reset().beginArray().value("x").endArray();
+        Assertions.assertEquals("[\"x\"]", writer.toString());
+        Assertions.assertEquals("1,2", new JsonWriter().value(1).value(2).toString());
+    }
+
+    @Test
+    public void testNumberFormatting() {
+        Assertions.assertEquals("0", new JsonWriter().value(0L).toString());
+        Assertions.assertEquals("-42", new JsonWriter().value(-42L).toString());
+        Assertions.assertEquals(String.valueOf(Long.MIN_VALUE), new JsonWriter().value(Long.MIN_VALUE).toString());
+        Assertions.assertEquals(String.valueOf(Long.MAX_VALUE), new JsonWriter().value(Long.MAX_VALUE).toString());
+        Assertions.assertEquals("null", new JsonWriter().value((Long) null).toString());
+
+        Assertions.assertEquals("50.0", new JsonWriter().value(50.0).toString());
+        Assertions.assertEquals("-3.0", new JsonWriter().value(-3.0).toString());
+        Assertions.assertEquals("40.5", new JsonWriter().value(40.5).toString());
+        Assertions.assertEquals("0.1", new JsonWriter().value(0.1).toString());
+        Assertions.assertEquals("1.0E20", new JsonWriter().value(1e20).toString());
+        Assertions.assertEquals("null", new JsonWriter().value(Double.NaN).toString());
+        Assertions.assertEquals("null", new JsonWriter().value(Double.POSITIVE_INFINITY).toString());
+    }
+
+    @Test
+    public void testEntitiesAndDates() {
+        Assertions.assertEquals("{\"id\":7,\"make\":\"Ford\",\"model\":\"Focus\",\"rentalPrice\":40.5}",
+                new JsonWriter().value(new Car(7L, "Ford", "Focus", 40.5)).toString());
+        Assertions.assertEquals("{\"id\":3,\"carId\":null,\"customerName\":\"Ann\",\"startDate\":\"2026-03-09\",\"endDate\":null}",
+                new JsonWriter().value(new Reservation(3L, null, "Ann", LocalDate.of(2026, 3, 9), null)).toString());
+        Assertions.assertEquals("\"0042-01-01\"", new JsonWriter().value(LocalDate.of(42, 1, 1)).toString());
+        Assertions.assertEquals("\"+10000-01-01\"", new JsonWriter().value(LocalDate.of(10000, 1, 1)).toString());
+    }
+
+    @Test
+    public void testBufferGrowsPastInitialCapacity() {
+        JsonWriter writer = new JsonWriter(16).beginArray();
+        for (int i = 0; i < 1000; i++) {
+            writer.value("\u00E9" + i);
+        }
+        String text = writer.endArray().toString();
+        Assertions.assertTrue(text.startsWith("[\"\u00E90\",\"\u00E91\""));
+        Assertions.assertTrue(text.endsWith("\"\u00E9999\"]"));
+    }
+}
@@ -0,0 +1,126 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.repository.MappedCarRepository;
+import Class.Project.CarRental.repository.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+
+public class MappedFileRepositoryTest {
+
+    private Path directory;
+    private Path file;
+    private MappedCarRepository repository;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("mapped-repository-test");
+        file = directory.resolve("cars.dat");
+        repository = open(1);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        repository.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    private MappedCarRepository open(long firstId) {
+        AtomicLong counter = new AtomicLong(firstId);
+        return new MappedCarRepository(counter::getAndIncrement, file.toString());
+    }
+
+    private MappedCarRepository reopen(long firstId) throws IOException {
+        repository.close();
+        repository = open(firstId);
+        return repository;
+    }
+
+    @Test
+    public void testCrudReadsAndWritesSlotsInPlace() throws NotFoundException {
+        Car car = repository.create(new Car("Toyota", "Corolla", 50.0));
+        Assertions.assertEquals(1L, car.getId().longValue());
+        Assertions.assertEquals("Corolla", repository.findById(1L).get().getModel());
+
+        car.setRentalPrice(45.5);
+        repository.update(car);
+        Assertions.assertEquals(45.5, repository.findById(1L).get().getRentalPrice());
+
+        repository.deleteById(1L);
+        Assertions.assertFalse(repository.existsById(1L));
+        Assertions.assertEquals(0, repository.count());
+        Assertions.assertThrows(NotFoundException.class, () -> repository.deleteById(1L));
+        Assertions.assertThrows(NotFoundException.class, () -> repository.update(car));
+    }
+
+    @Test
+    public void testRejectedFieldLeavesNoRecord() {
+        String tooLong = "x".repeat(33);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> repository.create(new Car(tooLong, "Corolla", 50.0)));
+        Assertions.assertEquals(0, repository.count());
+        Assertions.assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    public void testBatchWithARejectedFieldWritesNothing() throws NotFoundException {
+        Car corolla = repository.create(new Car("Toyota", "Corolla", 50.0));
+        Car civic = repository.create(new Car("Honda", "Civic", 60.0));
+        String tooLong = "x".repeat(33);
+
+        Car focus = new Car("Ford", "Focus", 40.0);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> repository.createAll(List.of(focus, new Car("Ford", tooLong, 45.0))));
+        Assertions.assertEquals(2, repository.count());
+        Assertions.assertNull(focus.getId());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> repository.updateAll(List.of(
+                new Car(corolla.getId(), "Toyota", "Yaris", 35.0),
+                new Car(civic.getId(), tooLong, "Civic", 60.0))));
+        Assertions.assertEquals("Corolla", repository.findById(corolla.getId()).get().getModel());
+        Assertions.assertEquals("Honda", repository.findById(civic.getId()).get().getMake());
+    }
+
+    @Test
+    public void testReopenedFileKeepsRecordsAndGrowth() throws IOException, NotFoundException {
+        // More than the initial 1024 slots, so the file has been remapped at least once
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            cars.add(new Car("Make" + (i % 7), "Model" + i, 20 + i % 30));
+        }
+        repository.createAll(cars);
+        repository.deleteById(10L);
+
+        reopen(1501);
+        Assertions.assertEquals(1499, repository.count());
+        Assertions.assertEquals("Model1499", repository.findById(1500L).get().getModel());
+        Assertions.assertFalse(repository.existsById(10L));
+        Assertions.assertEquals(List.of(9L, 11L, 12L),
+                repository.findPage(8L, 3).stream().map(Car::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(1501L, repository.create(new Car("Ford", "Focus", 40.0)).getId().longValue());
+    }
+
+    @Test
+    public void testCreateNeverOverwritesALiveSlot() throws IOException {
+        repository.create(new Car("Toyota", "Corolla", 50.0));
+        repository.create(new Car("Honda", "Civic", 60.0));
+
+        // A supplier that restarted at 1 must not clobber the stored cars
+        reopen(1);
+        Assertions.assertThrows(IllegalStateException.class, () -> repository.create(new Car("Ford", "Focus", 40.0)));
+        Assertions.assertEquals("Corolla", repository.findById(1L).get().getModel());
+        Assertions.assertEquals(2, repository.count());
+    }
+}
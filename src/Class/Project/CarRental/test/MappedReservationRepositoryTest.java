@@ -0,0 +1,87 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.repository.MappedReservationRepository;
+import Class.Project.CarRental.repository.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+
+public class MappedReservationRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private Path directory;
+    private Path file;
+    private MappedReservationRepository repository;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("mapped-reservation-test");
+        file = directory.resolve("reservations.dat");
+        AtomicLong counter = new AtomicLong(1);
+        repository = new MappedReservationRepository(counter::getAndIncrement, file.toString());
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        repository.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    private static List<Long> ids(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testOverlapQueriesFollowUpdatesAndDeletes() throws NotFoundException {
+        Reservation early = repository.create(new Reservation(1L, "Ann", DAY, DAY.plusDays(2)));
+        Reservation late = repository.create(new Reservation(1L, "Bob", DAY.plusDays(5), DAY.plusDays(6)));
+        Reservation other = repository.create(new Reservation(2L, "Cid", DAY.plusDays(1), DAY.plusDays(5)));
+        repository.create(new Reservation(2L, "Dee", null, null));
+
+        // Ordered by start date, bounds inclusive
+        Assertions.assertEquals(List.of(early.getId(), other.getId(), late.getId()),
+                ids(repository.findOverlapping(DAY.plusDays(2), DAY.plusDays(5))));
+        Assertions.assertEquals(List.of(late.getId()),
+                ids(repository.findByCarOverlapping(1L, DAY.plusDays(3), DAY.plusDays(10))));
+        Assertions.assertTrue(repository.findByCarOverlapping(3L, DAY, DAY.plusDays(10)).isEmpty());
+
+        // Moving a booking to another car and other dates re-indexes it
+        early.setCarId(2L);
+        early.setStartDate(DAY.plusDays(8));
+        early.setEndDate(DAY.plusDays(9));
+        repository.update(early);
+        Assertions.assertEquals(List.of(late.getId()),
+                ids(repository.findByCarOverlapping(1L, DAY, DAY.plusDays(10))));
+        Assertions.assertEquals(List.of(other.getId(), early.getId()),
+                ids(repository.findByCarOverlapping(2L, DAY, DAY.plusDays(10))));
+
+        repository.deleteById(other.getId());
+        Assertions.assertEquals(List.of(early.getId()),
+                ids(repository.findByCarOverlapping(2L, DAY, DAY.plusDays(10))));
+        Assertions.assertEquals("Bob", repository.findOverlapping(DAY, DAY.plusDays(5)).get(0).getCustomerName());
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenTheFileIsReopened() throws IOException {
+        repository.create(new Reservation(1L, "Ann", DAY, DAY.plusDays(2)));
+        repository.create(new Reservation(2L, "Bob", DAY.plusDays(4), DAY.plusDays(6)));
+        repository.close();
+
+        repository = new MappedReservationRepository(new AtomicLong(3)::getAndIncrement, file.toString());
+        Assertions.assertEquals(List.of(2L), ids(repository.findOverlapping(DAY.plusDays(3), DAY.plusDays(4))));
+        Assertions.assertEquals(List.of(1L), ids(repository.findByCarOverlapping(1L, DAY, DAY.plusDays(10))));
+    }
+}
@@ -0,0 +1,167 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.api.RentalHttpServer;
+import Class.Project.CarRental.repository.InMemoryCarRepository;
+import Class.Project.CarRental.repository.InMemoryReservationRepository;
+import Class.Project.CarRental.service.CarService;
+import Class.Project.CarRental.service.ReportService;
+import Class.Project.CarRental.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class RentalHttpServerTest {
+
+    private RentalHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        AtomicLong carIds = new AtomicLong(1);
+        AtomicLong reservationIds = new AtomicLong(1);
+        CarService carService = new CarService(new InMemoryCarRepository(carIds::getAndIncrement));
+        ReservationService reservationService = new ReservationService(
+                new InMemoryReservationRepository(reservationIds::getAndIncrement), carService::exists);
+        server = new RentalHttpServer(0, carService, reservationService, ReportService.create(carService, reservationService));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> send(String method, String path, String form) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+        if (form == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/x-www-form-urlencoded")
+                    .method(method, HttpRequest.BodyPublishers.ofString(form));
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testCarLifecycle() throws IOException, InterruptedException {
+        HttpResponse<String> created = send("POST", "/cars", "make=Toyota&model=Corolla&rentalPrice=50");
+        Assertions.assertEquals(201, created.statusCode());
+        Assertions.assertEquals("/cars/1", created.headers().firstValue("Location").orElse(null));
+        Assertions.assertEquals("{\"id\":1,\"make\":\"Toyota\",\"model\":\"Corolla\",\"rentalPrice\":50.0}", created.body());
+        Assertions.assertEquals("application/json; charset=utf-8", created.headers().firstValue("Content-Type").orElse(null));
+
+        send("POST", "/cars", "make=Ford&model=Focus&rentalPrice=40.5");
+        HttpResponse<String> updated = send("PUT", "/cars/1", "make=Toyota&model=Yaris&rentalPrice=45");
+        Assertions.assertEquals(200, updated.statusCode());
+        Assertions.assertEquals("{\"id\":1,\"make\":\"Toyota\",\"model\":\"Yaris\",\"rentalPrice\":45.0}",
+                send("GET", "/cars/1", null).body());
+
+        Assertions.assertEquals("[{\"id\":2,\"make\":\"Ford\",\"model\":\"Focus\",\"rentalPrice\":40.5}]",
+                send("GET", "/cars?afterId=1&limit=10", null).body());
+        Assertions.assertEquals("[{\"id\":2,\"make\":\"Ford\",\"model\":\"Focus\",\"rentalPrice\":40.5}]",
+                send("GET", "/cars?make=ford", null).body());
+
+        Assertions.assertEquals(204, send("DELETE", "/cars/2", null).statusCode());
+        Assertions.assertEquals(404, send("GET", "/cars/2", null).statusCode());
+        Assertions.assertEquals(404, send("DELETE", "/cars/2", null).statusCode());
+    }
+
+    @Test
+    public void testErrorsAreJson() throws IOException, InterruptedException {
+        HttpResponse<String> missing = send("POST", "/cars", "make=Toyota&rentalPrice=50");
+        Assertions.assertEquals(400, missing.statusCode());
+        Assertions.assertEquals("{\"error\":\"Missing parameter: model\"}", missing.body());
+
+        Assertions.assertEquals(400, send("POST", "/cars", "make=Toyota&model=Corolla&rentalPrice=-1").statusCode());
+        Assertions.assertEquals(400, send("GET", "/cars?limit=0", null).statusCode());
+        Assertions.assertEquals(404, send("GET", "/cars/abc", null).statusCode());
+        Assertions.assertEquals(404, send("GET", "/carsXYZ", null).statusCode());
+        Assertions.assertEquals(404, send("GET", "/nowhere", null).statusCode());
+
+        HttpResponse<String> notAllowed = send("PATCH", "/cars", null);
+        Assertions.assertEquals(405, notAllowed.statusCode());
+        Assertions.assertEquals("GET, POST", notAllowed.headers().firstValue("Allow").orElse(null));
+    }
+
+    @Test
+    public void testReservationsAvailabilityAndReports() throws IOException, InterruptedException {
+        send("POST", "/cars", "make=Toyota&model=Corolla&rentalPrice=50");
+        send("POST", "/cars", "make=Ford&model=Focus&rentalPrice=40");
+
+        HttpResponse<String> booked = send("POST", "/reservations",
+                "carId=1&customerName=Ann+Lee&startDate=2026-03-01&endDate=2026-03-03");
+        Assertions.assertEquals(201, booked.statusCode());
+        Assertions.assertEquals("{\"id\":1,\"carId\":1,\"customerName\":\"Ann Lee\",\"startDate\":\"2026-03-01\",\"endDate\":\"2026-03-03\"}",
+                booked.body());
+        // The same car for overlapping dates is refused
+        Assertions.assertEquals(400, send("POST", "/reservations",
+                "carId=1&customerName=Bob&startDate=2026-03-03&endDate=2026-03-04").statusCode());
+        Assertions.assertEquals(400, send("POST", "/reservations",
+                "carId=9&customerName=Bob&startDate=2026-03-03&endDate=2026-03-04").statusCode());
+
+        Assertions.assertEquals("[{\"id\":2,\"make\":\"Ford\",\"model\":\"Focus\",\"rentalPrice\":40.0}]",
+                send("GET", "/availability?start=2026-03-02&end=2026-03-05", null).body());
+        Assertions.assertEquals(1, countOccurrences(send("GET", "/reservations?customer=ann+lee", null).body(), "\"id\""));
+        Assertions.assertEquals("[]", send("GET", "/reservations?from=2026-04-01&to=2026-04-02", null).body());
+
+        HttpResponse<String> income = send("GET", "/reports/income?carId=1", null);
+        Assertions.assertEquals(200, income.statusCode());
+        // Two nights at 50
+        Assertions.assertTrue(income.body().endsWith("\"reservations\":1,\"income\":100.0}"), income.body());
+        Assertions.assertEquals(405, send("POST", "/reports/popular", "").statusCode());
+        Assertions.assertEquals(404, send("GET", "/reports/unknown", null).statusCode());
+
+        Assertions.assertEquals(204, send("DELETE", "/reservations/1", null).statusCode());
+        Assertions.assertEquals("[]", send("GET", "/reservations", null).body());
+    }
+
+    @Test
+    public void testOversizedBodyIsRefusedWithoutReadingIt() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            // A response must arrive although most of the announced body is never sent
+            socket.setSoTimeout(5_000);
+            OutputStream output = socket.getOutputStream();
+            output.write(("POST /cars HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Content-Type: application/x-www-form-urlencoded\r\n"
+                    + "Content-Length: 10000000\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            output.write(new byte[70 * 1024]);
+            output.flush();
+
+            String response = readHead(socket.getInputStream());
+            Assertions.assertTrue(response.startsWith("HTTP/1.1 413"), response);
+            Assertions.assertTrue(response.toLowerCase().contains("connection: close"), response);
+        }
+    }
+
+    // Status line and headers, up to the blank line
+    private static String readHead(InputStream input) throws IOException {
+        StringBuilder head = new StringBuilder();
+        int next;
+        while (head.indexOf("\r\n\r\n") < 0 && (next = input.read()) >= 0) {
+            head.append((char) next);
+        }
+        return head.toString();
+    }
+
+    private static int countOccurrences(String text, String part) {
+        int count = 0;
+        for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,325 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.exception.ValidationException;
+import Class.Project.CarRental.repository.DailyRevenueEngine;
+import Class.Project.CarRental.repository.InMemoryCarRepository;
+import Class.Project.CarRental.repository.InMemoryReservationRepository;
+import Class.Project.CarRental.repository.NotFoundException;
+import Class.Project.CarRental.service.AvailabilityService;
+import Class.Project.CarRental.service.CarService;
+import Class.Project.CarRental.service.ReportService;
+import Class.Project.CarRental.service.ReservationService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+public class ReservationServiceTest {
+
+    private ReservationService reservationService;
+
+    @BeforeEach
+    public void setup() {
+        AtomicLong counter = new AtomicLong(1);
+        // Cars 1 to 10 exist
+        reservationService = new ReservationService(
+                new InMemoryReservationRepository(counter::getAndIncrement), carId -> carId >= 1 && carId <= 10);
+    }
+
+    @Test
+    public void testOverlappingBookingIsRejected() {
+        reservationService.createReservation(1L, "Ana", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 5));
+
+        Assertions.assertThrows(ValidationException.class, () -> reservationService.createReservation(
+                1L, "Ion", LocalDate.of(2025, 6, 5), LocalDate.of(2025, 6, 8)));
+
+        // Other cars and later dates stay bookable
+        reservationService.createReservation(2L, "Ion", LocalDate.of(2025, 6, 3), LocalDate.of(2025, 6, 4));
+        reservationService.createReservation(1L, "Ion", LocalDate.of(2025, 6, 6), LocalDate.of(2025, 6, 8));
+        Assertions.assertEquals(3, reservationService.listAllReservations().size());
+    }
+
+    @Test
+    public void testUpdateMayKeepItsOwnDatesButNotCollide() throws NotFoundException {
+        Reservation first = reservationService.createReservation(1L, "Ana", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 5));
+        Reservation second = reservationService.createReservation(1L, "Ion", LocalDate.of(2025, 6, 10), LocalDate.of(2025, 6, 12));
+
+        // Extending a booking over its own dates is fine
+        reservationService.updateReservation(first.getId(), 1L, "Ana", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 7));
+
+        Assertions.assertThrows(ValidationException.class, () -> reservationService.updateReservation(
+                second.getId(), 1L, "Ion", LocalDate.of(2025, 6, 7), LocalDate.of(2025, 6, 12)));
+
+        // Moving the second booking to another car frees its old dates on car 1
+        reservationService.updateReservation(second.getId(), 2L, "Ion", LocalDate.of(2025, 6, 10), LocalDate.of(2025, 6, 12));
+        Assertions.assertTrue(reservationService.isCarAvailable(1L, LocalDate.of(2025, 6, 10), LocalDate.of(2025, 6, 12)));
+    }
+
+    @Test
+    public void testBookingsWrittenPastTheServiceAreStillChecked() {
+        InMemoryReservationRepository repository = new InMemoryReservationRepository(new AtomicLong(1)::getAndIncrement);
+        ReservationService service = new ReservationService(repository, carId -> true);
+        // Another writer sharing the repository, e.g. a second service instance
+        repository.create(new Reservation(4L, "Ana", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 5)));
+
+        Assertions.assertFalse(service.isCarAvailable(4L, LocalDate.of(2025, 8, 5), LocalDate.of(2025, 8, 6)));
+        Assertions.assertThrows(ValidationException.class, () -> service.createReservation(
+                4L, "Ion", LocalDate.of(2025, 8, 3), LocalDate.of(2025, 8, 4)));
+        service.createReservation(4L, "Ion", LocalDate.of(2025, 8, 6), LocalDate.of(2025, 8, 7));
+    }
+
+    @Test
+    public void testConcurrentBookingsOfSameSlotOnlyOneWins() throws InterruptedException {
+        int threadCount = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            String customer = "Customer" + i;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    reservationService.createReservation(3L, customer, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 3));
+                    successes.incrementAndGet();
+                } catch (ValidationException | InterruptedException ignored) {
+                    // Losing threads are expected to be rejected
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(1, successes.get());
+        Assertions.assertEquals(1, reservationService.listAllReservations().size());
+    }
+
+    @Test
+    public void testConcurrentMovesAndDeletesLeaveOneConsistentBooking() throws InterruptedException, NotFoundException {
+        AtomicLong carCounter = new AtomicLong(1);
+        CarService carService = new CarService(new InMemoryCarRepository(carCounter::getAndIncrement));
+        for (int i = 0; i < 5; i++) {
+            carService.createCar("Dacia", "Logan", 20.0);
+        }
+        ReservationService service = new ReservationService(
+                new InMemoryReservationRepository(new AtomicLong(1)::getAndIncrement), carService::exists);
+        ReportService reportService = ReportService.create(carService, service);
+
+        for (int round = 0; round < 50; round++) {
+            LocalDate start = LocalDate.of(2026, 1, 1).plusDays(round * 10L);
+            LocalDate end = start.plusDays(2);
+            Long id = service.createReservation(1L, "Ana", start, end).getId();
+
+            // Four threads move the same booking from car 1 to cars 2..5 at once
+            runConcurrently(4, thread -> service.updateReservation(id, 2L + thread, "Ana", start, end));
+            Long finalCarId = service.getById(id).get().getCarId();
+            for (long carId = 1; carId <= 5; carId++) {
+                Assertions.assertEquals(carId != finalCarId, service.isCarAvailable(carId, start, end));
+                Assertions.assertEquals(carId == finalCarId ? 1 : 0, reportService.reservationCount(carId));
+            }
+
+            // Four threads delete it at once: exactly one succeeds
+            AtomicInteger deletes = new AtomicInteger();
+            runConcurrently(4, thread -> {
+                service.deleteReservation(id);
+                deletes.incrementAndGet();
+            });
+            Assertions.assertEquals(1, deletes.get());
+            for (long carId = 1; carId <= 5; carId++) {
+                Assertions.assertTrue(service.isCarAvailable(carId, start, end));
+                Assertions.assertEquals(0, reportService.reservationCount(carId));
+            }
+        }
+    }
+
+    private interface ThreadAction {
+        void run(int thread) throws Exception;
+    }
+
+    // Starts the threads together; NotFoundException and ValidationException count as losing the race
+    private static void runConcurrently(int threadCount, ThreadAction action) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            int thread = i;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    action.run(thread);
+                } catch (NotFoundException | ValidationException ignored) {
+                    // Expected for the losers
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertTrue(failures.isEmpty(), () -> "Unexpected failure: " + failures);
+    }
+
+    @Test
+    public void testReportAggregatesFollowChanges() throws NotFoundException {
+        AtomicLong carCounter = new AtomicLong(1);
+        CarService carService = new CarService(new InMemoryCarRepository(carCounter::getAndIncrement));
+        Car car = carService.createCar("Dacia", "Logan", 20.0);
+        ReservationService service = new ReservationService(
+                new InMemoryReservationRepository(new AtomicLong(1)::getAndIncrement), carService::exists);
+        ReportService reportService = ReportService.create(carService, service);
+
+        Reservation reservation = service.createReservation(car.getId(), "Ana", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 4));
+        service.createReservation(car.getId(), "ana ", LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 10));
+        Assertions.assertEquals(80.0, reportService.totalIncomeForCar(car), 1e-9);
+        Assertions.assertEquals(2L, reportService.mostPopularCar().get().getValue().longValue());
+        Assertions.assertEquals(1, reportService.carsRentedBy("ANA").size());
+
+        service.updateReservation(reservation.getId(), car.getId(), "Ion", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2));
+        Assertions.assertEquals(40.0, reportService.totalIncomeForCar(car), 1e-9);
+        Assertions.assertEquals(1, reportService.carsRentedBy("Ion").size());
+
+        service.deleteReservation(reservation.getId());
+        Assertions.assertEquals(1L, reportService.reservationCount(car.getId()));
+        Assertions.assertEquals(20.0, reportService.revenueByStartDate().get(LocalDate.of(2025, 3, 10)), 1e-9);
+    }
+
+    @Test
+    public void testChangesMadeWhileTheReportsLoadAreKept() throws NotFoundException {
+        CarService carService = new CarService(new InMemoryCarRepository(new AtomicLong(1)::getAndIncrement));
+        Car logan = carService.createCar("Dacia", "Logan", 20.0);
+        Car golf = carService.createCar("Volkswagen", "Golf", 50.0);
+        List<Runnable> duringLoad = new ArrayList<>();
+        // Hands out what it held when asked, then lets the queued writes run before the stream is consumed
+        InMemoryReservationRepository repository = new InMemoryReservationRepository(new AtomicLong(1)::getAndIncrement) {
+            @Override
+            public Stream<Reservation> stream() {
+                List<Reservation> snapshot = findAll();
+                duringLoad.forEach(Runnable::run);
+                return snapshot.stream();
+            }
+        };
+        ReservationService service = new ReservationService(repository, carService::exists);
+        Reservation moved = service.createReservation(logan.getId(), "Ana", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 4));
+        Reservation cancelled = service.createReservation(logan.getId(), "Ion", LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 12));
+        duringLoad.add(() -> {
+            try {
+                service.updateReservation(moved.getId(), golf.getId(), "Ana", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2));
+                service.deleteReservation(cancelled.getId());
+            } catch (NotFoundException e) {
+                throw new RuntimeException(e);
+            }
+            service.createReservation(golf.getId(), "Eva", LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 7));
+        });
+
+        ReportService reportService = ReportService.create(carService, service);
+        Assertions.assertEquals(0L, reportService.reservationCount(logan.getId()));
+        Assertions.assertEquals(0.0, reportService.totalIncomeForCar(logan), 1e-9);
+        Assertions.assertEquals(2L, reportService.reservationCount(golf.getId()));
+        Assertions.assertEquals(150.0, reportService.totalIncomeForCar(golf), 1e-9);
+        Assertions.assertEquals(List.of(golf), reportService.carsRentedBy("eva"));
+        Assertions.assertTrue(reportService.carsRentedBy("Ion").isEmpty());
+
+        // Once loaded, changes are applied as they happen
+        duringLoad.clear();
+        service.createReservation(logan.getId(), "Ion", LocalDate.of(2025, 3, 20), LocalDate.of(2025, 3, 21));
+        Assertions.assertEquals(1L, reportService.reservationCount(logan.getId()));
+    }
+
+    @Test
+    public void testRevenueReportsOnlyLookUpTheCarsTheyCover() {
+        // A fleet that refuses to be listed: the reports must fetch prices by ID
+        InMemoryCarRepository fleet = new InMemoryCarRepository(new AtomicLong(1)::getAndIncrement) {
+            @Override
+            public List<Car> findAll() {
+                throw new UnsupportedOperationException("full fleet scan");
+            }
+
+            @Override
+            public Stream<Car> stream() {
+                throw new UnsupportedOperationException("full fleet scan");
+            }
+        };
+        CarService carService = new CarService(fleet);
+        Car booked = carService.createCar("Dacia", "Logan", 20.0);
+        carService.createCar("Skoda", "Octavia", 45.0);
+        ReservationService service = new ReservationService(
+                new InMemoryReservationRepository(new AtomicLong(1)::getAndIncrement), carService::exists);
+        ReportService reportService = ReportService.create(carService, service);
+        service.createReservation(booked.getId(), "Ana", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 3));
+
+        Assertions.assertEquals(40.0, reportService.revenueByStartDate().get(LocalDate.of(2025, 3, 1)), 1e-9);
+        SortedMap<LocalDate, Double> daily = reportService.dailyRevenue(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2));
+        Assertions.assertEquals(20.0, daily.get(LocalDate.of(2025, 3, 1)), 1e-9);
+        Assertions.assertEquals(20.0, daily.get(LocalDate.of(2025, 3, 2)), 1e-9);
+    }
+
+    @Test
+    public void testDailyRevenueSpreadsRentalsOverTheirDays() {
+        DailyRevenueEngine engine = new DailyRevenueEngine(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 5));
+        // Charged on Mar 1, 2 and 3; only the last two fall in the window
+        engine.add(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 4), 20.0);
+        // A same-day rental is charged on its start day
+        engine.add(LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 5), 35.0);
+        // Starts after the window
+        engine.add(LocalDate.of(2025, 3, 6), LocalDate.of(2025, 3, 9), 50.0);
+
+        SortedMap<LocalDate, Double> revenue = engine.dailyRevenue();
+        Assertions.assertEquals(4, revenue.size());
+        Assertions.assertEquals(20.0, revenue.get(LocalDate.of(2025, 3, 2)), 1e-9);
+        Assertions.assertEquals(20.0, revenue.get(LocalDate.of(2025, 3, 3)), 1e-9);
+        Assertions.assertEquals(0.0, revenue.get(LocalDate.of(2025, 3, 4)), 1e-9);
+        Assertions.assertEquals(35.0, revenue.get(LocalDate.of(2025, 3, 5)), 1e-9);
+    }
+
+    @Test
+    public void testDailyRevenueHasNoRoundingDrift() {
+        DailyRevenueEngine engine = new DailyRevenueEngine(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2));
+        // A thousand 0.1 prices add up to 99.9999999999986 as doubles
+        for (int i = 0; i < 1000; i++) {
+            engine.add(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2), 0.1);
+        }
+        engine.add(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2), 19.99);
+
+        SortedMap<LocalDate, Double> revenue = engine.dailyRevenue();
+        Assertions.assertEquals(119.99, revenue.get(LocalDate.of(2025, 3, 1)), 0.0);
+        // Exactly zero once every price has been taken off again
+        Assertions.assertEquals(0.0, revenue.get(LocalDate.of(2025, 3, 2)), 0.0);
+    }
+
+    @Test
+    public void testAvailabilitySkipsBookedCarsAndAppliesFilters() {
+        CarService carService = new CarService(new InMemoryCarRepository(new AtomicLong(1)::getAndIncrement));
+        Car logan = carService.createCar("Dacia", "Logan", 20.0);
+        Car duster = carService.createCar("Dacia", "Duster", 45.0);
+        Car golf = carService.createCar("Volkswagen", "Golf", 50.0);
+        ReservationService service = new ReservationService(
+                new InMemoryReservationRepository(new AtomicLong(1)::getAndIncrement), carService::exists);
+        AvailabilityService availabilityService = new AvailabilityService(carService, service);
+
+        service.createReservation(logan.getId(), "Ana", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 3));
+
+        LocalDate start = LocalDate.of(2025, 5, 3);
+        LocalDate end = LocalDate.of(2025, 5, 6);
+        Assertions.assertEquals(List.of(duster, golf), availabilityService.findAvailableCars(start, end));
+        Assertions.assertEquals(List.of(duster), availabilityService.findAvailableCars(start, end, "dacia", null));
+        Assertions.assertEquals(List.of(logan, duster),
+                availabilityService.findAvailableCars(LocalDate.of(2025, 5, 4), end, "DACIA", 45.0));
+    }
+}
@@ -0,0 +1,212 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.repository.BinaryCarRepository;
+import Class.Project.CarRental.repository.CarRecordCodec;
+import Class.Project.CarRental.repository.SegmentStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+public class SegmentStoreTest {
+
+    // Small enough that a few dozen cars span several segments
+    private static final long SMALL_SEGMENT_BYTES = 512;
+
+    private Path directory;
+    private String basePath;
+    private final List<AutoCloseable> opened = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("segment-store-test");
+        basePath = directory.resolve("cars.bin").toString();
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        for (AutoCloseable closeable : opened) {
+            closeable.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private SegmentStore<Long, Car> open(Map<Long, Car> target) throws IOException {
+        SegmentStore<Long, Car> store = new SegmentStore<>(basePath, new CarRecordCodec(), SMALL_SEGMENT_BYTES);
+        opened.add(store);
+        store.load(target);
+        return store;
+    }
+
+    private Map<Long, Car> reload() throws IOException {
+        Map<Long, Car> loaded = new HashMap<>();
+        open(loaded);
+        return loaded;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static Car car(long id, double price) {
+        return new Car(id, "Make" + id, "Model" + id, price);
+    }
+
+    @Test
+    public void testReloadSeesPutsUpdatesAndTombstones() throws IOException {
+        SegmentStore<Long, Car> store = open(new HashMap<>());
+        List<Car> cars = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            cars.add(car(id, 20));
+        }
+        store.putAll(cars);
+        store.put(car(3, 99));
+        store.delete(5L);
+        store.deleteAll(List.of(6L, 7L));
+        store.put(car(41, 20));
+        // Car 1's PUT sits in an older segment than its tombstone
+        store.delete(1L);
+        store.close();
+        Assertions.assertTrue(segmentFiles().size() > 1);
+
+        Map<Long, Car> loaded = reload();
+        Assertions.assertEquals(37, loaded.size());
+        Assertions.assertEquals(99.0, loaded.get(3L).getRentalPrice());
+        Assertions.assertFalse(loaded.containsKey(1L));
+        Assertions.assertFalse(loaded.containsKey(5L));
+        Assertions.assertFalse(loaded.containsKey(7L));
+        Assertions.assertEquals("Model41", loaded.get(41L).getModel());
+    }
+
+    @Test
+    public void testTornTailIsDroppedAndAppendsContinueAfterIt() throws IOException {
+        SegmentStore<Long, Car> store = open(new HashMap<>());
+        store.put(car(1, 20));
+        store.put(car(2, 30));
+        store.close();
+        List<Path> segments = segmentFiles();
+        Path last = segments.get(segments.size() - 1);
+        try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+            // Cut the last record short, as a crash mid-append would
+            file.setLength(file.length() - 3);
+        }
+
+        Map<Long, Car> loaded = new HashMap<>();
+        store = open(loaded);
+        Assertions.assertEquals(List.of(1L), new ArrayList<>(loaded.keySet()));
+        store.put(car(3, 40));
+        store.close();
+
+        Map<Long, Car> reloaded = reload();
+        Assertions.assertEquals(2, reloaded.size());
+        Assertions.assertTrue(reloaded.containsKey(3L));
+    }
+
+    @Test
+    public void testChecksumMismatch() throws IOException {
+        SegmentStore<Long, Car> store = open(new HashMap<>());
+        List<Car> cars = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            cars.add(car(id, 20));
+        }
+        // One write per car, so every segment ends on a record boundary
+        for (Car car : cars) {
+            store.put(car);
+        }
+        store.close();
+        List<Path> segments = segmentFiles();
+        Path last = segments.get(segments.size() - 1);
+
+        // A flipped byte in the newest segment's last record looks like a torn append: that record is lost
+        flipByte(last, Files.size(last) - 6);
+        Map<Long, Car> loaded = reload();
+        Assertions.assertEquals(39, loaded.size());
+        Assertions.assertFalse(loaded.containsKey(40L));
+
+        // The same damage in a sealed segment cannot come from a crash and must fail the load
+        flipByte(segments.get(0), Files.size(segments.get(0)) - 6);
+        Assertions.assertThrows(IOException.class, this::reload);
+    }
+
+    private static void flipByte(Path path, long position) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(position);
+            int value = file.read();
+            file.seek(position);
+            file.write(value ^ 0xFF);
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsOnlyLiveRecords() throws IOException {
+        SegmentStore<Long, Car> store = open(new HashMap<>());
+        for (int round = 0; round < 10; round++) {
+            for (long id = 1; id <= 10; id++) {
+                store.put(car(id, round));
+            }
+        }
+        store.deleteAll(List.of(2L, 4L));
+        store.compact();
+
+        // Everything sealed was folded into one segment next to the active one
+        Assertions.assertTrue(store.segmentCount() <= 2);
+        store.put(car(11, 50));
+        store.close();
+
+        Map<Long, Car> loaded = reload();
+        Assertions.assertEquals(9, loaded.size());
+        Assertions.assertEquals(9.0, loaded.get(1L).getRentalPrice());
+        Assertions.assertFalse(loaded.containsKey(2L));
+        Assertions.assertFalse(loaded.containsKey(4L));
+        Assertions.assertTrue(loaded.containsKey(11L));
+    }
+
+    @Test
+    public void testSerializedFileIsMigratedOnce() throws Exception {
+        Map<Long, Car> legacy = new HashMap<>();
+        legacy.put(1L, car(1, 20));
+        legacy.put(2L, car(2, 30));
+        try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(Paths.get(basePath)))) {
+            output.writeObject(legacy);
+        }
+
+        BinaryCarRepository repository = new BinaryCarRepository(new AtomicLong(3)::getAndIncrement, basePath);
+        opened.add(repository);
+        Assertions.assertEquals(2, repository.findAll().size());
+        // Migrated records reach the secondary index as well
+        Assertions.assertEquals(1, repository.findByRentalPriceBelow(25).size());
+        Assertions.assertFalse(Files.exists(Paths.get(basePath)));
+        Assertions.assertTrue(Files.exists(Paths.get(basePath + ".legacy")));
+        repository.create(new Car("Ford", "Focus", 40));
+        repository.close();
+
+        // The records now live in the segments; the legacy copy is not read again
+        BinaryCarRepository reopened = new BinaryCarRepository(new AtomicLong(4)::getAndIncrement, basePath);
+        opened.add(reopened);
+        Assertions.assertEquals(3, reopened.findAll().size());
+        Assertions.assertEquals(1, reopened.findByManufacturer("ford").size());
+    }
+}
@@ -0,0 +1,115 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Identifiable;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.filter.AbstractFilter;
+import Class.Project.CarRental.filter.CarManufacturerFilter;
+import Class.Project.CarRental.filter.CarPriceRangeFilter;
+import Class.Project.CarRental.filter.ReservationCustomerFilter;
+import Class.Project.CarRental.filter.ReservationDateRangeFilter;
+import Class.Project.CarRental.repository.CarDbRepository;
+import Class.Project.CarRental.repository.QueryPlanner;
+import Class.Project.CarRental.repository.Repository;
+import Class.Project.CarRental.repository.ReservationDbRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+/**
+ * Filters pushed down to SQLite (see SqlFilterTranslator) must keep every row the Java filter accepts.
+ * Each query is compared with the same filter run over every stored row in Java.
+ */
+public class SqlFilterTranslatorTest {
+
+    private SqliteDatabase database;
+    private CarDbRepository cars;
+    private ReservationDbRepository reservations;
+
+    @BeforeEach
+    public void setup() throws IOException, SQLException {
+        database = new SqliteDatabase();
+        cars = new CarDbRepository(database.getPool());
+        reservations = new ReservationDbRepository(database.getPool());
+        String[] makes = {
+                " Ford ", "\tford\n", "FORD\r", "\u000BFord", "Fo rd",
+                // Kelvin sign, dotless i, dotted capital I and long s, which equalsIgnoreCase folds to ASCII
+                "\u212Aia", "Kia", "\u0131nfiniti", "\u0130NFINITI", "\u017Fkoda", "Skoda",
+                "\u00D6pel", "Opel"};
+        for (int i = 0; i < makes.length; i++) {
+            cars.create(new Car(makes[i], "Model" + i, 20 + 10 * i));
+        }
+        String[] customers = {" Ann Lee", "ann lee\t", "\nANN LEE\r\n", "Ann  Lee", "Bob"};
+        for (int i = 0; i < customers.length; i++) {
+            reservations.create(new Reservation(1L + i, customers[i],
+                    LocalDate.of(2025, 3, 1 + 2 * i), LocalDate.of(2025, 3, 2 + 2 * i)));
+        }
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        database.close();
+    }
+
+    private static <Entity extends Identifiable<Long>> List<Long> planned(Repository<Long, Entity> repository,
+                                                                          AbstractFilter<Entity> filter) {
+        return QueryPlanner.findAll(repository, filter).stream().map(Identifiable::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static <Entity extends Identifiable<Long>> List<Long> scanned(Repository<Long, Entity> repository,
+                                                                          AbstractFilter<Entity> filter) {
+        return repository.findAll().stream().filter(filter::matches).map(Identifiable::getId).sorted().collect(Collectors.toList());
+    }
+
+    private void assertCarsMatchJava(AbstractFilter<Car> filter, int expectedMatches) {
+        List<Long> expected = scanned(cars, filter);
+        Assertions.assertEquals(expectedMatches, expected.size());
+        Assertions.assertEquals(expected, planned(cars, filter));
+    }
+
+    @Test
+    public void testManufacturerIsTrimmedLikeJava() {
+        // Tabs, CR, LF and vertical tab are trimmed too; the inner space is not
+        assertCarsMatchJava(new CarManufacturerFilter("ford"), 4);
+        assertCarsMatchJava(new CarManufacturerFilter("  FORD\t"), 4);
+        assertCarsMatchJava(new CarManufacturerFilter("fo rd"), 1);
+    }
+
+    @Test
+    public void testManufacturerFoldsCaseLikeEqualsIgnoreCase() {
+        assertCarsMatchJava(new CarManufacturerFilter("KIA"), 2);
+        assertCarsMatchJava(new CarManufacturerFilter("infiniti"), 2);
+        assertCarsMatchJava(new CarManufacturerFilter("skoda"), 2);
+        // A non-ASCII search term is matched in Java
+        assertCarsMatchJava(new CarManufacturerFilter("\u00F6PEL"), 1);
+        assertCarsMatchJava(new CarManufacturerFilter("opel"), 1);
+        assertCarsMatchJava(new CarManufacturerFilter(" "), 0);
+    }
+
+    @Test
+    public void testCombinedFilters() {
+        assertCarsMatchJava(new CarManufacturerFilter("ford").and(new CarPriceRangeFilter(25, 45)), 2);
+        assertCarsMatchJava(new CarManufacturerFilter("ford").or(new CarManufacturerFilter("kia")), 6);
+        assertCarsMatchJava(new CarManufacturerFilter("ford").negate().and(new CarPriceRangeFilter(0, 100)), 5);
+    }
+
+    @Test
+    public void testCustomerIsTrimmedAndFoldedLikeJava() {
+        List<Long> expected = scanned(reservations, new ReservationCustomerFilter("ANN LEE"));
+        Assertions.assertEquals(List.of(1L, 2L, 3L), expected);
+        Assertions.assertEquals(expected, planned(reservations, new ReservationCustomerFilter("ANN LEE")));
+
+        AbstractFilter<Reservation> inMarch = new ReservationCustomerFilter("ann lee")
+                .and(new ReservationDateRangeFilter(LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 31)));
+        Assertions.assertEquals(List.of(2L, 3L), scanned(reservations, inMarch));
+        Assertions.assertEquals(List.of(2L, 3L), planned(reservations, inMarch));
+    }
+}
@@ -0,0 +1,104 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Reservation;
+import Class.Project.CarRental.repository.CarDbRepository;
+import Class.Project.CarRental.repository.InMemoryCarRepository;
+import Class.Project.CarRental.repository.InMemoryReservationRepository;
+import Class.Project.CarRental.repository.ReportQueries;
+import Class.Project.CarRental.repository.ReservationDbRepository;
+import Class.Project.CarRental.repository.SqlReportQueries;
+import Class.Project.CarRental.service.CarService;
+import Class.Project.CarRental.service.ReportService;
+import Class.Project.CarRental.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+
+/**
+ * The SQL reports must give the same answers as the in-memory ReportService over the same data.
+ */
+public class SqlReportQueriesTest {
+
+    private SqliteDatabase database;
+    private ReportQueries sqlReports;
+    private ReportQueries memoryReports;
+    private CarService carService;
+
+    @BeforeEach
+    public void setup() throws IOException, SQLException {
+        database = new SqliteDatabase();
+        CarDbRepository dbCars = new CarDbRepository(database.getPool());
+        ReservationDbRepository dbReservations = new ReservationDbRepository(database.getPool());
+        InMemoryCarRepository memoryCars = new InMemoryCarRepository(new AtomicLong(1)::getAndIncrement);
+        InMemoryReservationRepository memoryReservations =
+                new InMemoryReservationRepository(new AtomicLong(1)::getAndIncrement);
+
+        double[] prices = {50.0, 40.5, 20.0};
+        for (double price : prices) {
+            dbCars.create(new Car("Make", "Model", price));
+            memoryCars.create(new Car("Make", "Model", price));
+        }
+        // Padded and mixed-case names, the Kelvin sign, non-ASCII names and a same-day rental
+        Object[][] rows = {
+                {1L, " Ann Lee", "2025-03-01", "2025-03-04"},
+                {2L, "ann lee\t", "2025-03-02", "2025-03-03"},
+                {1L, "\nANN LEE\r\n", "2025-03-10", "2025-03-12"},
+                {3L, "\u212Aim", "2025-03-02", "2025-03-02"},
+                {2L, "kim", "2025-03-05", "2025-03-09"},
+                {2L, "Bob", "2025-03-01", "2025-03-02"},
+                {3L, "Ren\u00E9e", "2025-03-03", "2025-03-06"},
+                {1L, " REN\u00C9E ", "2025-03-20", "2025-03-21"}};
+        for (Object[] row : rows) {
+            Reservation reservation = new Reservation((Long) row[0], (String) row[1],
+                    LocalDate.parse((String) row[2]), LocalDate.parse((String) row[3]));
+            dbReservations.create(reservation);
+            memoryReservations.create(new Reservation((Long) row[0], (String) row[1],
+                    LocalDate.parse((String) row[2]), LocalDate.parse((String) row[3])));
+        }
+
+        sqlReports = new SqlReportQueries(dbCars, database.getPool());
+        carService = new CarService(memoryCars);
+        memoryReports = ReportService.create(carService,
+                new ReservationService(memoryReservations, carService::exists));
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        database.close();
+    }
+
+    private static List<Long> ids(List<Car> cars) {
+        return cars.stream().map(Car::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testCarsRentedByMatchesPaddedAndMixedCaseNames() {
+        Assertions.assertEquals(List.of(1L, 2L), ids(memoryReports.carsRentedBy("ann lee")));
+        for (String name : new String[]{"ann lee", " ANN LEE\t", "kim", "KIM", "ren\u00E9e", "REN\u00C9E", "bob", "nobody", ""}) {
+            Assertions.assertEquals(ids(memoryReports.carsRentedBy(name)), ids(sqlReports.carsRentedBy(name)), name);
+        }
+    }
+
+    @Test
+    public void testTotalsMatchTheInMemoryReports() {
+        for (Car car : carService.listAll()) {
+            Assertions.assertEquals(memoryReports.totalIncomeForCar(car), sqlReports.totalIncomeForCar(car), 1e-9);
+            Assertions.assertEquals(memoryReports.reservationCount(car.getId()), sqlReports.reservationCount(car.getId()));
+        }
+        Assertions.assertEquals(memoryReports.mostPopularCar(), sqlReports.mostPopularCar());
+        Assertions.assertEquals(memoryReports.revenueByStartDate(), sqlReports.revenueByStartDate());
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        Assertions.assertEquals(memoryReports.dailyRevenue(from, to), sqlReports.dailyRevenue(from, to));
+    }
+}
@@ -0,0 +1,43 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.repository.ConnectionPool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A scratch SQLite database with the cars and reservations tables of identifier.sqlite,
+ * for tests that check the SQL paths against the in-memory ones.
+ */
+class SqliteDatabase implements AutoCloseable {
+
+    private final Path file;
+    private final ConnectionPool pool;
+
+    SqliteDatabase() throws IOException, SQLException {
+        file = Files.createTempFile("car-rental-test", ".sqlite");
+        pool = new ConnectionPool("jdbc:sqlite:" + file, "", "", 2, 60_000L, 5_000L, "SELECT 1", 8);
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE cars (id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "make TEXT NOT NULL, model TEXT NOT NULL, rental_price REAL NOT NULL)");
+            statement.executeUpdate("CREATE TABLE reservations (id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "car_id INTEGER, customer_name TEXT NOT NULL, start_date TEXT NOT NULL, end_date TEXT NOT NULL, "
+                    + "FOREIGN KEY(car_id) REFERENCES cars(id))");
+        }
+    }
+
+    ConnectionPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+        Files.deleteIfExists(file);
+    }
+}
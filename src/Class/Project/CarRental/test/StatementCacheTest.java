@@ -0,0 +1,111 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.repository.ConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+
+/**
+ * The statement cache is package-private, so it is exercised through pooled connections.
+ */
+public class StatementCacheTest {
+
+    private static final String FIND_CAR = "SELECT * FROM cars WHERE id = ?";
+    private static final String FIND_RESERVATION = "SELECT * FROM reservations WHERE id = ?";
+    private static final String COUNT_CARS = "SELECT COUNT(*) FROM cars";
+
+    private FakeDatabase database;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        database = new FakeDatabase();
+        database.register();
+        // Room for two statements per connection
+        pool = new ConnectionPool(database.getUrl(), null, null, 1, 60_000L, 50L, null, 2);
+    }
+
+    @AfterEach
+    public void cleanup() throws SQLException {
+        pool.close();
+        database.deregister();
+    }
+
+    private static void prepareAndClose(Connection connection, String sql) throws SQLException {
+        connection.prepareStatement(sql).close();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            prepareAndClose(connection, FIND_CAR);
+            prepareAndClose(connection, FIND_RESERVATION);
+            // Touching FIND_CAR again leaves FIND_RESERVATION as the eldest entry
+            prepareAndClose(connection, FIND_CAR);
+            prepareAndClose(connection, COUNT_CARS);
+            prepareAndClose(connection, FIND_CAR);
+        }
+
+        List<FakeDatabase.FakeStatement> prepared = database.getConnections().get(0).preparedStatements;
+        Assertions.assertEquals(3, prepared.size());
+        Assertions.assertEquals(FIND_RESERVATION, prepared.get(1).sql);
+        Assertions.assertTrue(prepared.get(1).closed);
+        Assertions.assertFalse(prepared.get(0).closed);
+        Assertions.assertFalse(prepared.get(2).closed);
+
+        ConnectionPool.Statistics statistics = pool.getStatistics();
+        Assertions.assertEquals(2, statistics.getStatementCacheHits());
+        Assertions.assertEquals(3, statistics.getStatementCacheMisses());
+        Assertions.assertEquals(1, statistics.getStatementCacheEvictions());
+    }
+
+    @Test
+    public void testHandleStopsWorkingOnceItsStatementIsCheckedIn() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement first = connection.prepareStatement(FIND_CAR);
+            first.setLong(1, 7L);
+            first.close();
+            PreparedStatement second = connection.prepareStatement(FIND_CAR);
+
+            // Both handles wrap the same physical statement, but only the current one reaches it
+            FakeDatabase.FakeStatement physical = database.getConnections().get(0).preparedStatements.get(0);
+            Assertions.assertEquals(1, database.getConnections().get(0).preparedStatements.size());
+            Assertions.assertTrue(physical.parameters.isEmpty());
+            Assertions.assertTrue(first.isClosed());
+            Assertions.assertThrows(SQLException.class, () -> first.setLong(1, 8L));
+            // Closing the old handle again must not check in the statement the new handle holds
+            first.close();
+            second.setLong(1, 9L);
+            Assertions.assertEquals(List.of(9L), physical.parameters);
+            Assertions.assertSame(connection, second.getConnection());
+        }
+    }
+
+    @Test
+    public void testStatementLeftOpenIsResetWhenTheConnectionIsReleased() throws SQLException {
+        Connection connection = pool.getConnection();
+        PreparedStatement leaked = connection.prepareStatement(FIND_CAR);
+        leaked.setLong(1, 7L);
+        leaked.executeQuery();
+        connection.close();
+
+        Assertions.assertTrue(leaked.isClosed());
+        Assertions.assertThrows(SQLException.class, leaked::executeQuery);
+        try (Connection next = pool.getConnection();
+             PreparedStatement statement = next.prepareStatement(FIND_CAR)) {
+            FakeDatabase.FakeStatement physical = database.getConnections().get(0).preparedStatements.get(0);
+            Assertions.assertTrue(physical.parameters.isEmpty());
+            Assertions.assertFalse(physical.closed);
+            statement.executeQuery();
+            Assertions.assertEquals(2, physical.executions);
+        }
+        Assertions.assertEquals(1, pool.getStatistics().getStatementCacheHits());
+    }
+}
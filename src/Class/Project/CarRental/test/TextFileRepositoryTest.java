@@ -0,0 +1,163 @@
+package Class.Project.CarRental.test;
+
+import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.repository.CarTextRepository;
+import Class.Project.CarRental.repository.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+public class TextFileRepositoryTest {
+
+    // Long enough that the background compaction never runs during a test
+    private static final long NO_BACKGROUND_COMPACTION = 3_600_000L;
+
+    private Path directory;
+    private Path carFile;
+    private Path journal;
+    private Path compactingJournal;
+    private final List<CarTextRepository> opened = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("text-repository-test");
+        carFile = directory.resolve("cars.csv");
+        journal = directory.resolve("cars.csv.journal");
+        compactingJournal = directory.resolve("cars.csv.journal.compacting");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        for (CarTextRepository repository : opened) {
+            try {
+                repository.close();
+            } catch (RuntimeException ignored) {
+                // Some tests leave the files unwritable on purpose
+            }
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Opens the file the way a restarted process would, without closing earlier instances first
+    private CarTextRepository open() {
+        AtomicLong counter = new AtomicLong(100);
+        CarTextRepository repository = new CarTextRepository(counter::getAndIncrement, carFile.toString(), NO_BACKGROUND_COMPACTION);
+        opened.add(repository);
+        return repository;
+    }
+
+    @Test
+    public void testJournalIsReplayedAfterCrash() throws NotFoundException {
+        CarTextRepository repository = open();
+        Car kept = repository.create(new Car("Toyota", "Corolla", 50.0));
+        Car deleted = repository.create(new Car("Honda", "Civic", 60.0));
+        kept.setRentalPrice(55.0);
+        repository.update(kept);
+        repository.deleteById(deleted.getId());
+
+        // No close(): nothing was compacted, so everything comes from the journal
+        Assertions.assertTrue(Files.exists(journal));
+        CarTextRepository reopened = open();
+        List<Car> cars = reopened.findAll();
+        Assertions.assertEquals(1, cars.size());
+        Assertions.assertEquals(55.0, cars.get(0).getRentalPrice());
+        Assertions.assertFalse(reopened.existsById(deleted.getId()));
+        // The loaded cars reach the secondary index too
+        Assertions.assertEquals(List.of(kept.getId()),
+                reopened.findByManufacturer("toyota").stream().map(Car::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testTornLastJournalLineIsIgnored() throws IOException {
+        String entries = "+1,Toyota,Corolla,50.00\n"
+                + "+2,Honda,Civic,60.00\n"
+                + "+3,Ford,Fo";
+        Files.writeString(journal, entries, StandardCharsets.UTF_8);
+
+        CarTextRepository repository = open();
+        Assertions.assertEquals(2, repository.findAll().size());
+        Assertions.assertFalse(repository.existsById(3L));
+    }
+
+    @Test
+    public void testCorruptJournalLineBeforeTheEndFailsTheLoad() throws IOException {
+        String entries = "+1,Toyota,Corolla,50.00\n"
+                + "+2,Honda\n"
+                + "+3,Ford,Focus,40.00\n";
+        Files.writeString(journal, entries, StandardCharsets.UTF_8);
+
+        Assertions.assertThrows(RuntimeException.class, this::open);
+    }
+
+    @Test
+    public void testCompactionFoldsJournalIntoSnapshot() throws NotFoundException, IOException {
+        CarTextRepository repository = open();
+        Car first = repository.create(new Car("Toyota", "Corolla", 50.0));
+        repository.create(new Car("Honda", "Civic", 60.0));
+        repository.deleteById(first.getId());
+
+        repository.compact();
+
+        Assertions.assertEquals(0, Files.size(journal));
+        Assertions.assertFalse(Files.exists(compactingJournal));
+        List<String> snapshot = Files.readAllLines(carFile, StandardCharsets.UTF_8);
+        Assertions.assertEquals(List.of("101,Honda,Civic,60.00"), snapshot);
+        Assertions.assertEquals(1, open().findAll().size());
+    }
+
+    @Test
+    public void testFailedSnapshotKeepsEveryJournalEntry() throws IOException {
+        CarTextRepository repository = open();
+        repository.create(new Car("Toyota", "Corolla", 50.0));
+        // A directory where the snapshot's temporary file goes makes every snapshot write fail
+        Path blocker = Files.createDirectory(carFile.resolveSibling("cars.csv.tmp"));
+
+        Assertions.assertThrows(RuntimeException.class, repository::compact);
+        repository.create(new Car("Honda", "Civic", 60.0));
+        // The retry must not replace the .compacting journal that still holds the first car
+        Assertions.assertThrows(RuntimeException.class, repository::compact);
+
+        Assertions.assertEquals(List.of("+100,Toyota,Corolla,50.00"), Files.readAllLines(compactingJournal, StandardCharsets.UTF_8));
+        Assertions.assertEquals(List.of("+101,Honda,Civic,60.00"), Files.readAllLines(journal, StandardCharsets.UTF_8));
+
+        // Once the snapshot can be written again, compaction catches up
+        Files.delete(blocker);
+        repository.compact();
+        Assertions.assertFalse(Files.exists(compactingJournal));
+        repository.compact();
+        Assertions.assertEquals(0, Files.size(journal));
+        Assertions.assertEquals(2, Files.readAllLines(carFile, StandardCharsets.UTF_8).size());
+        Assertions.assertEquals(2, open().findAll().size());
+    }
+
+    @Test
+    public void testBackgroundCompactionStartsWithTheFirstChange() throws IOException, InterruptedException {
+        CarTextRepository repository = new CarTextRepository(new AtomicLong(100)::getAndIncrement, carFile.toString(), 20L);
+        opened.add(repository);
+        repository.create(new Car("Toyota", "Corolla", 50.0));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!Files.exists(carFile) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(List.of("100,Toyota,Corolla,50.00"), Files.readAllLines(carFile, StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,18 @@
 package Class.Project.CarRental.ui;
 
+import Class.Project.CarRental.config.RentalServices;
 import Class.Project.CarRental.config.Settings;
 import Class.Project.CarRental.domain.Car;
+import Class.Project.CarRental.domain.Identifiable;
 import Class.Project.CarRental.domain.Reservation;
 import Class.Project.CarRental.repository.*;
 import Class.Project.CarRental.service.CarService;
 import Class.Project.CarRental.service.ReservationService;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -16,9 +20,14 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.LongPredicate;
-import java.util.function.Supplier;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 public class CarRentalFX extends Application {
 
@@ -31,6 +40,29 @@ public class CarRentalFX extends Application {
     private TableView<Reservation> reservationTable = new TableView<>();
     private ObservableList<Reservation> reservationData = FXCollections.observableArrayList();
 
+    // Rows fetched per background round trip; the table shows each page as soon as it arrives
+    private static final int LOAD_PAGE_SIZE = 500;
+
+    // Repository calls never run on the FX thread. One worker keeps them in submission order,
+    // so a reload submitted after a write always sees that write.
+    private final ExecutorService backgroundWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "car-rental-fx-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Both tables are kept sorted by ID so reloads can be applied as deltas
+    private final IdOrderedListSync<Car> carSync = new IdOrderedListSync<>(carData, (shown, loaded) ->
+            Objects.equals(shown.getMake(), loaded.getMake()) && Objects.equals(shown.getModel(), loaded.getModel())
+                    && shown.getRentalPrice() == loaded.getRentalPrice());
+    private final IdOrderedListSync<Reservation> reservationSync = new IdOrderedListSync<>(reservationData, (shown, loaded) ->
+            Objects.equals(shown.getCarId(), loaded.getCarId())
+                    && Objects.equals(shown.getCustomerName(), loaded.getCustomerName())
+                    && Objects.equals(shown.getStartDate(), loaded.getStartDate())
+                    && Objects.equals(shown.getEndDate(), loaded.getEndDate()));
+    private Task<Void> carLoad;
+    private Task<Void> reservationLoad;
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -66,41 +98,21 @@ public class CarRentalFX extends Application {
         refreshReservationTable();
     }
 
+    @Override
+    public void stop() {
+        backgroundWorker.shutdownNow();
+    }
+
     // --- SETUP BACKEND ---
     private void setupServices() {
-        Settings settings = Settings.getInstance();
-        String repositoryType = settings.getRepositoryType();
-
-        CarRepository carRepository;
-        ReservationRepository reservationRepository;
-
-        // Simple ID counters for Memory/File mode
-        AtomicLong carIdCounter = new AtomicLong(1L);
-        AtomicLong reservationIdCounter = new AtomicLong(1L);
-        Supplier<Long> carIdSupplier = carIdCounter::getAndIncrement;
-        Supplier<Long> reservationIdSupplier = reservationIdCounter::getAndIncrement;
-
-        switch (repositoryType.toLowerCase()) {
-            case "database":
-                carRepository = new CarDbRepository();
-                reservationRepository = new ReservationDbRepository();
-                break;
-            case "binary":
-                carRepository = new BinaryCarRepository(carIdSupplier, settings.getCarFile());
-                reservationRepository = new BinaryReservationRepository(reservationIdSupplier, settings.getReservationFile());
-                break;
-            case "text":
-                carRepository = new CarTextRepository(carIdSupplier, settings.getCarFile());
-                reservationRepository = new ReservationTextRepository(reservationIdSupplier, settings.getReservationFile());
-                break;
-            default: // Memory
-                carRepository = new InMemoryCarRepository(carIdSupplier);
-                reservationRepository = new InMemoryReservationRepository(reservationIdSupplier);
-        }
+        RentalServices services = RentalServices.fromSettings(Settings.getInstance());
+
+        // Writes reach the tables as change events, one row at a time, instead of as full reloads
+        services.getCarRepository().addChangeListener(changes -> Platform.runLater(() -> applyChanges(carSync, changes)));
+        services.getReservationRepository().addChangeListener(changes -> Platform.runLater(() -> applyChanges(reservationSync, changes)));
 
-        carService = new CarService(carRepository);
-        LongPredicate carExistenceChecker = carService::exists;
-        reservationService = new ReservationService(reservationRepository, carExistenceChecker);
+        carService = services.getCarService();
+        reservationService = services.getReservationService();
     }
 
     // --- UI BUILDER: CARS TAB ---
@@ -138,20 +150,23 @@ public class CarRentalFX extends Application {
                 String model = modelField.getText();
                 double price = Double.parseDouble(priceField.getText());
 
-                carService.createCar(make, model, price);
-                refreshCarTable(); // Refresh UI
-
-                // Clear fields
-                makeField.clear();
-                modelField.clear();
-                priceField.clear();
+                // The new row arrives through the repository's change event
+                runInBackground(() -> carService.createCar(make, model, price), created -> {
+                    // Clear fields
+                    makeField.clear();
+                    modelField.clear();
+                    priceField.clear();
+                }, "Could not add car: ");
             } catch (Exception ex) {
                 Alert alert = new Alert(Alert.AlertType.ERROR, "Invalid input: " + ex.getMessage());
                 alert.show();
             }
         });
 
-        HBox formBox = new HBox(10, makeField, modelField, priceField, addButton);
+        Button reloadButton = new Button("Reload");
+        reloadButton.setOnAction(e -> refreshCarTable());
+
+        HBox formBox = new HBox(10, makeField, modelField, priceField, addButton, reloadButton);
         formBox.setPadding(new Insets(10));
 
         // 3. Combine
@@ -210,27 +225,26 @@ public class CarRentalFX extends Application {
                     throw new RuntimeException("Select both dates.");
                 }
 
-                reservationService.createReservation(
-                        selectedCar.getId(),
-                        customer,
-                        startDatePicker.getValue(),
-                        endDatePicker.getValue()
-                );
-
-                refreshReservationTable();
-
-                // Reset fields
-                customerField.clear();
-                startDatePicker.setValue(null);
-                endDatePicker.setValue(null);
-                carCombo.getSelectionModel().clearSelection();
+                Long carId = selectedCar.getId();
+                LocalDate startDate = startDatePicker.getValue();
+                LocalDate endDate = endDatePicker.getValue();
+                runInBackground(() -> reservationService.createReservation(carId, customer, startDate, endDate), created -> {
+                    // Reset fields
+                    customerField.clear();
+                    startDatePicker.setValue(null);
+                    endDatePicker.setValue(null);
+                    carCombo.getSelectionModel().clearSelection();
+                }, "");
             } catch (Exception ex) {
                 Alert alert = new Alert(Alert.AlertType.ERROR, ex.getMessage());
                 alert.show();
             }
         });
 
-        HBox formBox = new HBox(10, carCombo, customerField, startDatePicker, endDatePicker, addButton);
+        Button reloadButton = new Button("Reload");
+        reloadButton.setOnAction(e -> refreshReservationTable());
+
+        HBox formBox = new HBox(10, carCombo, customerField, startDatePicker, endDatePicker, addButton, reloadButton);
         formBox.setPadding(new Insets(10));
 
         VBox layout = new VBox(10, reservationTable, formBox);
@@ -238,13 +252,79 @@ public class CarRentalFX extends Application {
         return layout;
     }
 
+    // --- BACKGROUND WORK ---
+
+    // Runs a repository call on the worker, then hands its result to onSuccess on the FX thread
+    private <T> void runInBackground(Callable<T> work, Consumer<T> onSuccess,
+                                     String errorPrefix) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(event -> onSuccess.accept(task.getValue()));
+        task.setOnFailed(event -> new Alert(Alert.AlertType.ERROR,
+                errorPrefix + task.getException().getMessage()).show());
+        backgroundWorker.execute(task);
+    }
+
+    private static <T extends Identifiable<Long>> void applyChanges(IdOrderedListSync<T> sync,
+                                                                  List<RepositoryChange<Long, T>> changes) {
+        for (RepositoryChange<Long, T> change : changes) {
+            if (change.getType() == RepositoryChange.Type.DELETED) {
+                sync.remove(change.getId());
+            } else {
+                sync.upsert(change.getEntity());
+            }
+        }
+    }
+
+    /**
+     * Reloads a table page by page with keyset paging. Each page is merged into the rows on the FX thread
+     * as soon as it is fetched, so the first rows show up at once even for very large tables, and only rows
+     * that were added, changed or removed since the last load fire list changes.
+     * TableView already creates cells only for the visible rows, so the row count does not slow down rendering.
+     */
+    private <T extends Identifiable<Long>> Task<Void> startPagedLoad(
+            IdOrderedListSync<T> sync, BiFunction<Long, Integer, List<T>> pageLoader) {
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() {
+                Platform.runLater(() -> {
+                    if (!isCancelled()) sync.begin();
+                });
+                Long afterId = null;
+                while (!isCancelled()) {
+                    List<T> page = pageLoader.apply(afterId, LOAD_PAGE_SIZE);
+                    Platform.runLater(() -> {
+                        if (!isCancelled()) sync.applyPage(page);
+                    });
+                    if (page.size() < LOAD_PAGE_SIZE) {
+                        Platform.runLater(() -> {
+                            if (!isCancelled()) sync.finish();
+                        });
+                        break;
+                    }
+                    afterId = page.get(page.size() - 1).getId();
+                }
+                return null;
+            }
+        };
+        task.setOnFailed(event -> new Alert(Alert.AlertType.ERROR,
+                "Could not load data: " + task.getException().getMessage()).show());
+        backgroundWorker.execute(task);
+        return task;
+    }
+
     private void refreshReservationTable() {
-        reservationData.clear();
-        reservationData.addAll(reservationService.listAllReservations());
+        // A newer load replaces one still running; its remaining pages are dropped
+        if (reservationLoad != null) reservationLoad.cancel();
+        reservationLoad = startPagedLoad(reservationSync, reservationService::listReservationPage);
     }
 
     private void refreshCarTable() {
-        carData.clear();
-        carData.addAll(carService.listAll());
+        if (carLoad != null) carLoad.cancel();
+        carLoad = startPagedLoad(carSync, carService::listPage);
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package Class.Project.CarRental.ui;
+
+import Class.Project.CarRental.domain.Identifiable;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Brings an ID-ordered ObservableList in line with the repository one page at a time, touching only
+ * the rows that differ: new IDs are inserted, missing IDs removed and changed rows replaced in place.
+ * Unchanged rows fire no list change at all, so the table keeps its selection and scroll position.
+ * The pages must come from keyset paging (ascending IDs, each page continuing where the last one ended).
+ * All methods must be called on the JavaFX Application Thread.
+ */
+final class IdOrderedListSync<T extends Identifiable<Long>> {
+
+    private final ObservableList<T> rows;
+    // Entity equals() compares IDs only, so content changes need their own test
+    private final BiPredicate<T, T> sameContent;
+    // Rows before this index already match the pages applied so far
+    private int position;
+
+    IdOrderedListSync(ObservableList<T> rows, BiPredicate<T, T> sameContent) {
+        this.rows = rows;
+        this.sameContent = sameContent;
+    }
+
+    void begin() {
+        position = 0;
+    }
+
+    void applyPage(List<T> page) {
+        if (position == rows.size()) {
+            // Past the end of what is shown (always the case on the first load): one append for the whole page
+            rows.addAll(page);
+            position += page.size();
+            return;
+        }
+        // Entities whose IDs come before the current row, inserted together in one change
+        List<T> pendingAdds = new ArrayList<>();
+        for (T entity : page) {
+            if (position < rows.size() && rows.get(position).getId() < entity.getId()) {
+                flushAdds(pendingAdds);
+                int removeEnd = position;
+                while (removeEnd < rows.size() && rows.get(removeEnd).getId() < entity.getId()) {
+                    removeEnd++;
+                }
+                rows.remove(position, removeEnd);
+            }
+            if (position < rows.size() && rows.get(position).getId().equals(entity.getId())) {
+                flushAdds(pendingAdds);
+                if (!sameContent.test(rows.get(position), entity)) {
+                    rows.set(position, entity);
+                }
+                position++;
+            } else {
+                pendingAdds.add(entity);
+            }
+        }
+        flushAdds(pendingAdds);
+    }
+
+    // Rows left over after the last page no longer exist
+    void finish() {
+        if (position < rows.size()) {
+            rows.remove(position, rows.size());
+        }
+    }
+
+    /**
+     * Puts a single entity in its ID position, replacing the row with the same ID if there is one.
+     */
+    void upsert(T entity) {
+        int low = indexOf(entity.getId());
+        if (low < rows.size() && rows.get(low).getId().equals(entity.getId())) {
+            rows.set(low, entity);
+        } else {
+            rows.add(low, entity);
+            if (low < position) {
+                // Keep a reload in progress pointing at the same row
+                position++;
+            }
+        }
+    }
+
+    void remove(Long id) {
+        int index = indexOf(id);
+        if (index < rows.size() && rows.get(index).getId().equals(id)) {
+            rows.remove(index);
+            if (index < position) {
+                position--;
+            }
+        }
+    }
+
+    // First row whose ID is not less than id
+    private int indexOf(Long id) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rows.get(middle).getId() < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void flushAdds(List<T> pendingAdds) {
+        if (!pendingAdds.isEmpty()) {
+            rows.addAll(position, pendingAdds);
+            position += pendingAdds.size();
+            pendingAdds.clear();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package Class.Project.CarRental.ui;
 
+import Class.Project.CarRental.config.RentalServices;
 import Class.Project.CarRental.config.Settings;
 import Class.Project.CarRental.domain.Car;
 import Class.Project.CarRental.domain.Reservation;
@@ -7,19 +8,15 @@ import Class.Project.CarRental.exception.ValidationException;
 import Class.Project.CarRental.filter.CarManufacturerFilter;
 import Class.Project.CarRental.filter.CarPriceRangeFilter;
 import Class.Project.CarRental.filter.ReservationCustomerFilter;
-import Class.Project.CarRental.filter.ReservationDateRangeFilter;
 import Class.Project.CarRental.repository.*;
+import Class.Project.CarRental.service.AvailabilityService;
 import Class.Project.CarRental.service.CarService;
 import Class.Project.CarRental.service.ReservationService;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.LongPredicate;
-import java.util.function.Supplier;
 
 
 //Main console UI that allows CRUD operations for Cars and Reservations.
@@ -28,83 +25,40 @@ public class RentalConsoleUI {
 
     private final CarService carService;
     private final ReservationService reservationService;
+    private final ReportQueries reportService;
+    private final AvailabilityService availabilityService;
     private final Scanner scanner = new Scanner(System.in);
 
-    public RentalConsoleUI(CarService carService, ReservationService reservationService) {
+    public RentalConsoleUI(CarService carService, ReservationService reservationService, ReportQueries reportService) {
         this.carService = carService;
         this.reservationService = reservationService;
+        this.reportService = reportService;
+        this.availabilityService = new AvailabilityService(carService, reservationService);
     }
 
     public static void main(String[] args) {
         //  Initialize Settings
         Settings settings = Settings.getInstance();
-        String repositoryType = settings.getRepositoryType(); // "memory", "text", or "binary"
-
-        System.out.println("Starting application using repository type: " + repositoryType);
-
-        // Setup ID Generators (AtomicLong allows us to update the counter later)
-        AtomicLong carIdCounter = new AtomicLong(1L);
-        AtomicLong reservationIdCounter = new AtomicLong(1L);
-
-        Supplier<Long> carIdSupplier = carIdCounter::getAndIncrement;
-        Supplier<Long> reservationIdSupplier = reservationIdCounter::getAndIncrement;
-
-        // Instantiate the correct Repositories based on Settings
-        CarRepository carRepository;
-        ReservationRepository reservationRepository;
-
-        switch (repositoryType.toLowerCase()) {
-            case "database":
-                // Database repos handle their own IDs via AUTOINCREMENT, so no supplier needed
-                carRepository = new CarDbRepository();
-                reservationRepository = new ReservationDbRepository();
-                break;
-            case "binary":
-                carRepository = new BinaryCarRepository(carIdSupplier, settings.getCarFile());
-                reservationRepository = new BinaryReservationRepository(reservationIdSupplier, settings.getReservationFile());
-                break;
-            case "text":
-                carRepository = new CarTextRepository(carIdSupplier, settings.getCarFile());
-                reservationRepository = new ReservationTextRepository(reservationIdSupplier, settings.getReservationFile());
-                break;
-            case "memory":
-            default:
-                carRepository = new InMemoryCarRepository(carIdSupplier);
-                reservationRepository = new InMemoryReservationRepository(reservationIdSupplier);
-
-
-                if (carRepository.findAll().isEmpty()) {
-                    carRepository.create(new Car("Toyota", "Corolla", 35.00));
-                    carRepository.create(new Car("Ford", "Focus", 40.50));
-                    carRepository.create(new Car("BMW", "3 Series", 85.00));
-                    carRepository.create(new Car("Volkswagen", "Golf", 50.00));
-                    carRepository.create(new Car("Renault", "Clio", 32.75));
-                }
-                break;
+        RentalServices services = RentalServices.fromSettings(settings);
+
+        System.out.println("Starting application using repository type: " + services.getRepositoryType());
+
+        // The in-memory stores start empty, so give them a few cars to work with
+        CarRepository carRepository = services.getCarRepository();
+        boolean inMemory = services.getRepositoryType().equals("memory") || services.getRepositoryType().equals("concurrent");
+        if (inMemory && carRepository.findAll().isEmpty()) {
+            carRepository.create(new Car("Toyota", "Corolla", 35.00));
+            carRepository.create(new Car("Ford", "Focus", 40.50));
+            carRepository.create(new Car("BMW", "3 Series", 85.00));
+            carRepository.create(new Car("Volkswagen", "Golf", 50.00));
+            carRepository.create(new Car("Renault", "Clio", 32.75));
         }
 
-        //  Synchronize ID Counters
-        long maxCarId = carRepository.findAll().stream()
-                .mapToLong(Car::getId)
-                .max()
-                .orElse(0L);
-        carIdCounter.set(maxCarId + 1);
+        CarService carService = services.getCarService();
+        ReservationService reservationService = services.getReservationService();
+        ReportQueries reportService = services.createReportQueries();
 
-        long maxResId = reservationRepository.findAll().stream()
-                .mapToLong(Reservation::getId)
-                .max()
-                .orElse(0L);
-        reservationIdCounter.set(maxResId + 1);
-
-
-        // Initialize Services
-        CarService carService = new CarService(carRepository);
-
-        // carExistenceChecker uses carService.exists(Long)
-        LongPredicate carExistenceChecker = carService::exists;
-        ReservationService reservationService = new ReservationService(reservationRepository, carExistenceChecker);
-
-        RentalConsoleUI ui = new RentalConsoleUI(carService, reservationService);
+        RentalConsoleUI ui = new RentalConsoleUI(carService, reservationService, reportService);
         ui.runMainMenu();
     }
 
@@ -157,13 +111,13 @@ public class RentalConsoleUI {
     }
 
     private void listAllCars() {
-        List<Car> cars = carService.listAll();
-        if (cars.isEmpty()) {
+        // Printed page by page, so a huge table is never held in memory at once
+        if (carService.listPage(null, 1).isEmpty()) {
             System.out.println("No cars available.");
             return;
         }
         System.out.println("Cars:");
-        cars.forEach(car -> System.out.println("  " + car));
+        carService.streamAll().forEach(car -> System.out.println("  " + car));
     }
 
     private void viewCarById() {
@@ -229,8 +183,7 @@ public class RentalConsoleUI {
     private void filterCarsByManufacturer() {
         String manufacturer = prompt("Manufacturer to filter by");
         CarManufacturerFilter filter = new CarManufacturerFilter(manufacturer);
-        carService.listAll().stream()
-                .filter(filter::matches)
+        carService.findByFilter(filter)
                 .forEach(car -> System.out.println("  " + car));
     }
 
@@ -244,8 +197,7 @@ public class RentalConsoleUI {
         }
         try {
             CarPriceRangeFilter filter = new CarPriceRangeFilter(minimumPrice, maximumPrice);
-            carService.listAll().stream()
-                    .filter(filter::matches)
+            carService.findByFilter(filter)
                     .forEach(car -> System.out.println("  " + car));
         } catch (IllegalArgumentException ex) {
             System.out.println("Invalid range: " + ex.getMessage());
@@ -282,13 +234,12 @@ public class RentalConsoleUI {
     }
 
     private void listAllReservations() {
-        List<Reservation> reservations = reservationService.listAllReservations();
-        if (reservations.isEmpty()) {
+        if (reservationService.listReservationPage(null, 1).isEmpty()) {
             System.out.println("No reservations.");
             return;
         }
         System.out.println("Reservations:");
-        reservations.forEach(reservation -> System.out.println("  " + reservation));
+        reservationService.streamReservations().forEach(reservation -> System.out.println("  " + reservation));
     }
 
     private void viewReservationById() {
@@ -350,8 +301,7 @@ public class RentalConsoleUI {
     private void filterReservationsByCustomer() {
         String customer = prompt("Customer name");
         var filter = new ReservationCustomerFilter(customer);
-        reservationService.listAllReservations().stream()
-                .filter(filter::matches)
+        reservationService.findByFilter(filter)
                 .forEach(reservation -> System.out.println("  " + reservation));
     }
 
@@ -362,14 +312,12 @@ public class RentalConsoleUI {
             System.out.println("Aborted: invalid dates.");
             return;
         }
-        try {
-            var filter = new ReservationDateRangeFilter(from, to);
-            reservationService.listAllReservations().stream()
-                    .filter(filter::matches)
-                    .forEach(reservation -> System.out.println("  " + reservation));
-        } catch (IllegalArgumentException e) {
-            System.out.println("Invalid date range: " + e.getMessage());
+        if (to.isBefore(from)) {
+            System.out.println("Invalid date range: the to date must be same or after the from date.");
+            return;
         }
+        reservationService.findOverlapping(from, to)
+                .forEach(reservation -> System.out.println("  " + reservation));
     }
     //Reports Menu
     private void runReportsMenu() {
@@ -380,8 +328,9 @@ public class RentalConsoleUI {
             System.out.println("2) Report: Total income from a specific car");
             System.out.println("3) Report: Most popular car model");
             System.out.println("4) Report: Daily revenue sorted by date");
-            System.out.println("5) Report: Available cars (currently not rented)");
-            System.out.println("6) Back");
+            System.out.println("5) Report: Available cars for a date range");
+            System.out.println("6) Report: Revenue per day over a date range");
+            System.out.println("7) Back");
             String choice = prompt("Choice");
             switch (choice) {
                 case "1": reportCarsByCustomer(); break;
@@ -389,24 +338,20 @@ public class RentalConsoleUI {
                 case "3": reportMostPopularCar(); break;
                 case "4": reportDailyRevenue(); break;
                 case "5": reportAvailableCars(); break;
-                case "6": inReports = false; break;
+                case "6": reportRevenuePerDay(); break;
+                case "7": inReports = false; break;
                 default: System.out.println("Unknown choice."); break;
             }
         }
     }
 
     //All cars rented by a specific customer
-    //Filter reservations by name,map to Car ID , map to Car object,collect list
+    //Read from the customer -> cars aggregate (or one SQL query), with the cars fetched in one bulk lookup
     private void reportCarsByCustomer() {
         String customerName = prompt("Enter customer name");
         System.out.println("Cars rented by " + customerName + ":");
 
-        reservationService.listAllReservations().stream()
-                .filter(r -> r.getCustomerName().equalsIgnoreCase(customerName))
-                .map(r -> carService.getById(r.getCarId())) // Get Optional<Car>
-                .filter(Optional::isPresent)                // Keep only found cars
-                .map(Optional::get)
-                .distinct()                                 // Remove duplicates
+        reportService.carsRentedBy(customerName)
                 .forEach(car -> System.out.println(" - " + car));
     }
 
@@ -423,26 +368,16 @@ public class RentalConsoleUI {
         }
         Car car = maybeCar.get();
 
-        double totalIncome = reservationService.listAllReservations().stream()
-                .filter(r -> r.getCarId().equals(carId))
-                .mapToDouble(r -> {
-                    long days = java.time.temporal.ChronoUnit.DAYS.between(r.getStartDate(), r.getEndDate());
-                    // start=end, count as 1 day
-                    if (days == 0) days = 1;
-                    return days * car.getRentalPrice();
-                })
-                .sum();
+        // rental days (start=end counts as 1 day) * price, summed by the report queries
+        double totalIncome = reportService.totalIncomeForCar(car);
 
         System.out.printf("Total income for %s %s: %.2f\n", car.getMake(), car.getModel(), totalIncome);
     }
 
     // Most popular car model
-    // Group reservations by Car ID -> Count -> Sort -> Find First
+    // Reservation counts per car come pre-aggregated (in memory or by GROUP BY), so this is a lookup
     private void reportMostPopularCar() {
-        var mostPopular = reservationService.listAllReservations().stream()
-                .collect(java.util.stream.Collectors.groupingBy(Reservation::getCarId, java.util.stream.Collectors.counting()))
-                .entrySet().stream()
-                .max(java.util.Map.Entry.comparingByValue()); // Find max count
+        var mostPopular = reportService.mostPopularCar();
 
         if (mostPopular.isPresent()) {
             Long carId = mostPopular.get().getKey();
@@ -455,29 +390,53 @@ public class RentalConsoleUI {
         }
     }
 
-    //Daily revenue =list reservations sorted by start date
+    //Daily revenue = income booked per reservation start date, sorted by date
     private void reportDailyRevenue() {
-        System.out.println("Reservations sorted by start date:");
-        reservationService.listAllReservations().stream()
-                .sorted(java.util.Comparator.comparing(Reservation::getStartDate))
-                .forEach(r -> System.out.println(" - " + r.getStartDate() + ": " + r.getCustomerName()));
+        System.out.println("Revenue by start date:");
+        reportService.revenueByStartDate()
+                .forEach((date, revenue) -> System.out.printf(" - %s: %.2f%n", date, revenue));
+    }
+
+    //Revenue actually earned on each day of a range: each rental's price is spread over the days it covers
+    private void reportRevenuePerDay() {
+        LocalDate from = readDate("From date (YYYY-MM-DD)");
+        if (from == null) return;
+        LocalDate to = readDate("To date (YYYY-MM-DD)");
+        if (to == null) return;
+        if (to.isBefore(from)) {
+            System.out.println("The end date must not be before the start date.");
+            return;
+        }
+
+        double total = 0;
+        System.out.println("Revenue per day from " + from + " to " + to + ":");
+        for (var entry : reportService.dailyRevenue(from, to).entrySet()) {
+            System.out.printf(" - %s: %.2f%n", entry.getKey(), entry.getValue());
+            total += entry.getValue();
+        }
+        System.out.printf("Total: %.2f%n", total);
     }
 
-    //  Cars currently available
+    //  Cars free for a date range (today by default), optionally narrowed to a make and a maximum price
     private void reportAvailableCars() {
         LocalDate today = LocalDate.now();
-        System.out.println("Cars available for rent today (" + today + "):");
+        String startInput = prompt("Start date (YYYY-MM-DD, empty for today)");
+        String endInput = prompt("End date (YYYY-MM-DD, empty for the start date)");
+        String make = prompt("Make (empty for any)");
+        Double maxPrice = readDouble("Maximum price per day (empty for any)");
 
-        //Find IDs of cars that are currently busy
-        List<Long> busyCarIds = reservationService.listAllReservations().stream()
-                .filter(r -> !today.isBefore(r.getStartDate()) && !today.isAfter(r.getEndDate()))
-                .map(Reservation::getCarId)
-                .toList();
+        try {
+            LocalDate startDate = startInput.isEmpty() ? today : LocalDate.parse(startInput);
+            LocalDate endDate = endInput.isEmpty() ? startDate : LocalDate.parse(endInput);
 
-        // Filter all cars excluding the busy ones
-        carService.listAll().stream()
-                .filter(car -> !busyCarIds.contains(car.getId()))
-                .forEach(car -> System.out.println(" - " + car));
+            System.out.println("Cars available from " + startDate + " to " + endDate + ":");
+            availabilityService.findAvailableCars(startDate, endDate, make.isEmpty() ? null : make, maxPrice)
+                    .forEach(car -> System.out.println(" - " + car));
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date format. Use YYYY-MM-DD.");
+        } catch (ValidationException e) {
+            System.out.println("Validation error: " + e.getMessage());
+        }
     }
 
 